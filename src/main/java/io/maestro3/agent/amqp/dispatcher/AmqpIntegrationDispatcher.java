@@ -17,6 +17,7 @@
 
 package io.maestro3.agent.amqp.dispatcher;
 
+import com.rabbitmq.client.Channel;
 import io.maestro3.agent.model.notification.Notification;
 import org.springframework.integration.annotation.ServiceActivator;
 
@@ -27,7 +28,9 @@ public interface AmqpIntegrationDispatcher {
      * Receives and reacts on OpenStack push notifications. Supposed to be marked with {@link ServiceActivator} annotation.
      *
      * @param notification deserialized OpenStack notification with encoding
+     * @param channel      AMQP channel the notification came from; present only when the consumer acknowledges manually
+     * @param deliveryTag  delivery tag to acknowledge; present only when the consumer acknowledges manually
      */
-    void osNotificationDispatch(Notification notification);
+    void osNotificationDispatch(Notification notification, Channel channel, Long deliveryTag);
 
 }
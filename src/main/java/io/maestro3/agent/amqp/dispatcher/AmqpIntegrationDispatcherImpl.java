@@ -17,13 +17,15 @@
 
 package io.maestro3.agent.amqp.dispatcher;
 
+import com.rabbitmq.client.Channel;
 import io.maestro3.agent.amqp.IntegrationChannels;
-import io.maestro3.agent.amqp.handler.OsNotificationReactor;
 import io.maestro3.agent.model.notification.Notification;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.amqp.support.AmqpHeaders;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.integration.annotation.ServiceActivator;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 
 
@@ -32,20 +34,34 @@ public class AmqpIntegrationDispatcherImpl implements AmqpIntegrationDispatcher
 
     private static final Logger LOG = LoggerFactory.getLogger(AmqpIntegrationDispatcherImpl.class);
 
-    private final OsNotificationReactor osNotificationReactor;
+    private final OsNotificationLanes osNotificationLanes;
 
     @Autowired
-    public AmqpIntegrationDispatcherImpl(OsNotificationReactor osNotificationReactor) {
-        this.osNotificationReactor = osNotificationReactor;
+    public AmqpIntegrationDispatcherImpl(OsNotificationLanes osNotificationLanes) {
+        this.osNotificationLanes = osNotificationLanes;
     }
 
     @Override
     @ServiceActivator(inputChannel = IntegrationChannels.Inbound.OS_NOTIFICATIONS_ENCODED, autoStartup = "true")
-    public void osNotificationDispatch(Notification notification) {
+    public void osNotificationDispatch(Notification notification,
+                                       @Header(value = AmqpHeaders.CHANNEL, required = false) Channel channel,
+                                       @Header(value = AmqpHeaders.DELIVERY_TAG, required = false) Long deliveryTag) {
         try {
-            osNotificationReactor.reactOnNotification(notification);
+            osNotificationLanes.submit(notification, () -> acknowledge(notification, channel, deliveryTag));
+        } catch (InterruptedException e) {
+            LOG.warn("Interrupted while queueing OpenStack event '{}'", notification.getEventType());
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void acknowledge(Notification notification, Channel channel, Long deliveryTag) {
+        if (channel == null || deliveryTag == null) {
+            return;
+        }
+        try {
+            channel.basicAck(deliveryTag, false);
         } catch (Exception e) {
-            LOG.error("OpenStack event '{}' processing failed", notification.getEventType(), e);
+            LOG.error("Failed to acknowledge OpenStack event '{}': {}", notification.getEventType(), e.getMessage());
         }
     }
 
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2023 Maestro Cloud Control LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.maestro3.agent.amqp.dispatcher;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.maestro3.agent.amqp.handler.OsNotificationReactor;
+import io.maestro3.agent.model.notification.Notification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Processes OpenStack notifications on a fixed set of ordered lanes.
+ * <p>
+ * A notification is routed to a lane by the id of the resource it is about, so events of one instance, volume or
+ * image are handled one after another in arrival order, while unrelated resources are handled in parallel. Every lane
+ * has a bounded queue; when it is full {@link #submit} blocks the AMQP listener thread, which stops the consumer from
+ * taking more messages than the lanes can handle.
+ */
+@Component
+public class OsNotificationLanes {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OsNotificationLanes.class);
+
+    private static final List<String> RESOURCE_ID_KEYS = Arrays.asList("instance_id", "volume_id", "image_id", "id");
+
+    private final OsNotificationReactor osNotificationReactor;
+    private final Lane[] lanes;
+    private final AtomicInteger roundRobin = new AtomicInteger();
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile boolean running = true;
+
+    @Autowired
+    public OsNotificationLanes(OsNotificationReactor osNotificationReactor,
+                               @Value("${openstack.notifications.lanes:8}") int laneCount,
+                               @Value("${openstack.notifications.lane.capacity:256}") int laneCapacity) {
+        this.osNotificationReactor = osNotificationReactor;
+        this.lanes = new Lane[Math.max(1, laneCount)];
+        ThreadFactory threadFactory = new ThreadFactoryBuilder()
+            .setNameFormat("os-notification-lane-%d")
+            .setDaemon(true)
+            .build();
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new Lane(Math.max(1, laneCapacity));
+            threadFactory.newThread(lanes[i]).start();
+        }
+    }
+
+    /**
+     * Queues the notification on its lane, blocking while the lane is full.
+     *
+     * @param notification notification to process
+     * @param onProcessed  callback invoked on the lane thread once the notification is processed, successfully or not
+     */
+    public void submit(Notification notification, Runnable onProcessed) throws InterruptedException {
+        lanes[laneIndex(notification)].queue.put(new Task(notification, onProcessed));
+    }
+
+    /**
+     * @return number of queued notifications per lane
+     */
+    public int[] getLaneDepths() {
+        return Arrays.stream(lanes)
+            .mapToInt(lane -> lane.queue.size())
+            .toArray();
+    }
+
+    public long getProcessedCount() {
+        return processed.get();
+    }
+
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    @Scheduled(fixedDelayString = "${openstack.notifications.lanes.report.millis:60000}")
+    public void reportLaneDepths() {
+        int[] depths = getLaneDepths();
+        int queued = Arrays.stream(depths).sum();
+        if (queued > 0) {
+            LOG.info("Notification lanes: {} queued {}, {} processed, {} failed",
+                queued, Arrays.toString(depths), processed.get(), failed.get());
+        } else {
+            LOG.debug("Notification lanes are empty: {} processed, {} failed", processed.get(), failed.get());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        int dropped = 0;
+        for (Lane lane : lanes) {
+            dropped += lane.queue.size();
+            if (lane.thread != null) {
+                lane.thread.interrupt();
+            }
+        }
+        if (dropped > 0) {
+            LOG.warn("{} queued notification(s) were not processed before shutdown", dropped);
+        }
+    }
+
+    private int laneIndex(Notification notification) {
+        String resourceId = getResourceId(notification);
+        int hash = resourceId != null ? resourceId.hashCode() : roundRobin.getAndIncrement();
+        return Math.floorMod(hash, lanes.length);
+    }
+
+    private static String getResourceId(Notification notification) {
+        Map<String, Object> payload = notification.getPayload();
+        if (payload == null) {
+            return null;
+        }
+        for (String key : RESOURCE_ID_KEYS) {
+            Object resourceId = payload.get(key);
+            if (resourceId instanceof String) {
+                return (String) resourceId;
+            }
+        }
+        return null;
+    }
+
+    private static final class Task {
+
+        private final Notification notification;
+        private final Runnable onProcessed;
+
+        private Task(Notification notification, Runnable onProcessed) {
+            this.notification = notification;
+            this.onProcessed = onProcessed;
+        }
+    }
+
+    private class Lane implements Runnable {
+
+        private final BlockingQueue<Task> queue;
+        private volatile Thread thread;
+
+        private Lane(int capacity) {
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        @Override
+        public void run() {
+            thread = Thread.currentThread();
+            while (running) {
+                Task task;
+                try {
+                    task = queue.take();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                try {
+                    osNotificationReactor.reactOnNotification(task.notification);
+                    processed.incrementAndGet();
+                } catch (Exception e) {
+                    failed.incrementAndGet();
+                    LOG.error("OpenStack event '{}' processing failed", task.notification.getEventType(), e);
+                } finally {
+                    task.onProcessed.run();
+                }
+            }
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package io.maestro3.agent.amqp.handler;
 
-import io.maestro3.agent.cadf.CadfAuditEventSender;
+import io.maestro3.agent.cadf.BatchingCadfAuditEventSender;
 import io.maestro3.agent.cadf.openstack.INotificationConverterFactory;
 import io.maestro3.agent.cadf.openstack.converter.IQualifiedCadfConverter;
 import io.maestro3.agent.model.notification.Notification;
@@ -18,11 +18,11 @@ public class CadfOsNotificationHandler implements IOsNotificationHandler {
 
     private static final Logger LOG = LoggerFactory.getLogger(CadfOsNotificationHandler.class);
 
-    private final CadfAuditEventSender eventSender;
+    private final BatchingCadfAuditEventSender eventSender;
     private final INotificationConverterFactory notificationConverterFactory;
 
     @Autowired
-    public CadfOsNotificationHandler(CadfAuditEventSender eventSender,
+    public CadfOsNotificationHandler(BatchingCadfAuditEventSender eventSender,
                                      INotificationConverterFactory notificationConverterFactory) {
         this.eventSender = eventSender;
         this.notificationConverterFactory = notificationConverterFactory;
@@ -42,7 +42,10 @@ public class OsNotificationReactorImpl implements OsNotificationReactor {
 
     @Override
     public void reactOnNotification(Notification notification) {
-        LOG.info(notification.getOriginalJson());
+        LOG.info("Received {} notification {}", notification.getEventType(), notification.getUniqueId());
+        if (LOG.isDebugEnabled()) {
+            LOG.debug(notification.getOriginalJson());
+        }
         handlers.forEach(handler -> handler.handle(notification));
     }
 }
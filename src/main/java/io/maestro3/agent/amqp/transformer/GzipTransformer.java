@@ -18,22 +18,27 @@
 package io.maestro3.agent.amqp.transformer;
 
 import io.maestro3.agent.amqp.IntegrationChannels;
-import org.apache.tomcat.util.http.fileupload.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.integration.annotation.Transformer;
 import org.springframework.integration.support.MessageBuilder;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 
-import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
 import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
 
 
 @Component
@@ -42,12 +47,38 @@ public class GzipTransformer {
     private static final Logger LOG = LoggerFactory.getLogger(GzipTransformer.class);
 
     private static final String ZIPPED_HEADER_NAME = "zipped";
-    private static final String ZIPPED_HEADER_VALUE = "zipped";
+    public static final String ZIPPED_HEADER_VALUE = "zipped";
+
+    private static final int GZIP_MAGIC = 0x8b1f;
+    private static final int GZIP_HEADER_SIZE = 10;
+    private static final int GZIP_TRAILER_SIZE = 8;
+    private static final byte[] GZIP_HEADER = {(byte) GZIP_MAGIC, (byte) (GZIP_MAGIC >> 8), Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0};
+    private static final int BUFFER_SIZE = 8192;
+    // upper bounds for presizing the inflate output from the untrusted ISIZE trailer, the stream grows past them
+    private static final int MAX_EXPANSION_RATIO = 8;
+    private static final int MAX_PRESIZE_BYTES = 4 * 1024 * 1024;
+
+    // deflate output and inflate input chunks, reused by every message handled on the thread
+    private static final ThreadLocal<byte[]> BUFFER = ThreadLocal.withInitial(() -> new byte[BUFFER_SIZE]);
+
+    private final BlockingQueue<Deflater> deflaters;
+    private final BlockingQueue<Inflater> inflaters;
+    private final int compressionLevel;
+    private final int minSizeBytes;
+
+    public GzipTransformer(@Value("${agent.amqp.gzip.level:6}") int compressionLevel,
+                           @Value("${agent.amqp.gzip.min.size.bytes:1024}") int minSizeBytes,
+                           @Value("${agent.amqp.gzip.pool.size:16}") int poolSize) {
+        this.compressionLevel = compressionLevel;
+        this.minSizeBytes = minSizeBytes;
+        this.deflaters = new ArrayBlockingQueue<>(Math.max(1, poolSize));
+        this.inflaters = new ArrayBlockingQueue<>(Math.max(1, poolSize));
+    }
 
     /**
      * Zip message before sending to Outbound.PLAIN integration channel.
      *
-     * @param message message with .json format payload
+     * @param message message with .json format payload, either a string or UTF-8 encoded bytes
      * @return message with zipped format payload
      */
     @Transformer(inputChannel = IntegrationChannels.Outbound.ZIP, outputChannel = IntegrationChannels.Outbound.PLAIN)
@@ -57,12 +88,24 @@ public class GzipTransformer {
         }
 
         Object payload = message.getPayload();
-        if (!(payload instanceof String)) {
+        byte[] bytes;
+        if (payload instanceof byte[]) {
+            bytes = (byte[]) payload;
+        } else if (payload instanceof String) {
+            bytes = ((String) payload).getBytes(StandardCharsets.UTF_8);
+        } else {
             LOG.info("Failed to zip  message payload of type {}", payload.getClass().getSimpleName());
             return message;
         }
 
-        byte[] zippedPayload = zipPayload((String) payload);
+        if (bytes.length < minSizeBytes) {
+            // small messages stay plain text on the wire, as they were before json was produced as bytes
+            return payload instanceof String ? message : MessageBuilder
+                    .withPayload(new String(bytes, StandardCharsets.UTF_8))
+                    .copyHeaders(message.getHeaders())
+                    .build();
+        }
+        byte[] zippedPayload = zip(bytes);
         if (zippedPayload == null) {
             return message;
         }
@@ -77,7 +120,7 @@ public class GzipTransformer {
      * Unzip message before sending to Inbound.DISPATCHER integration channel.
      *
      * @param message message with zipped format payload
-     * @return message with .json format payload
+     * @return message with UTF-8 encoded .json bytes as payload
      */
     @Transformer(inputChannel = IntegrationChannels.Inbound.ZIP, outputChannel = IntegrationChannels.Inbound.JSON)
     public Message<?> unzipMessagePayload(Message<?> message,
@@ -88,7 +131,7 @@ public class GzipTransformer {
             return message;
         }
         Object payload = message.getPayload();
-        String unzippedPayload;
+        byte[] unzippedPayload;
         try {
             if (payload instanceof byte[]) {
                 unzippedPayload = unzip((byte[]) payload);
@@ -107,33 +150,143 @@ public class GzipTransformer {
                 .build();
     }
 
-    private byte[] zipPayload(String payload) {
-        GZIPOutputStream gzipStream = null;
-        byte[] zippedPayload = null;
+    /**
+     * Gzips the payload regardless of its size.
+     *
+     * @param payload payload to zip
+     * @return zipped payload or {@code null} if it cannot be zipped
+     */
+    public byte[] zipPayload(String payload) {
+        return zip(payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private byte[] zip(byte[] bytes) {
+        Deflater deflater = deflaters.poll();
+        if (deflater == null) {
+            deflater = new Deflater(compressionLevel, true);
+        }
         try {
-            ByteArrayOutputStream out = new ByteArrayOutputStream();
-            gzipStream = new GZIPOutputStream(out);
-            gzipStream.write(payload.getBytes());
-            gzipStream.finish();
-            zippedPayload = out.toByteArray();
+            // compressed json is usually several times smaller than the source
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, bytes.length / 4));
+            out.write(GZIP_HEADER, 0, GZIP_HEADER.length);
 
-        } catch (IOException e) {
+            byte[] buffer = BUFFER.get();
+            deflater.setInput(bytes);
+            deflater.finish();
+            while (!deflater.finished()) {
+                int count = deflater.deflate(buffer);
+                out.write(buffer, 0, count);
+            }
+
+            CRC32 crc = new CRC32();
+            crc.update(bytes, 0, bytes.length);
+            writeInt(out, (int) crc.getValue());
+            writeInt(out, bytes.length);
+            return out.toByteArray();
+        } catch (RuntimeException e) {
             LOG.error("Failed to gzip message payload - {}", e.getMessage());
+            return null;
         } finally {
-            IOUtils.closeQuietly(gzipStream);
+            release(deflater);
         }
-        return zippedPayload;
     }
 
-    private String unzip(byte[] payload) throws IOException {
-        GZIPInputStream gzipInputStream = new GZIPInputStream(new ByteArrayInputStream(payload));
-        BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(gzipInputStream));
-        StringBuilder resultBuilder = new StringBuilder();
-        String line;
-        while ((line = bufferedReader.readLine()) != null) {
-            resultBuilder.append(line);
+    private byte[] unzip(byte[] payload) throws IOException {
+        if (!hasPlainGzipHeader(payload)) {
+            return unzipStream(payload);
+        }
+        Inflater inflater = inflaters.poll();
+        if (inflater == null) {
+            inflater = new Inflater(true);
+        }
+        try {
+            int dataLength = payload.length - GZIP_HEADER_SIZE - GZIP_TRAILER_SIZE;
+            inflater.setInput(payload, GZIP_HEADER_SIZE, dataLength);
+            int expectedSize = readInt(payload, payload.length - 4);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(initialUnzipSize(expectedSize, payload.length));
+            byte[] buffer = BUFFER.get();
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                if (count == 0 && !inflater.finished() && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new EOFException("Unexpected end of gzip payload");
+                }
+                out.write(buffer, 0, count);
+            }
+            if (inflater.getRemaining() > 0) {
+                // concatenated gzip members, let the stream decoder handle them
+                return unzipStream(payload);
+            }
+            byte[] bytes = out.toByteArray();
+            CRC32 crc = new CRC32();
+            crc.update(bytes, 0, bytes.length);
+            if ((int) crc.getValue() != readInt(payload, payload.length - GZIP_TRAILER_SIZE)) {
+                throw new IOException("Corrupt gzip payload: CRC mismatch");
+            }
+            return bytes;
+        } catch (DataFormatException e) {
+            throw new IOException(e.getMessage(), e);
+        } finally {
+            release(inflater);
         }
-        return resultBuilder.toString();
+    }
+
+    private byte[] unzipStream(byte[] payload) throws IOException {
+        try (GZIPInputStream gzipInputStream = new GZIPInputStream(new ByteArrayInputStream(payload), BUFFER_SIZE)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(BUFFER_SIZE);
+            byte[] buffer = BUFFER.get();
+            int count;
+            while ((count = gzipInputStream.read(buffer)) != -1) {
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    private static int initialUnzipSize(int expectedSize, int payloadLength) {
+        if (expectedSize <= 0) {
+            return BUFFER_SIZE;
+        }
+        long limit = Math.min((long) payloadLength * MAX_EXPANSION_RATIO, MAX_PRESIZE_BYTES);
+        return (int) Math.max(BUFFER_SIZE, Math.min(expectedSize, limit));
+    }
+
+    /**
+     * Only the minimal 10 byte header without optional fields, as written by {@link #zip}, is decoded in place.
+     */
+    private static boolean hasPlainGzipHeader(byte[] payload) {
+        return payload.length >= GZIP_HEADER_SIZE + GZIP_TRAILER_SIZE
+            && (payload[0] & 0xff) == (GZIP_MAGIC & 0xff)
+            && (payload[1] & 0xff) == (GZIP_MAGIC >> 8)
+            && payload[2] == Deflater.DEFLATED
+            && payload[3] == 0;
+    }
+
+    private void release(Deflater deflater) {
+        deflater.reset();
+        if (!deflaters.offer(deflater)) {
+            deflater.end();
+        }
+    }
+
+    private void release(Inflater inflater) {
+        inflater.reset();
+        if (!inflaters.offer(inflater)) {
+            inflater.end();
+        }
+    }
+
+    private static void writeInt(ByteArrayOutputStream out, int value) {
+        out.write(value & 0xff);
+        out.write((value >> 8) & 0xff);
+        out.write((value >> 16) & 0xff);
+        out.write((value >> 24) & 0xff);
+    }
+
+    private static int readInt(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xff)
+            | (bytes[offset + 1] & 0xff) << 8
+            | (bytes[offset + 2] & 0xff) << 16
+            | (bytes[offset + 3] & 0xff) << 24;
     }
 
 }
@@ -18,6 +18,8 @@
 package io.maestro3.agent.amqp.transformer;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import io.maestro3.agent.amqp.IntegrationChannels;
 import io.maestro3.sdk.v3.core.M3ApiAction;
 import org.slf4j.Logger;
@@ -28,7 +30,10 @@ import org.springframework.integration.transformer.MessageTransformationExceptio
 import org.springframework.messaging.Message;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 @Component
@@ -37,39 +42,42 @@ public class JsonTransformer {
     private static final Logger LOG = LoggerFactory.getLogger(JsonTransformer.class);
     private static final String PAYLOAD_TYPE = "payloadType";
 
-    private ObjectMapper objectMapper = new ObjectMapper();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ObjectReader actionReader = objectMapper.readerFor(M3ApiAction.class);
+    private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
 
     /**
      * Convert message payload from .json to {@link M3ApiAction} before sending to Inbound.PRIVATE_CLOUD integration channel.
      *
-     * @param message message with .json format payload
+     * @param message message with .json format payload, either UTF-8 encoded bytes or a string
      * @return message with {@link M3ApiAction} payload
      */
     @Transformer(inputChannel = IntegrationChannels.Inbound.JSON, outputChannel = IntegrationChannels.Inbound.PRIVATE_CLOUD)
     public Message<?> fromJson(Message<?> message) {
         LOG.debug("Got INGOING message to convert with the following headers: {}", message.getHeaders());
         try {
-            String payload = (String) message.getPayload();
+            Object payload = message.getPayload();
 
-            M3ApiAction m3ApiAction = objectMapper.readValue(payload, M3ApiAction.class);
+            M3ApiAction m3ApiAction = payload instanceof byte[]
+                ? actionReader.readValue((byte[]) payload)
+                : actionReader.readValue((String) payload);
 
-            LOG.debug("Message headers : {}", message.getHeaders());
             return MessageBuilder.
                 withPayload(m3ApiAction)
                 .copyHeaders(message.getHeaders())
                 .removeHeader(PAYLOAD_TYPE)
                 .build();
         } catch (Throwable e) {
-            LOG.error("Unable to deserialize payload: {}", message.getPayload());
+            LOG.error("Unable to deserialize payload: {}", printable(message.getPayload()));
             throw new MessageTransformationException("Unable to deserialize payload.", e);
         }
     }
 
     /**
-     * Convert message payload from {@link M3ApiAction} to .json before sending to Outbound.ZIP integration channel.
+     * Convert message payload to UTF-8 encoded .json before sending to Outbound.ZIP integration channel.
      *
-     * @param message message with {@link M3ApiAction} as payload
-     * @return message with .json format payload
+     * @param message message with {@link M3ApiAction} or result as payload
+     * @return message with .json bytes as payload
      */
     @Transformer(inputChannel = IntegrationChannels.Outbound.JSON, outputChannel = IntegrationChannels.Outbound.ZIP)
     public Message<?> toJson(Message<?> message) {
@@ -77,14 +85,15 @@ public class JsonTransformer {
             LOG.debug("Got OUTGOING message to convert with the following headers: {}", message.getHeaders());
         }
         try {
-            String stringPayload = null;
+            byte[] jsonPayload = null;
             Object payload = message.getPayload();
 
             if (payload != null) {
-                stringPayload = objectMapper.writeValueAsString(payload);
+                jsonPayload = writers.computeIfAbsent(payload.getClass(), objectMapper::writerFor)
+                    .writeValueAsBytes(payload);
             }
             return MessageBuilder.
-                withPayload(Optional.ofNullable(stringPayload)
+                withPayload(Optional.ofNullable(jsonPayload)
                     .orElseThrow(IllegalArgumentException::new)).
                 copyHeaders(message.getHeaders()).
                 build();
@@ -93,4 +102,8 @@ public class JsonTransformer {
             throw new MessageTransformationException("Unable to serialize payload.", e);
         }
     }
+
+    private static Object printable(Object payload) {
+        return payload instanceof byte[] ? new String((byte[]) payload, StandardCharsets.UTF_8) : payload;
+    }
 }
@@ -28,8 +28,6 @@ import io.maestro3.agent.amqp.IntegrationChannels;
 import io.maestro3.agent.model.notification.EventType;
 import io.maestro3.agent.model.notification.Notification;
 import io.maestro3.agent.model.notification.NullPayload;
-import io.maestro3.agent.model.notification.OsloMessage;
-import io.maestro3.sdk.v3.core.M3ApiAction;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,8 +38,11 @@ import org.springframework.messaging.Message;
 import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 
-import java.io.UnsupportedEncodingException;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
 import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 
@@ -50,6 +51,8 @@ public class OpenStackNotificaionTransformer {
 
     private static final Logger LOG = LoggerFactory.getLogger(OpenStackNotificaionTransformer.class);
 
+    private static final String OSLO_MESSAGE = "oslo.message";
+
     private final Type mapType = new TypeToken<Map<String, Object>>() {
     }.getType();
 
@@ -61,10 +64,12 @@ public class OpenStackNotificaionTransformer {
             .create();
 
     /**
-     * Convert message payload from {@link M3ApiAction} to .json before sending to Outbound.ZIP integration channel.
+     * Parses the raw notification bytes once into a json tree. The typed {@link Notification} is read from that tree
+     * (or from the wrapped message of an oslo envelope), while the original json string and map are only produced if
+     * somebody asks for them.
      *
-     * @param message message with {@link M3ApiAction} as payload
-     * @return message with .json format payload
+     * @param message message with raw notification bytes as payload
+     * @return message with {@link Notification} as payload
      */
     @Transformer(inputChannel = IntegrationChannels.Inbound.OS_BYTES,
             outputChannel = IntegrationChannels.Inbound.OS_NOTIFICATIONS)
@@ -72,34 +77,30 @@ public class OpenStackNotificaionTransformer {
                                 @Header(value = "amqp_contentEncoding", required = false) String encoding,
                                 @Header(value = "amqp_contentType", required = false) String contentType) {
         byte[] bytePayload = message.getPayload();
-        String stringPayload = null;
-        try {
-            stringPayload = new String(bytePayload, encoding);
-        } catch (UnsupportedEncodingException e) {
-            LOG.error(e.getMessage());
-        }
+        Charset charset = toCharset(encoding);
 
-        String notificationJson;
-        OsloMessage osloMessage = gson.fromJson(stringPayload, OsloMessage.class);
-        if (osloMessage != null && osloMessage.getMessage() != null) {
-            notificationJson = osloMessage.getMessage();
-        } else {
-            notificationJson = stringPayload;
+        Notification notification = null;
+        try {
+            JsonElement root = gson.fromJson(
+                    new InputStreamReader(new ByteArrayInputStream(bytePayload), charset), JsonElement.class);
+            notification = toNotification(root);
+            if (notification != null) {
+                notification.setOriginalJsonSupplier(() -> new String(bytePayload, charset));
+                notification.setOriginalNotificationSupplier(() -> root.isJsonObject()
+                        ? gson.fromJson(root, mapType)
+                        : null);
+            }
+        } catch (JsonParseException e) {
+            LOG.error("Failed to parse os notification: {}", e.getMessage());
         }
 
-        LOG.debug("Received os notification: {}", notificationJson);
-
-        Notification notification;
-        if (StringUtils.isNotBlank(notificationJson)) {
-            notification = gson.fromJson(notificationJson, Notification.class);
-            if (notification != null) {
-                notification.setOriginalJson(stringPayload);
-                Map<String, Object> notificationMap = gson.fromJson(stringPayload, mapType);
-                notification.setOriginalNotification(notificationMap);
-                return MessageBuilder.withPayload(notification).copyHeaders(message.getHeaders()).build();
+        if (notification != null) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Received os notification: {}", notification.getOriginalJson());
             }
+            return MessageBuilder.withPayload(notification).copyHeaders(message.getHeaders()).build();
         }
-        LOG.error("Got empty payload or this payload has illegal structure: {}", notificationJson);
+        LOG.error("Got empty payload or this payload has illegal structure: {}", new String(bytePayload, charset));
         return MessageBuilder.withPayload(NullPayload.getInstance()).build();
     }
 
@@ -119,6 +120,32 @@ public class OpenStackNotificaionTransformer {
         return accept;
     }
 
+    private Notification toNotification(JsonElement root) {
+        if (root == null || !root.isJsonObject()) {
+            return null;
+        }
+        JsonElement osloMessage = root.getAsJsonObject().get(OSLO_MESSAGE);
+        if (osloMessage != null && osloMessage.isJsonPrimitive()) {
+            String notificationJson = osloMessage.getAsString();
+            return StringUtils.isNotBlank(notificationJson)
+                    ? gson.fromJson(notificationJson, Notification.class)
+                    : null;
+        }
+        return gson.fromJson(root, Notification.class);
+    }
+
+    private static Charset toCharset(String encoding) {
+        if (StringUtils.isBlank(encoding)) {
+            return StandardCharsets.UTF_8;
+        }
+        try {
+            return Charset.forName(encoding);
+        } catch (IllegalArgumentException e) {
+            LOG.error("Unsupported notification encoding {}, falling back to UTF-8", encoding);
+            return StandardCharsets.UTF_8;
+        }
+    }
+
     private EventType getEventTypeInternal(JsonElement json) {
         if (!json.isJsonPrimitive()) {
             throw new JsonParseException("Expected a string, got " + json);
@@ -18,11 +18,11 @@
 package io.maestro3.agent.api;
 
 import io.maestro3.agent.api.handler.IM3ApiHandler;
-import io.maestro3.agent.dao.IOpenStackRegionRepository;
 import io.maestro3.agent.lock.Locker;
 import io.maestro3.agent.model.enums.ServerStateEnum;
 import io.maestro3.agent.model.server.OpenStackServerConfig;
 import io.maestro3.agent.openstack.provider.OpenStackApiProvider;
+import io.maestro3.agent.service.RegionDbService;
 import io.maestro3.agent.service.ServerDbService;
 import io.maestro3.agent.service.TenantDbService;
 import io.maestro3.sdk.M3SdkVersion;
@@ -35,13 +35,13 @@ public abstract class AbstractInstanceHandler implements IM3ApiHandler {
 
     protected final Logger LOG = LoggerFactory.getLogger(getClass());
 
-    protected IOpenStackRegionRepository regionDbService;
+    protected RegionDbService regionDbService;
     protected TenantDbService tenantDbService;
     protected ServerDbService serverDbService;
     protected OpenStackApiProvider openStackApiProvider;
     protected Locker locker;
 
-    public AbstractInstanceHandler(IOpenStackRegionRepository regionDbService,
+    public AbstractInstanceHandler(RegionDbService regionDbService,
                                    TenantDbService tenantDbService,
                                    ServerDbService serverDbService,
                                    OpenStackApiProvider openStackApiProvider, Locker locker) {
@@ -19,7 +19,7 @@ package io.maestro3.agent.api;
 
 import io.maestro3.agent.api.handler.IM3ApiHandler;
 import io.maestro3.agent.cadf.ICadfAuditEventSender;
-import io.maestro3.agent.dao.IOpenStackRegionRepository;
+import io.maestro3.agent.service.RegionDbService;
 import io.maestro3.agent.service.ServerDbService;
 import io.maestro3.agent.service.TenantDbService;
 import io.maestro3.agent.service.VolumeDbService;
@@ -38,7 +38,7 @@ public abstract class AbstractVolumeHandler extends AbstractInstanceHandler impl
     protected VolumeDbService volumeDbService;
     protected ICadfAuditEventSender sender;
 
-    public AbstractVolumeHandler(IOpenStackRegionRepository regionDbService,
+    public AbstractVolumeHandler(RegionDbService regionDbService,
                                  TenantDbService tenantDbService,
                                  ServerDbService serverDbService,
                                  OpenStackApiProvider openStackApiProvider,
@@ -18,8 +18,6 @@
 package io.maestro3.agent.api;
 
 import io.maestro3.agent.api.handler.AbstractM3ApiHandler;
-import io.maestro3.agent.dao.IOpenStackRegionRepository;
-import io.maestro3.agent.dao.IOpenStackTenantRepository;
 import io.maestro3.agent.exception.ReadableAgentException;
 import io.maestro3.agent.model.base.VLAN;
 import io.maestro3.agent.model.network.impl.vlan.OpenStackVLAN;
@@ -32,6 +30,8 @@ import io.maestro3.agent.openstack.exception.OSClientException;
 import io.maestro3.agent.openstack.filter.impl.SubnetApiFilter;
 import io.maestro3.agent.openstack.provider.OpenStackApiProvider;
 import io.maestro3.agent.service.IAdminVLANService;
+import io.maestro3.agent.service.RegionDbService;
+import io.maestro3.agent.service.TenantDbService;
 import io.maestro3.sdk.internal.util.CollectionUtils;
 import io.maestro3.sdk.v3.core.ActionType;
 import io.maestro3.sdk.v3.model.SdkCloud;
@@ -48,24 +48,24 @@ import java.util.stream.Collectors;
 public class OsActivateVLANHandler extends AbstractM3ApiHandler<ActivateVLANRequest, SdkVlanResponse> {
 
     private IAdminVLANService adminVLANService;
-    private IOpenStackRegionRepository regionRepository;
-    private IOpenStackTenantRepository tenantRepository;
+    private RegionDbService regionDbService;
+    private TenantDbService tenantDbService;
     private OpenStackApiProvider apiProvider;
 
     @Autowired
     public OsActivateVLANHandler(IAdminVLANService adminVLANService,
-                                 IOpenStackRegionRepository regionRepository, IOpenStackTenantRepository tenantRepository,
+                                 RegionDbService regionDbService, TenantDbService tenantDbService,
                                  OpenStackApiProvider apiProvider) {
         super(ActivateVLANRequest.class, ActionType.ACTIVATE_VLAN);
         this.adminVLANService = adminVLANService;
-        this.regionRepository = regionRepository;
-        this.tenantRepository = tenantRepository;
+        this.regionDbService = regionDbService;
+        this.tenantDbService = tenantDbService;
         this.apiProvider = apiProvider;
     }
 
     @Override
     public SdkVlanResponse handlePayload(ActionType actionType, ActivateVLANRequest request) {
-        OpenStackRegionConfig openStackZone = regionRepository.findByAliasInCloud(request.getRegion());
+        OpenStackRegionConfig openStackZone = regionDbService.findByAliasInCloud(request.getRegion());
         IOpenStackApi openStackApi = apiProvider.adminOpenStack(openStackZone);
         String targetNetworkId;
         Set<String> cidrs = null;
@@ -119,7 +119,7 @@ public class OsActivateVLANHandler extends AbstractM3ApiHandler<ActivateVLANRequ
         String regionName = params.getRegion();
         SdkVlanResponse response = new SdkVlanResponse();
         for (String tenantName : params.getTenantNames()) {
-            OpenStackTenant tenant = tenantRepository.findByTenantAliasAndRegionIdInCloud(tenantName, regionId);
+            OpenStackTenant tenant = tenantDbService.findOpenStackTenantByNameAndRegion(tenantName, regionId);
             if (tenant == null) {
                 response.addFailMessage(String.format("Tenant %s for region %s not found.",
                     tenantName, regionName));
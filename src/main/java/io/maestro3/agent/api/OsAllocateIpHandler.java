@@ -18,8 +18,6 @@
 package io.maestro3.agent.api;
 
 import io.maestro3.agent.api.handler.AbstractM3ApiHandler;
-import io.maestro3.agent.dao.IOpenStackRegionRepository;
-import io.maestro3.agent.dao.IOpenStackTenantRepository;
 import io.maestro3.agent.model.network.impl.ip.StaticIpAddress;
 import io.maestro3.agent.model.network.impl.ip.parameters.AllocateStaticIpAddressParameters;
 import io.maestro3.agent.model.region.OpenStackRegionConfig;
@@ -27,6 +25,8 @@ import io.maestro3.agent.model.tenant.OpenStackTenant;
 import io.maestro3.agent.service.IOpenStackNetworkingProvider;
 import io.maestro3.agent.service.IServiceFactory;
 import io.maestro3.agent.service.IVirtOpenStackNetworkService;
+import io.maestro3.agent.service.RegionDbService;
+import io.maestro3.agent.service.TenantDbService;
 import io.maestro3.sdk.v3.core.ActionType;
 import io.maestro3.sdk.v3.model.SdkCloud;
 import io.maestro3.sdk.v3.model.agent.network.SdkStaticIpAddress;
@@ -37,23 +37,23 @@ import org.springframework.stereotype.Component;
 @Component
 public class OsAllocateIpHandler extends AbstractM3ApiHandler<AllocateIpRequest, SdkStaticIpAddress> {
 
-    private IOpenStackRegionRepository regionRepository;
-    private IOpenStackTenantRepository tenantRepository;
+    private RegionDbService regionDbService;
+    private TenantDbService tenantDbService;
     private IServiceFactory<IOpenStackNetworkingProvider> networkingProviderFactory;
 
     @Autowired
-    public OsAllocateIpHandler(IOpenStackRegionRepository regionRepository, IOpenStackTenantRepository tenantRepository,
+    public OsAllocateIpHandler(RegionDbService regionDbService, TenantDbService tenantDbService,
                                IServiceFactory<IOpenStackNetworkingProvider> networkingProviderFactory) {
         super(AllocateIpRequest.class, ActionType.ALLOCATE_IP);
         this.networkingProviderFactory = networkingProviderFactory;
-        this.regionRepository = regionRepository;
-        this.tenantRepository = tenantRepository;
+        this.regionDbService = regionDbService;
+        this.tenantDbService = tenantDbService;
     }
 
     @Override
     public SdkStaticIpAddress handlePayload(ActionType actionType, AllocateIpRequest request) {
-        OpenStackRegionConfig region = regionRepository.findByAliasInCloud(request.getRegion());
-        OpenStackTenant tenant = tenantRepository.findByTenantAliasAndRegionIdInCloud(request.getTenantName(), region.getId());
+        OpenStackRegionConfig region = regionDbService.findByAliasInCloud(request.getRegion());
+        OpenStackTenant tenant = tenantDbService.findOpenStackTenantByNameAndRegion(request.getTenantName(), region.getId());
         IOpenStackNetworkingProvider networkingProvider = networkingProviderFactory.get(region);
         IVirtOpenStackNetworkService networkService = networkingProvider.networkingService();
         StaticIpAddress staticIpAddress = networkService.allocateStaticIp(tenant, AllocateStaticIpAddressParameters.builder()
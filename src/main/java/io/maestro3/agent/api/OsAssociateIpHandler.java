@@ -18,8 +18,6 @@
 package io.maestro3.agent.api;
 
 import io.maestro3.agent.api.handler.AbstractM3ApiHandler;
-import io.maestro3.agent.dao.IOpenStackRegionRepository;
-import io.maestro3.agent.dao.IOpenStackTenantRepository;
 import io.maestro3.agent.model.network.impl.ip.StaticIpAddress;
 import io.maestro3.agent.model.network.impl.ip.parameters.AssociateStaticIpAddressParameters;
 import io.maestro3.agent.model.region.OpenStackRegionConfig;
@@ -28,6 +26,8 @@ import io.maestro3.agent.service.IOpenStackNetworkingProvider;
 import io.maestro3.agent.service.IServiceFactory;
 import io.maestro3.agent.service.IStaticIpService;
 import io.maestro3.agent.service.IVirtOpenStackNetworkService;
+import io.maestro3.agent.service.RegionDbService;
+import io.maestro3.agent.service.TenantDbService;
 import io.maestro3.sdk.internal.util.StringUtils;
 import io.maestro3.sdk.v3.core.ActionType;
 import io.maestro3.sdk.v3.model.SdkCloud;
@@ -39,26 +39,26 @@ import org.springframework.stereotype.Component;
 @Component
 public class OsAssociateIpHandler extends AbstractM3ApiHandler<AssociateIpRequest, SdkStaticIpAddress> {
 
-    private IOpenStackRegionRepository regionRepository;
-    private IOpenStackTenantRepository tenantRepository;
+    private RegionDbService regionDbService;
+    private TenantDbService tenantDbService;
     private IServiceFactory<IOpenStackNetworkingProvider> networkingProviderFactory;
     private IStaticIpService staticIpService;
 
     @Autowired
-    public OsAssociateIpHandler(IOpenStackRegionRepository regionRepository, IOpenStackTenantRepository tenantRepository,
+    public OsAssociateIpHandler(RegionDbService regionDbService, TenantDbService tenantDbService,
                                 IServiceFactory<IOpenStackNetworkingProvider> networkingProviderFactory,
                                 IStaticIpService staticIpService) {
         super(AssociateIpRequest.class, ActionType.ASSOCIATE_IP);
         this.networkingProviderFactory = networkingProviderFactory;
-        this.regionRepository = regionRepository;
+        this.regionDbService = regionDbService;
         this.staticIpService = staticIpService;
-        this.tenantRepository = tenantRepository;
+        this.tenantDbService = tenantDbService;
     }
 
     @Override
     public SdkStaticIpAddress handlePayload(ActionType actionType, AssociateIpRequest request) {
-        OpenStackRegionConfig region = regionRepository.findByAliasInCloud(request.getRegion());
-        OpenStackTenant tenant = tenantRepository.findByTenantAliasAndRegionIdInCloud(request.getTenantName(), region.getId());
+        OpenStackRegionConfig region = regionDbService.findByAliasInCloud(request.getRegion());
+        OpenStackTenant tenant = tenantDbService.findOpenStackTenantByNameAndRegion(request.getTenantName(), region.getId());
         StaticIpAddress ip = null;
         if (StringUtils.isNotBlank(request.getIp())) {
             ip = staticIpService.findStaticIpAddress(region.getId(), tenant.getId(), request.getIp());
@@ -18,8 +18,6 @@
 package io.maestro3.agent.api;
 
 import io.maestro3.agent.api.handler.AbstractM3ApiHandler;
-import io.maestro3.agent.dao.IOpenStackRegionRepository;
-import io.maestro3.agent.dao.IOpenStackTenantRepository;
 import io.maestro3.agent.exception.ReadableAgentException;
 import io.maestro3.agent.model.base.VLAN;
 import io.maestro3.agent.model.network.impl.vlan.OpenStackVLAN;
@@ -34,6 +32,8 @@ import io.maestro3.agent.openstack.api.networking.request.UpdateRouter;
 import io.maestro3.agent.openstack.exception.OSClientException;
 import io.maestro3.agent.openstack.provider.OpenStackApiProvider;
 import io.maestro3.agent.service.IOpenStackVLANService;
+import io.maestro3.agent.service.RegionDbService;
+import io.maestro3.agent.service.TenantDbService;
 import io.maestro3.agent.util.OpenStackNetworkUtils;
 import io.maestro3.agent.util.UtilsReadableAssert;
 import io.maestro3.sdk.internal.util.CollectionUtils;
@@ -50,19 +50,19 @@ import java.util.List;
 @Component
 public class OsDeactivateVLANHandler extends AbstractM3ApiHandler<DeactivateVLANRequest, SdkVlanResponse> {
 
-    private IOpenStackRegionRepository regionRepository;
-    private IOpenStackTenantRepository tenantRepository;
+    private RegionDbService regionDbService;
+    private TenantDbService tenantDbService;
     private OpenStackApiProvider apiProvider;
     private IOpenStackVLANService vlanService;
 
     @Autowired
-    public OsDeactivateVLANHandler(IOpenStackRegionRepository regionRepository, IOpenStackVLANService vlanService,
-                                   IOpenStackTenantRepository tenantRepository, OpenStackApiProvider apiProvider) {
+    public OsDeactivateVLANHandler(RegionDbService regionDbService, IOpenStackVLANService vlanService,
+                                   TenantDbService tenantDbService, OpenStackApiProvider apiProvider) {
         super(DeactivateVLANRequest.class, ActionType.DEACTIVATE_VLAN);
-        this.regionRepository = regionRepository;
+        this.regionDbService = regionDbService;
         this.vlanService = vlanService;
         this.apiProvider = apiProvider;
-        this.tenantRepository = tenantRepository;
+        this.tenantDbService = tenantDbService;
     }
 
     @Override
@@ -72,7 +72,7 @@ public class OsDeactivateVLANHandler extends AbstractM3ApiHandler<DeactivateVLAN
 
     @Override
     public SdkVlanResponse handlePayload(ActionType action, DeactivateVLANRequest request) {
-        OpenStackRegionConfig region = regionRepository.findByAliasInCloud(request.getRegion());
+        OpenStackRegionConfig region = regionDbService.findByAliasInCloud(request.getRegion());
         IOpenStackApi openStackApi = apiProvider.adminOpenStack(region);
         Network openStackNetwork;
 
@@ -91,7 +91,7 @@ public class OsDeactivateVLANHandler extends AbstractM3ApiHandler<DeactivateVLAN
         OpenStackVLAN openStackVLAN;
         String tenantName = request.getTenantName();
         if (StringUtils.isNotBlank(tenantName)) {
-            OpenStackTenant tenant = tenantRepository.findByTenantAliasAndRegionIdInCloud(tenantName, region.getId());
+            OpenStackTenant tenant = tenantDbService.findOpenStackTenantByNameAndRegion(tenantName, region.getId());
             if (tenant == null) {
                 throw new ReadableAgentException(String.format("Active tenant %s not found in region %s", tenantName, region.getRegionAlias()));
             }
@@ -19,7 +19,6 @@ package io.maestro3.agent.api;
 
 import io.maestro3.agent.api.handler.IM3ApiHandler;
 import io.maestro3.agent.converter.M3ApiActionInverter;
-import io.maestro3.agent.dao.IOpenStackRegionRepository;
 import io.maestro3.agent.exception.M3PrivateAgentException;
 import io.maestro3.agent.lock.Locker;
 import io.maestro3.agent.model.compute.Image;
@@ -27,6 +26,7 @@ import io.maestro3.agent.model.region.OpenStackRegionConfig;
 import io.maestro3.agent.model.tenant.OpenStackTenant;
 import io.maestro3.agent.openstack.exception.OSClientException;
 import io.maestro3.agent.openstack.provider.OpenStackApiProvider;
+import io.maestro3.agent.service.RegionDbService;
 import io.maestro3.agent.service.ServerDbService;
 import io.maestro3.agent.service.TenantDbService;
 import io.maestro3.sdk.v3.core.ActionType;
@@ -50,9 +50,9 @@ import java.util.Set;
 public class OsDeleteImageHandler extends AbstractInstanceHandler implements IM3ApiHandler {
 
     @Autowired
-    public OsDeleteImageHandler(IOpenStackRegionRepository regionDbService, TenantDbService tenantDbService,
+    public OsDeleteImageHandler(RegionDbService regionDbService, TenantDbService tenantDbService,
                                 ServerDbService serverDbService,
-                                OpenStackApiProvider openStackApiProvider, @Qualifier("instanceLocker") Locker locker) {
+                                OpenStackApiProvider openStackApiProvider, @Qualifier("openStackInstanceLocker") Locker locker) {
         super(regionDbService, tenantDbService, serverDbService, openStackApiProvider, locker);
     }
 
@@ -19,13 +19,13 @@ package io.maestro3.agent.api;
 
 import io.maestro3.agent.api.handler.IM3ApiHandler;
 import io.maestro3.agent.converter.M3ApiActionInverter;
-import io.maestro3.agent.dao.IOpenStackRegionRepository;
 import io.maestro3.agent.exception.M3PrivateAgentException;
 import io.maestro3.agent.model.compute.Image;
 import io.maestro3.agent.model.region.OpenStackRegionConfig;
 import io.maestro3.agent.model.tenant.OpenStackTenant;
 import io.maestro3.agent.openstack.exception.OSClientException;
 import io.maestro3.agent.openstack.provider.OpenStackApiProvider;
+import io.maestro3.agent.service.RegionDbService;
 import io.maestro3.agent.service.TenantDbService;
 import io.maestro3.sdk.M3SdkVersion;
 import io.maestro3.sdk.v3.core.ActionType;
@@ -52,12 +52,12 @@ public class OsDescribeImagesHandler implements IM3ApiHandler {
 
     protected final Logger LOG = LoggerFactory.getLogger(OsDescribeImagesHandler.class);
 
-    private IOpenStackRegionRepository regionDbService;
+    private RegionDbService regionDbService;
     private TenantDbService tenantDbService;
     private OpenStackApiProvider openStackApiProvider;
 
     @Autowired
-    public OsDescribeImagesHandler(IOpenStackRegionRepository regionDbService, TenantDbService tenantDbService,
+    public OsDescribeImagesHandler(RegionDbService regionDbService, TenantDbService tenantDbService,
                                    OpenStackApiProvider openStackApiProvider) {
         this.regionDbService = regionDbService;
         this.tenantDbService = tenantDbService;
@@ -20,13 +20,13 @@ package io.maestro3.agent.api;
 import io.maestro3.agent.api.handler.IM3ApiHandler;
 import io.maestro3.agent.converter.M3ApiActionInverter;
 import io.maestro3.agent.converter.M3SDKModelConverter;
-import io.maestro3.agent.dao.IOpenStackRegionRepository;
 import io.maestro3.agent.exception.M3PrivateAgentException;
 import io.maestro3.agent.model.compute.Server;
 import io.maestro3.agent.model.region.OpenStackRegionConfig;
 import io.maestro3.agent.model.tenant.OpenStackTenant;
 import io.maestro3.agent.openstack.exception.OSClientException;
 import io.maestro3.agent.openstack.provider.OpenStackApiProvider;
+import io.maestro3.agent.service.RegionDbService;
 import io.maestro3.agent.service.TenantDbService;
 import io.maestro3.sdk.M3SdkVersion;
 import io.maestro3.sdk.v3.core.ActionType;
@@ -53,12 +53,12 @@ public class OsDescribeInstanceHandler implements IM3ApiHandler {
 
     protected final Logger LOG = LoggerFactory.getLogger(OsDescribeInstanceHandler.class);
 
-    private IOpenStackRegionRepository regionDbService;
+    private RegionDbService regionDbService;
     private TenantDbService tenantDbService;
     private OpenStackApiProvider openStackApiProvider;
 
     @Autowired
-    public OsDescribeInstanceHandler(IOpenStackRegionRepository regionDbService, TenantDbService tenantDbService,
+    public OsDescribeInstanceHandler(RegionDbService regionDbService, TenantDbService tenantDbService,
                                      OpenStackApiProvider openStackApiProvider) {
         this.regionDbService = regionDbService;
         this.tenantDbService = tenantDbService;
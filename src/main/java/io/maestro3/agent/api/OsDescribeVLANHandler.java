@@ -18,8 +18,6 @@
 package io.maestro3.agent.api;
 
 import io.maestro3.agent.api.handler.AbstractM3ApiHandler;
-import io.maestro3.agent.dao.IOpenStackRegionRepository;
-import io.maestro3.agent.dao.IOpenStackTenantRepository;
 import io.maestro3.agent.exception.ReadableAgentException;
 import io.maestro3.agent.model.network.impl.vlan.OpenStackVLAN;
 import io.maestro3.agent.model.region.OpenStackRegionConfig;
@@ -28,6 +26,8 @@ import io.maestro3.agent.openstack.api.networking.bean.Network;
 import io.maestro3.agent.openstack.exception.OSClientException;
 import io.maestro3.agent.openstack.provider.OpenStackApiProvider;
 import io.maestro3.agent.service.IOpenStackVLANService;
+import io.maestro3.agent.service.RegionDbService;
+import io.maestro3.agent.service.TenantDbService;
 import io.maestro3.agent.util.UtilsReadableAssert;
 import io.maestro3.sdk.internal.util.CollectionUtils;
 import io.maestro3.sdk.internal.util.StringUtils;
@@ -52,17 +52,17 @@ public class OsDescribeVLANHandler extends AbstractM3ApiHandler<ManageVLANReques
     private static final String VLAN_TYPE = "VLAN";
 
     private IOpenStackVLANService openStackVLANService;
-    private IOpenStackRegionRepository regionRepository;
-    private IOpenStackTenantRepository tenantRepository;
+    private RegionDbService regionDbService;
+    private TenantDbService tenantDbService;
     private OpenStackApiProvider apiProvider;
 
     @Autowired
-    public OsDescribeVLANHandler(IOpenStackVLANService openStackVLANService, IOpenStackRegionRepository regionRepository,
-                                 OpenStackApiProvider apiProvider, IOpenStackTenantRepository tenantRepository) {
+    public OsDescribeVLANHandler(IOpenStackVLANService openStackVLANService, RegionDbService regionDbService,
+                                 OpenStackApiProvider apiProvider, TenantDbService tenantDbService) {
         super(ManageVLANRequest.class, ActionType.DESCRIBE_VLAN);
         this.openStackVLANService = openStackVLANService;
-        this.tenantRepository = tenantRepository;
-        this.regionRepository = regionRepository;
+        this.tenantDbService = tenantDbService;
+        this.regionDbService = regionDbService;
         this.apiProvider = apiProvider;
     }
 
@@ -73,8 +73,8 @@ public class OsDescribeVLANHandler extends AbstractM3ApiHandler<ManageVLANReques
 
     @Override
     public Set<SdkVlanDescribeInfo> handlePayload(ActionType actionType, ManageVLANRequest request) {
-        OpenStackRegionConfig region = regionRepository.findByAliasInCloud(request.getRegion());
-        OpenStackTenant tenant = tenantRepository.findByTenantAliasAndRegionIdInCloud(request.getTenantName(), region.getId());
+        OpenStackRegionConfig region = regionDbService.findByAliasInCloud(request.getRegion());
+        OpenStackTenant tenant = tenantDbService.findOpenStackTenantByNameAndRegion(request.getTenantName(), region.getId());
         String regionId = region.getId();
         Set<String> networkIds = getNetworkIds(region, tenant);
 
@@ -21,7 +21,6 @@ import io.maestro3.agent.api.handler.IM3ApiHandler;
 import io.maestro3.agent.cadf.ICadfAuditEventSender;
 import io.maestro3.agent.cadf.openstack.CadfUtils;
 import io.maestro3.agent.converter.M3ApiActionInverter;
-import io.maestro3.agent.dao.IOpenStackRegionRepository;
 import io.maestro3.agent.exception.M3PrivateAgentException;
 import io.maestro3.agent.lock.Locker;
 import io.maestro3.agent.model.region.OpenStackRegionConfig;
@@ -30,6 +29,7 @@ import io.maestro3.agent.model.tenant.OpenStackTenant;
 import io.maestro3.agent.openstack.api.storage.bean.CinderVolume;
 import io.maestro3.agent.openstack.exception.OSClientException;
 import io.maestro3.agent.openstack.provider.OpenStackApiProvider;
+import io.maestro3.agent.service.RegionDbService;
 import io.maestro3.agent.service.ServerDbService;
 import io.maestro3.agent.service.TenantDbService;
 import io.maestro3.agent.service.VolumeDbService;
@@ -53,9 +53,9 @@ import java.util.Set;
 public class OsDetachVolumeHandler extends AbstractVolumeHandler implements IM3ApiHandler {
 
     @Autowired
-    public OsDetachVolumeHandler(IOpenStackRegionRepository regionDbService, TenantDbService tenantDbService,
+    public OsDetachVolumeHandler(RegionDbService regionDbService, TenantDbService tenantDbService,
                                  ServerDbService serverDbService, VolumeDbService volumeDbService,
-                                 OpenStackApiProvider openStackApiProvider, @Qualifier("instanceLocker") Locker locker,
+                                 OpenStackApiProvider openStackApiProvider, @Qualifier("openStackInstanceLocker") Locker locker,
                                  ICadfAuditEventSender sender) {
         super(regionDbService, tenantDbService, serverDbService, openStackApiProvider, locker, volumeDbService, sender);
     }
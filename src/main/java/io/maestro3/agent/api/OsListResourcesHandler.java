@@ -19,12 +19,12 @@ package io.maestro3.agent.api;
 
 import io.maestro3.agent.api.handler.IM3ApiHandler;
 import io.maestro3.agent.converter.M3ApiActionInverter;
-import io.maestro3.agent.dao.IOpenStackRegionRepository;
 import io.maestro3.agent.exception.M3PrivateAgentException;
 import io.maestro3.agent.model.image.OpenStackMachineImage;
 import io.maestro3.agent.model.region.OpenStackRegionConfig;
 import io.maestro3.agent.model.tenant.OpenStackTenant;
 import io.maestro3.agent.service.MachineImageDbService;
+import io.maestro3.agent.service.RegionDbService;
 import io.maestro3.agent.service.TenantDbService;
 import io.maestro3.sdk.M3SdkVersion;
 import io.maestro3.sdk.v3.core.ActionType;
@@ -49,12 +49,12 @@ import java.util.function.Function;
 
 @Component("OsListResourcesHandler")
 public class OsListResourcesHandler implements IM3ApiHandler {
-    private IOpenStackRegionRepository regionDbService;
+    private RegionDbService regionDbService;
     private TenantDbService tenantDbService;
     private MachineImageDbService imageDbService;
 
     @Autowired
-    public OsListResourcesHandler(IOpenStackRegionRepository regionDbService, TenantDbService tenantDbService,
+    public OsListResourcesHandler(RegionDbService regionDbService, TenantDbService tenantDbService,
                                   MachineImageDbService imageDbService) {
         this.regionDbService = regionDbService;
         this.imageDbService = imageDbService;
@@ -18,8 +18,6 @@
 package io.maestro3.agent.api;
 
 import io.maestro3.agent.api.handler.AbstractM3ApiHandler;
-import io.maestro3.agent.dao.IOpenStackRegionRepository;
-import io.maestro3.agent.dao.IOpenStackTenantRepository;
 import io.maestro3.agent.exception.ReadableAgentException;
 import io.maestro3.agent.model.base.VLAN;
 import io.maestro3.agent.model.enums.ServerStateEnum;
@@ -33,7 +31,9 @@ import io.maestro3.agent.openstack.provider.OpenStackApiProvider;
 import io.maestro3.agent.service.IOpenStackMoveToVlanService;
 import io.maestro3.agent.service.IStaticIpService;
 import io.maestro3.agent.service.IVLANService;
+import io.maestro3.agent.service.RegionDbService;
 import io.maestro3.agent.service.ServerDbService;
+import io.maestro3.agent.service.TenantDbService;
 import io.maestro3.agent.util.UtilsReadableAssert;
 import io.maestro3.sdk.internal.util.CollectionUtils;
 import io.maestro3.sdk.v3.core.ActionType;
@@ -51,21 +51,21 @@ public class OsMoveInstanceToVLANHandler extends AbstractM3ApiHandler<MoveToDmzR
 
     private IVLANService vlanService;
     private IOpenStackMoveToVlanService openStackMoveToVlanService;
-    private IOpenStackRegionRepository regionRepository;
-    private IOpenStackTenantRepository tenantRepository;
+    private RegionDbService regionDbService;
+    private TenantDbService tenantDbService;
     private OpenStackApiProvider apiProvider;
     private ServerDbService serverDbService;
     private IStaticIpService staticIpService;
 
     @Autowired
     public OsMoveInstanceToVLANHandler(IVLANService vlanService, IOpenStackMoveToVlanService openStackMoveToVlanService,
-                                       IOpenStackRegionRepository regionRepository, IOpenStackTenantRepository tenantRepository,
+                                       RegionDbService regionDbService, TenantDbService tenantDbService,
                                        OpenStackApiProvider apiProvider, ServerDbService serverDbService, IStaticIpService staticIpService) {
         super(MoveToDmzRequest.class, ActionType.MOVE_VM_TO_VLAN);
         this.vlanService = vlanService;
         this.openStackMoveToVlanService = openStackMoveToVlanService;
-        this.regionRepository = regionRepository;
-        this.tenantRepository = tenantRepository;
+        this.regionDbService = regionDbService;
+        this.tenantDbService = tenantDbService;
         this.apiProvider = apiProvider;
         this.serverDbService = serverDbService;
         this.staticIpService = staticIpService;
@@ -78,11 +78,11 @@ public class OsMoveInstanceToVLANHandler extends AbstractM3ApiHandler<MoveToDmzR
 
     @Override
     public SdkVlanResponse handlePayload(ActionType type, MoveToDmzRequest request) {
-        OpenStackRegionConfig region = regionRepository.findByAliasInCloud(request.getRegion());
+        OpenStackRegionConfig region = regionDbService.findByAliasInCloud(request.getRegion());
         String tenantName = request.getTenantName();
         String regionId = region.getId();
 
-        OpenStackTenant tenant = tenantRepository.findByTenantAliasAndRegionIdInCloud(tenantName, regionId);
+        OpenStackTenant tenant = tenantDbService.findOpenStackTenantByNameAndRegion(tenantName, regionId);
         String instanceId = request.getInstanceId();
         String tenantId = tenant.getId();
 
@@ -18,8 +18,6 @@
 package io.maestro3.agent.api;
 
 import io.maestro3.agent.api.handler.AbstractM3ApiHandler;
-import io.maestro3.agent.dao.IOpenStackRegionRepository;
-import io.maestro3.agent.dao.IOpenStackTenantRepository;
 import io.maestro3.agent.exception.ReadableAgentException;
 import io.maestro3.agent.model.base.VLAN;
 import io.maestro3.agent.model.network.impl.vlan.OpenStackVLAN;
@@ -32,7 +30,9 @@ import io.maestro3.agent.openstack.exception.OSClientException;
 import io.maestro3.agent.openstack.provider.OpenStackApiProvider;
 import io.maestro3.agent.service.IOpenStackMoveToVlanService;
 import io.maestro3.agent.service.IVLANService;
+import io.maestro3.agent.service.RegionDbService;
 import io.maestro3.agent.service.ServerDbService;
+import io.maestro3.agent.service.TenantDbService;
 import io.maestro3.agent.util.UtilsReadableAssert;
 import io.maestro3.sdk.v3.core.ActionType;
 import io.maestro3.sdk.v3.model.SdkCloud;
@@ -49,20 +49,20 @@ public class OsMoveToDmzHandler extends AbstractM3ApiHandler<MoveToDmzRequest, S
 
     private IVLANService vlanService;
     private IOpenStackMoveToVlanService openStackMoveToVlanService;
-    private IOpenStackRegionRepository regionRepository;
-    private IOpenStackTenantRepository tenantRepository;
+    private RegionDbService regionDbService;
+    private TenantDbService tenantDbService;
     private OpenStackApiProvider apiProvider;
     private ServerDbService serverDbService;
 
     @Autowired
     public OsMoveToDmzHandler(IVLANService vlanService, IOpenStackMoveToVlanService openStackMoveToVlanService,
-                              IOpenStackRegionRepository regionRepository, IOpenStackTenantRepository tenantRepository,
+                              RegionDbService regionDbService, TenantDbService tenantDbService,
                               OpenStackApiProvider apiProvider, ServerDbService serverDbService) {
         super(MoveToDmzRequest.class, ActionType.MOVE_VM_TO_DMZ);
         this.vlanService = vlanService;
         this.openStackMoveToVlanService = openStackMoveToVlanService;
-        this.regionRepository = regionRepository;
-        this.tenantRepository = tenantRepository;
+        this.regionDbService = regionDbService;
+        this.tenantDbService = tenantDbService;
         this.apiProvider = apiProvider;
         this.serverDbService = serverDbService;
     }
@@ -76,11 +76,11 @@ public class OsMoveToDmzHandler extends AbstractM3ApiHandler<MoveToDmzRequest, S
     public SdkVlanResponse handlePayload(ActionType actionType, MoveToDmzRequest request) {
 
         String regionName = request.getRegion();
-        OpenStackRegionConfig region = regionRepository.findByAliasInCloud(request.getRegion());
+        OpenStackRegionConfig region = regionDbService.findByAliasInCloud(request.getRegion());
         String tenantName = request.getTenantName();
         String regionId = region.getId();
 
-        OpenStackTenant tenant = tenantRepository.findByTenantAliasAndRegionIdInCloud(tenantName, regionId);
+        OpenStackTenant tenant = tenantDbService.findOpenStackTenantByNameAndRegion(tenantName, regionId);
         String instanceId = request.getInstanceId();
         String tenantId = tenant.getId();
 
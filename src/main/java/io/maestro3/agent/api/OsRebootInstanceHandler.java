@@ -20,7 +20,6 @@ package io.maestro3.agent.api;
 import io.maestro3.agent.api.handler.IM3ApiHandler;
 import io.maestro3.agent.converter.M3ApiActionInverter;
 import io.maestro3.agent.converter.M3SDKModelConverter;
-import io.maestro3.agent.dao.IOpenStackRegionRepository;
 import io.maestro3.agent.exception.M3PrivateAgentException;
 import io.maestro3.agent.lock.Locker;
 import io.maestro3.agent.model.compute.RebootType;
@@ -31,6 +30,7 @@ import io.maestro3.agent.model.server.OpenStackServerConfig;
 import io.maestro3.agent.model.tenant.OpenStackTenant;
 import io.maestro3.agent.openstack.exception.OSClientException;
 import io.maestro3.agent.openstack.provider.OpenStackApiProvider;
+import io.maestro3.agent.service.RegionDbService;
 import io.maestro3.agent.service.ServerDbService;
 import io.maestro3.agent.service.TenantDbService;
 import io.maestro3.sdk.v3.core.ActionType;
@@ -54,9 +54,9 @@ import java.util.Set;
 public class OsRebootInstanceHandler extends AbstractInstanceHandler implements IM3ApiHandler {
 
     @Autowired
-    public OsRebootInstanceHandler(IOpenStackRegionRepository regionDbService, TenantDbService tenantDbService,
+    public OsRebootInstanceHandler(RegionDbService regionDbService, TenantDbService tenantDbService,
                                    ServerDbService serverDbService, OpenStackApiProvider openStackApiProvider,
-                                   @Qualifier("instanceLocker") Locker locker) {
+                                   @Qualifier("openStackInstanceLocker") Locker locker) {
         super(regionDbService, tenantDbService, serverDbService, openStackApiProvider, locker);
     }
 
@@ -18,13 +18,13 @@
 package io.maestro3.agent.api;
 
 import io.maestro3.agent.api.handler.AbstractM3ApiHandler;
-import io.maestro3.agent.dao.IOpenStackRegionRepository;
-import io.maestro3.agent.dao.IOpenStackTenantRepository;
 import io.maestro3.agent.model.region.OpenStackRegionConfig;
 import io.maestro3.agent.model.tenant.OpenStackTenant;
 import io.maestro3.agent.service.IOpenStackNetworkingProvider;
 import io.maestro3.agent.service.IServiceFactory;
 import io.maestro3.agent.service.IVirtOpenStackNetworkService;
+import io.maestro3.agent.service.RegionDbService;
+import io.maestro3.agent.service.TenantDbService;
 import io.maestro3.sdk.v3.core.ActionType;
 import io.maestro3.sdk.v3.model.SdkCloud;
 import io.maestro3.sdk.v3.request.agent.DeallocateStaticIpRequest;
@@ -34,23 +34,23 @@ import org.springframework.stereotype.Component;
 @Component
 public class OsReleaseIpHandler extends AbstractM3ApiHandler<DeallocateStaticIpRequest, Boolean> {
 
-    private IOpenStackRegionRepository regionRepository;
-    private IOpenStackTenantRepository tenantRepository;
+    private RegionDbService regionDbService;
+    private TenantDbService tenantDbService;
     private IServiceFactory<IOpenStackNetworkingProvider> networkingProviderFactory;
 
     @Autowired
-    public OsReleaseIpHandler(IOpenStackRegionRepository regionRepository, IOpenStackTenantRepository tenantRepository,
+    public OsReleaseIpHandler(RegionDbService regionDbService, TenantDbService tenantDbService,
                               IServiceFactory<IOpenStackNetworkingProvider> networkingProviderFactory) {
         super(DeallocateStaticIpRequest.class, ActionType.RELEASE_IP);
         this.networkingProviderFactory = networkingProviderFactory;
-        this.regionRepository = regionRepository;
-        this.tenantRepository = tenantRepository;
+        this.regionDbService = regionDbService;
+        this.tenantDbService = tenantDbService;
     }
 
     @Override
     public Boolean handlePayload(ActionType actionType, DeallocateStaticIpRequest request) {
-        OpenStackRegionConfig region = regionRepository.findByAliasInCloud(request.getRegion());
-        OpenStackTenant tenant = tenantRepository.findByTenantAliasAndRegionIdInCloud(request.getTenantName(), region.getId());
+        OpenStackRegionConfig region = regionDbService.findByAliasInCloud(request.getRegion());
+        OpenStackTenant tenant = tenantDbService.findOpenStackTenantByNameAndRegion(request.getTenantName(), region.getId());
         IOpenStackNetworkingProvider networkingProvider = networkingProviderFactory.get(region);
         IVirtOpenStackNetworkService networkService = networkingProvider.networkingService();
         return networkService.releaseStaticIp(tenant, request.getIp());
@@ -21,7 +21,6 @@ import com.google.common.io.BaseEncoding;
 import io.maestro3.agent.api.handler.IM3ApiHandler;
 import io.maestro3.agent.converter.M3ApiActionInverter;
 import io.maestro3.agent.converter.M3SDKModelConverter;
-import io.maestro3.agent.dao.IOpenStackRegionRepository;
 import io.maestro3.agent.exception.M3PrivateAgentException;
 import io.maestro3.agent.exception.ReadableAgentException;
 import io.maestro3.agent.lock.Locker;
@@ -49,6 +48,7 @@ import io.maestro3.agent.service.IOpenStackInstanceProvisioningValidationService
 import io.maestro3.agent.service.IOpenStackNetworkingProvider;
 import io.maestro3.agent.service.IServiceFactory;
 import io.maestro3.agent.service.MachineImageDbService;
+import io.maestro3.agent.service.RegionDbService;
 import io.maestro3.agent.service.ServerDbService;
 import io.maestro3.agent.service.TenantDbService;
 import io.maestro3.sdk.v3.core.ActionType;
@@ -79,10 +79,10 @@ public class OsRunInstanceHandler extends AbstractInstanceHandler implements IM3
     private final IServiceFactory<IOpenStackNetworkingProvider> networkingServiceFactory;
 
     @Autowired
-    public OsRunInstanceHandler(IOpenStackRegionRepository regionDbService, TenantDbService tenantDbService,
+    public OsRunInstanceHandler(RegionDbService regionDbService, TenantDbService tenantDbService,
                                 MachineImageDbService machineImageDbService,
                                 ServerDbService serverDbService, ResourceNameGenerator resourceNameGenerator,
-                                OpenStackApiProvider openStackApiProvider, @Qualifier("instanceLocker") Locker locker,
+                                OpenStackApiProvider openStackApiProvider, @Qualifier("openStackInstanceLocker") Locker locker,
                                 IServiceFactory<IOpenStackInstanceProvisioningValidationService> validationServiceFactory,
                                 IServiceFactory<IOpenStackNetworkingProvider> networkingServiceFactory) {
         super(regionDbService, tenantDbService, serverDbService, openStackApiProvider, locker);
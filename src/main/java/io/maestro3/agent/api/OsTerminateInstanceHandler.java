@@ -20,7 +20,6 @@ package io.maestro3.agent.api;
 import io.maestro3.agent.api.handler.IM3ApiHandler;
 import io.maestro3.agent.converter.M3ApiActionInverter;
 import io.maestro3.agent.converter.M3SDKModelConverter;
-import io.maestro3.agent.dao.IOpenStackRegionRepository;
 import io.maestro3.agent.exception.M3PrivateAgentException;
 import io.maestro3.agent.lock.Locker;
 import io.maestro3.agent.model.enums.ServerStateEnum;
@@ -32,6 +31,7 @@ import io.maestro3.agent.openstack.api.storage.bean.CinderVolume;
 import io.maestro3.agent.openstack.exception.OSClientException;
 import io.maestro3.agent.openstack.provider.OpenStackApiProvider;
 import io.maestro3.agent.service.DbServicesProvider;
+import io.maestro3.agent.service.RegionDbService;
 import io.maestro3.agent.service.ServerDbService;
 import io.maestro3.agent.service.TenantDbService;
 import io.maestro3.agent.service.VolumeDbService;
@@ -66,9 +66,9 @@ public class OsTerminateInstanceHandler extends AbstractInstanceHandler implemen
     private final long taskDelay;
 
     @Autowired
-    public OsTerminateInstanceHandler(IOpenStackRegionRepository regionDbService, TenantDbService tenantDbService,
+    public OsTerminateInstanceHandler(RegionDbService regionDbService, TenantDbService tenantDbService,
                                       ServerDbService serverDbService, OpenStackApiProvider openStackApiProvider,
-                                      @Qualifier("instanceLocker") Locker locker, ITaskExecutor taskExecutor,
+                                      @Qualifier("openStackInstanceLocker") Locker locker, ITaskExecutor taskExecutor,
                                       DbServicesProvider dbServicesProvider,
                                       @Value("${internal.task.delay.millis}") long taskDelay) {
         super(regionDbService, tenantDbService, serverDbService, openStackApiProvider, locker);
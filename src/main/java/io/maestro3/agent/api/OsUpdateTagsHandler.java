@@ -18,7 +18,6 @@
 package io.maestro3.agent.api;
 
 import io.maestro3.agent.api.handler.IM3ApiHandler;
-import io.maestro3.agent.dao.IOpenStackRegionRepository;
 import io.maestro3.agent.exception.M3PrivateAgentException;
 import io.maestro3.agent.lock.Locker;
 import io.maestro3.agent.model.lock.VoidOperation;
@@ -26,6 +25,7 @@ import io.maestro3.agent.model.region.OpenStackRegionConfig;
 import io.maestro3.agent.model.server.OpenStackServerConfig;
 import io.maestro3.agent.model.tenant.OpenStackTenant;
 import io.maestro3.agent.openstack.provider.OpenStackApiProvider;
+import io.maestro3.agent.service.RegionDbService;
 import io.maestro3.agent.service.ServerDbService;
 import io.maestro3.agent.service.TenantDbService;
 import io.maestro3.agent.util.TagUtils;
@@ -50,9 +50,9 @@ import java.util.Set;
 public class OsUpdateTagsHandler extends AbstractInstanceHandler implements IM3ApiHandler {
 
     @Autowired
-    public OsUpdateTagsHandler(IOpenStackRegionRepository regionDbService, TenantDbService tenantDbService,
+    public OsUpdateTagsHandler(RegionDbService regionDbService, TenantDbService tenantDbService,
                                ServerDbService serverDbService, OpenStackApiProvider openStackApiProvider,
-                               @Qualifier("instanceLocker") Locker locker) {
+                               @Qualifier("openStackInstanceLocker") Locker locker) {
         super(regionDbService, tenantDbService, serverDbService, openStackApiProvider, locker);
     }
 
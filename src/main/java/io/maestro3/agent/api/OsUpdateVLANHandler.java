@@ -28,6 +28,7 @@ import io.maestro3.agent.openstack.api.networking.bean.Network;
 import io.maestro3.agent.openstack.exception.OSClientException;
 import io.maestro3.agent.openstack.provider.OpenStackApiProvider;
 import io.maestro3.agent.service.IOpenStackVLANService;
+import io.maestro3.agent.service.impl.OpenStackConfigCache;
 import io.maestro3.agent.util.UtilsReadableAssert;
 import io.maestro3.sdk.internal.util.CollectionUtils;
 import io.maestro3.sdk.v3.core.ActionType;
@@ -56,15 +57,18 @@ public class OsUpdateVLANHandler extends AbstractM3ApiHandler<ManageVLANRequest,
     private IOpenStackRegionRepository regionRepository;
     private IOpenStackTenantRepository tenantRepository;
     private OpenStackApiProvider apiProvider;
+    private OpenStackConfigCache configCache;
 
     @Autowired
     public OsUpdateVLANHandler(IOpenStackVLANService openStackVLANService, IOpenStackRegionRepository regionRepository,
-                               IOpenStackTenantRepository tenantRepository, OpenStackApiProvider apiProvider) {
+                               IOpenStackTenantRepository tenantRepository, OpenStackApiProvider apiProvider,
+                               OpenStackConfigCache configCache) {
         super(ManageVLANRequest.class, ActionType.UPDATE_VLAN);
         this.openStackVLANService = openStackVLANService;
         this.regionRepository = regionRepository;
         this.tenantRepository = tenantRepository;
         this.apiProvider = apiProvider;
+        this.configCache = configCache;
     }
 
     @Override
@@ -100,6 +104,7 @@ public class OsUpdateVLANHandler extends AbstractM3ApiHandler<ManageVLANRequest,
         Set<SdkVlanUpdateInfo> updateZoneVLANsResult = updateZoneVLANs(region, oldNetworkId, newNetworkId);
         tenantRepository.updateProjectsNetworkId(region.getId(), oldNetworkId, newNetworkId);
         Set<SdkVlanUpdateInfo> updateVLANsResult = updateVLANs(region, oldNetworkId, newNetworkId);
+        configCache.invalidate();
         return Stream.of(updateZoneVLANsResult, updateVLANsResult)
             .flatMap(Collection::stream)
             .collect(Collectors.toList());
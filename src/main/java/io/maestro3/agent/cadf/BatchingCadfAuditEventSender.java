@@ -0,0 +1,291 @@
+/*
+ * Copyright 2023 Maestro Cloud Control LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.maestro3.agent.cadf;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.maestro3.agent.amqp.Headers;
+import io.maestro3.agent.amqp.IntegrationChannels;
+import io.maestro3.agent.amqp.transformer.GzipTransformer;
+import io.maestro3.agent.dao.CadfOutboxDao;
+import io.maestro3.agent.model.audit.CadfOutboxEntry;
+import io.maestro3.cadf.model.CadfAuditEvent;
+import io.maestro3.sdk.internal.util.CollectionUtils;
+import io.maestro3.sdk.v3.model.audit.AuditEventGroupType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+
+/**
+ * Sends CADF audit events in batches: events are queued per {@link AuditEventGroupType} and published as one zipped
+ * AMQP message with a json array of events once the batch is full or the flush interval passes.
+ * <p>
+ * The in-memory outbox is bounded; events that do not fit into it, and batches that fail to publish, are spilled to
+ * Mongo and published later, so callers never wait for the billing backend. Spilled events are claimed with a lease
+ * before publishing, so replicas sharing the outbox do not publish them twice. When batching is disabled events are
+ * passed to {@link CadfAuditEventSender} one by one, as before.
+ */
+@Component
+public class BatchingCadfAuditEventSender {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BatchingCadfAuditEventSender.class);
+
+    private static final String EVENTS_COUNT_HEADER = "eventsCount";
+
+    private final CadfAuditEventSender eventSender;
+    private final CadfOutboxDao outboxDao;
+    private final GzipTransformer gzipTransformer;
+    private final MessageChannel outboundChannel;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    // claims spilled entries so that replicas sharing the outbox do not publish the same events
+    private final String outboxOwner = UUID.randomUUID().toString();
+    private final Map<AuditEventGroupType, Queue<String>> outbox = new EnumMap<>(AuditEventGroupType.class);
+    private final AtomicInteger outboxSize = new AtomicInteger();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ExecutorService flusher;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int outboxCapacity;
+    private final long publishTimeoutMillis;
+    private final long spilledLeaseMillis;
+
+    @Autowired
+    public BatchingCadfAuditEventSender(CadfAuditEventSender eventSender, CadfOutboxDao outboxDao,
+                                        GzipTransformer gzipTransformer,
+                                        @Qualifier(IntegrationChannels.Outbound.PLAIN) MessageChannel outboundChannel,
+                                        @Value("${agent.cadf.batch.enabled:false}") boolean enabled,
+                                        @Value("${agent.cadf.batch.size:200}") int batchSize,
+                                        @Value("${agent.cadf.outbox.capacity:10000}") int outboxCapacity,
+                                        @Value("${agent.cadf.batch.publish.timeout.millis:10000}") long publishTimeoutMillis,
+                                        @Value("${agent.cadf.outbox.lease.millis:300000}") long spilledLeaseMillis) {
+        this.eventSender = eventSender;
+        this.outboxDao = outboxDao;
+        this.gzipTransformer = gzipTransformer;
+        this.outboundChannel = outboundChannel;
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.outboxCapacity = Math.max(this.batchSize, outboxCapacity);
+        this.publishTimeoutMillis = publishTimeoutMillis;
+        this.spilledLeaseMillis = spilledLeaseMillis;
+        for (AuditEventGroupType group : AuditEventGroupType.values()) {
+            outbox.put(group, new ConcurrentLinkedQueue<>());
+        }
+        this.flusher = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+            .setNameFormat("cadf-batch-flusher")
+            .setDaemon(true)
+            .build());
+    }
+
+    /**
+     * Queues the event for every given group. Never blocks on the message broker.
+     *
+     * @param event       event to send
+     * @param eventGroups groups the event is sent to
+     */
+    public void sendCadfAuditEvent(CadfAuditEvent event, List<AuditEventGroupType> eventGroups) {
+        if (!enabled) {
+            eventSender.sendCadfAuditEvent(event, eventGroups);
+            return;
+        }
+        String eventJson;
+        try {
+            eventJson = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            LOG.error("Failed to serialize CADF event, sending it directly: {}", e.getMessage());
+            eventSender.sendCadfAuditEvent(event, eventGroups);
+            return;
+        }
+        List<CadfOutboxEntry> overflow = new ArrayList<>();
+        for (AuditEventGroupType group : eventGroups) {
+            if (outboxSize.incrementAndGet() > outboxCapacity) {
+                outboxSize.decrementAndGet();
+                overflow.add(new CadfOutboxEntry(group, eventJson));
+                continue;
+            }
+            Queue<String> queue = outbox.get(group);
+            queue.add(eventJson);
+            if (queue.size() >= batchSize) {
+                requestFlush();
+            }
+        }
+        spill(overflow);
+    }
+
+    @Scheduled(fixedDelayString = "${agent.cadf.batch.flush.millis:1000}")
+    public void flushPeriodically() {
+        if (enabled) {
+            requestFlush();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdownNow();
+        List<CadfOutboxEntry> remaining = new ArrayList<>();
+        outbox.forEach((group, queue) -> {
+            String eventJson;
+            while ((eventJson = queue.poll()) != null) {
+                remaining.add(new CadfOutboxEntry(group, eventJson));
+            }
+        });
+        spill(remaining);
+    }
+
+    private void requestFlush() {
+        if (flushRequested.compareAndSet(false, true)) {
+            try {
+                flusher.execute(this::flush);
+            } catch (RuntimeException e) {
+                flushRequested.set(false);
+            }
+        }
+    }
+
+    private void flush() {
+        flushRequested.set(false);
+        boolean published = true;
+        for (Map.Entry<AuditEventGroupType, Queue<String>> groupQueue : outbox.entrySet()) {
+            List<String> batch;
+            while (published && !(batch = poll(groupQueue.getValue())).isEmpty()) {
+                published = publish(groupQueue.getKey(), batch);
+                if (!published) {
+                    spill(batch.stream()
+                        .map(eventJson -> new CadfOutboxEntry(groupQueue.getKey(), eventJson))
+                        .collect(Collectors.toList()));
+                }
+            }
+        }
+        if (published && outboxSize.get() < outboxCapacity / 2) {
+            publishSpilled();
+        }
+    }
+
+    private List<String> poll(Queue<String> queue) {
+        List<String> batch = new ArrayList<>(batchSize);
+        String eventJson;
+        while (batch.size() < batchSize && (eventJson = queue.poll()) != null) {
+            batch.add(eventJson);
+        }
+        outboxSize.addAndGet(-batch.size());
+        return batch;
+    }
+
+    private void publishSpilled() {
+        List<CadfOutboxEntry> spilled;
+        try {
+            spilled = outboxDao.claimOldest(outboxOwner, batchSize * AuditEventGroupType.values().length,
+                spilledLeaseMillis);
+        } catch (Exception e) {
+            LOG.error("Failed to read spilled CADF events: {}", e.getMessage());
+            return;
+        }
+        if (CollectionUtils.isEmpty(spilled)) {
+            return;
+        }
+        Map<AuditEventGroupType, List<CadfOutboxEntry>> byGroup = spilled.stream()
+            .collect(Collectors.groupingBy(CadfOutboxEntry::getEventGroup));
+        List<String> unpublishedIds = new ArrayList<>();
+        for (Map.Entry<AuditEventGroupType, List<CadfOutboxEntry>> groupEntries : byGroup.entrySet()) {
+            List<String> ids = groupEntries.getValue().stream()
+                .map(CadfOutboxEntry::getId)
+                .collect(Collectors.toList());
+            if (!unpublishedIds.isEmpty()) {
+                unpublishedIds.addAll(ids);
+                continue;
+            }
+            List<String> batch = groupEntries.getValue().stream()
+                .map(CadfOutboxEntry::getEventJson)
+                .collect(Collectors.toList());
+            if (!publish(groupEntries.getKey(), batch)) {
+                unpublishedIds.addAll(ids);
+                continue;
+            }
+            try {
+                outboxDao.deleteClaimed(outboxOwner, ids);
+            } catch (Exception e) {
+                LOG.error("Failed to delete published CADF event(s), they are published again after the lease: {}",
+                    e.getMessage());
+            }
+        }
+        if (!unpublishedIds.isEmpty()) {
+            try {
+                outboxDao.releaseClaimed(outboxOwner, unpublishedIds);
+            } catch (Exception e) {
+                LOG.error("Failed to release spilled CADF event(s), they wait for the lease to expire: {}",
+                    e.getMessage());
+            }
+            return;
+        }
+        LOG.info("Published {} spilled CADF event(s)", spilled.size());
+    }
+
+    private boolean publish(AuditEventGroupType group, List<String> batch) {
+        try {
+            byte[] payload = gzipTransformer.zipPayload("[" + String.join(",", batch) + "]");
+            if (payload == null) {
+                return false;
+            }
+            boolean sent = outboundChannel.send(MessageBuilder.withPayload(payload)
+                .setHeader(Headers.ZIPPED, GzipTransformer.ZIPPED_HEADER_VALUE)
+                .setHeader(Headers.EVENT_GROUP, group.name())
+                .setHeader(EVENTS_COUNT_HEADER, batch.size())
+                .build(), publishTimeoutMillis);
+            if (!sent) {
+                LOG.warn("Timed out publishing {} CADF event(s) of group {}", batch.size(), group);
+            }
+            return sent;
+        } catch (Exception e) {
+            LOG.error("Failed to publish " + batch.size() + " CADF event(s) of group " + group + ": " + e.getMessage(), e);
+            return false;
+        }
+    }
+
+    private void spill(List<CadfOutboxEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        try {
+            outboxDao.saveAll(entries);
+            LOG.warn("Spilled {} CADF event(s) to Mongo", entries.size());
+        } catch (Exception e) {
+            LOG.error("Failed to spill " + entries.size() + " CADF event(s), they are lost: " + e.getMessage(), e);
+        }
+    }
+}
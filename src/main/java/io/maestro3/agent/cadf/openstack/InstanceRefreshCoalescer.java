@@ -0,0 +1,116 @@
+/*
+ * Copyright 2023 Maestro Cloud Control LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.maestro3.agent.cadf.openstack;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Merges instance state refreshes requested by bursts of notifications.
+ * <p>
+ * The first request for an instance schedules a refresh at the end of the coalescing window; requests that arrive
+ * before it runs replace the pending refresh instead of adding another one, so a burst of events for one instance
+ * results in a single OpenStack call and a single DB write made with the latest data.
+ */
+@Component
+public class InstanceRefreshCoalescer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(InstanceRefreshCoalescer.class);
+
+    private final Map<String, Runnable> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+    private final long windowMillis;
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicLong executed = new AtomicLong();
+
+    public InstanceRefreshCoalescer(@Value("${openstack.notifications.refresh.coalesce.window.millis:3000}") long windowMillis,
+                                    @Value("${openstack.notifications.refresh.threads:2}") int threads) {
+        this.windowMillis = windowMillis;
+        this.scheduler = Executors.newScheduledThreadPool(Math.max(1, threads), new ThreadFactoryBuilder()
+            .setNameFormat("os-instance-refresh-%d")
+            .setDaemon(true)
+            .build());
+    }
+
+    /**
+     * Schedules the refresh of the instance, replacing the one already pending for it.
+     *
+     * @param instanceId native id of the instance
+     * @param refresh    refresh of the instance state
+     */
+    public void refresh(String instanceId, Runnable refresh) {
+        requested.incrementAndGet();
+        if (windowMillis <= 0) {
+            execute(instanceId, refresh);
+            return;
+        }
+        if (pending.put(instanceId, refresh) != null) {
+            return;
+        }
+        try {
+            scheduler.schedule(() -> {
+                Runnable latest = pending.remove(instanceId);
+                if (latest != null) {
+                    execute(instanceId, latest);
+                }
+            }, windowMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            pending.remove(instanceId);
+            LOG.warn("Refresh of instance {} was rejected: coalescer is shut down", instanceId);
+        }
+    }
+
+    public long getRequestedCount() {
+        return requested.get();
+    }
+
+    public long getExecutedCount() {
+        return executed.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        if (!pending.isEmpty()) {
+            LOG.warn("{} pending instance refresh(es) were dropped on shutdown", pending.size());
+        }
+    }
+
+    private void execute(String instanceId, Runnable refresh) {
+        executed.incrementAndGet();
+        try {
+            refresh.run();
+        } catch (Exception e) {
+            LOG.error("Failed to refresh instance " + instanceId + ": " + e.getMessage(), e);
+        }
+        LOG.debug("Instance refreshes: {} requested, {} executed", requested.get(), executed.get());
+    }
+}
@@ -18,7 +18,6 @@
 package io.maestro3.agent.cadf.openstack.converter;
 
 import io.maestro3.agent.cadf.openstack.CadfUtils;
-import io.maestro3.agent.dao.IOpenStackRegionRepository;
 import io.maestro3.agent.model.base.PlatformType;
 import io.maestro3.agent.model.image.OpenStackMachineImage;
 import io.maestro3.agent.model.notification.EventType;
@@ -26,6 +25,7 @@ import io.maestro3.agent.model.notification.Notification;
 import io.maestro3.agent.model.region.OpenStackRegionConfig;
 import io.maestro3.agent.model.tenant.OpenStackTenant;
 import io.maestro3.agent.service.DbServicesProvider;
+import io.maestro3.agent.service.RegionDbService;
 import io.maestro3.sdk.internal.util.DateUtils;
 import io.maestro3.sdk.internal.util.StringUtils;
 import io.maestro3.sdk.v3.model.audit.AuditEventGroupType;
@@ -63,13 +63,13 @@ public class ImageEventCadfConverter extends AbstractEventCadfConverter {
     private static final String STRING_CONTENT_TYPE = CadfUtils.STRING_CONTENT_TYPE;
 
     private final DbServicesProvider dbServicesProvider;
-    private final IOpenStackRegionRepository regionService;
+    private final RegionDbService regionDbService;
 
     @Autowired
     private ImageEventCadfConverter(DbServicesProvider dbServicesProvider,
-                                    IOpenStackRegionRepository regionService) {
+                                    RegionDbService regionDbService) {
         this.dbServicesProvider = dbServicesProvider;
-        this.regionService = regionService;
+        this.regionDbService = regionDbService;
     }
 
     @Override
@@ -84,7 +84,7 @@ public class ImageEventCadfConverter extends AbstractEventCadfConverter {
 
         OpenStackTenant tenantConfig = dbServicesProvider.getTenantDbService().findOpenStackTenantByNativeId(tenantId);
         if (tenantConfig != null) {
-            OpenStackRegionConfig regionConfig = regionService.findByIdInCloud(tenantConfig.getRegionId());
+            OpenStackRegionConfig regionConfig = regionDbService.findByIdInCloud(tenantConfig.getRegionId());
 
             Map<String, Object> propertiesMap = (Map<String, Object>) payload.get("properties");
             String osType = (String) propertiesMap.get("os_type");
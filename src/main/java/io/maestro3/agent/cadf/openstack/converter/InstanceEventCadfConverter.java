@@ -18,10 +18,10 @@
 package io.maestro3.agent.cadf.openstack.converter;
 
 import io.maestro3.agent.cadf.openstack.CadfUtils;
+import io.maestro3.agent.cadf.openstack.InstanceRefreshCoalescer;
 import io.maestro3.agent.cadf.openstack.OpenStackEventTypeActionMapping;
 import io.maestro3.agent.converter.OpenStackServerStateDetector;
 import io.maestro3.agent.dao.IInstanceRunRecordDao;
-import io.maestro3.agent.dao.IOpenStackRegionRepository;
 import io.maestro3.agent.exception.M3PrivateAgentException;
 import io.maestro3.agent.model.base.InstanceRunRecord;
 import io.maestro3.agent.model.base.ShapeConfig;
@@ -39,6 +39,7 @@ import io.maestro3.agent.model.tenant.OpenStackTenant;
 import io.maestro3.agent.openstack.exception.OSClientException;
 import io.maestro3.agent.openstack.provider.OpenStackApiProvider;
 import io.maestro3.agent.service.DbServicesProvider;
+import io.maestro3.agent.service.RegionDbService;
 import io.maestro3.sdk.internal.util.CollectionUtils;
 import io.maestro3.sdk.internal.util.DateUtils;
 import io.maestro3.sdk.internal.util.StringUtils;
@@ -87,26 +88,29 @@ public class InstanceEventCadfConverter extends AbstractEventCadfConverter {
 
     private final DbServicesProvider dbServicesProvider;
     private final OpenStackApiProvider apiProvider;
-    private final IOpenStackRegionRepository regionService;
+    private final RegionDbService regionDbService;
     private final IInstanceRunRecordDao instanceRunRecordDao;
+    private final InstanceRefreshCoalescer refreshCoalescer;
 
 
     @Autowired
     public InstanceEventCadfConverter(DbServicesProvider dbServicesProvider,
-                                      IOpenStackRegionRepository regionService,
+                                      RegionDbService regionDbService,
                                       OpenStackApiProvider apiProvider,
-                                      IInstanceRunRecordDao instanceRunRecordDao) {
+                                      IInstanceRunRecordDao instanceRunRecordDao,
+                                      InstanceRefreshCoalescer refreshCoalescer) {
         this.dbServicesProvider = dbServicesProvider;
         this.instanceRunRecordDao = instanceRunRecordDao;
-        this.regionService = regionService;
+        this.regionDbService = regionDbService;
         this.apiProvider = apiProvider;
+        this.refreshCoalescer = refreshCoalescer;
     }
 
     @Override
     public CadfAuditEvent doConvert(ICadfAction action, Notification notification) {
         String tenantId = (String) notification.getPayload().get("tenant_id");
         OpenStackTenant tenantConfig = dbServicesProvider.getTenantDbService().findOpenStackTenantByNativeId(tenantId);
-        OpenStackRegionConfig regionConfig = regionService.findByIdInCloud(tenantConfig.getRegionId());
+        OpenStackRegionConfig regionConfig = regionDbService.findByIdInCloud(tenantConfig.getRegionId());
 
         String instanceId = (String) notification.getPayload().get("instance_id");
 
@@ -114,7 +118,9 @@ public class InstanceEventCadfConverter extends AbstractEventCadfConverter {
             .findServerByNativeId(tenantConfig.getRegionId(), tenantConfig.getId(), instanceId);
 
         if (server != null) {
-            updateDbServerConfigState(regionConfig, tenantConfig, server);
+            // a burst of events for one instance results in a single refresh made after the last of them;
+            // the refresh reads its own copy of the server, the one above is only used to build the event
+            refreshCoalescer.refresh(instanceId, () -> refreshServer(regionConfig, tenantConfig, instanceId));
         }
 
         Date date = DateUtils.parseDate(notification.getTimestamp(), NOTIFICATION_TIMESTAMP_DATE_FORMAT);
@@ -155,6 +161,14 @@ public class InstanceEventCadfConverter extends AbstractEventCadfConverter {
             .build();
     }
 
+    private void refreshServer(OpenStackRegionConfig regionConfig, OpenStackTenant tenantConfig, String instanceId) {
+        OpenStackServerConfig server = dbServicesProvider.getServerDbService()
+            .findServerByNativeId(tenantConfig.getRegionId(), tenantConfig.getId(), instanceId);
+        if (server != null) {
+            updateDbServerConfigState(regionConfig, tenantConfig, server);
+        }
+    }
+
     private void updateDbServerConfigState(OpenStackRegionConfig regionConfig, OpenStackTenant tenantConfig,
                                            OpenStackServerConfig dbServer) {
         try {
@@ -213,14 +227,10 @@ public class InstanceEventCadfConverter extends AbstractEventCadfConverter {
     private List<CadfAttachment> resolveAttachments(Notification notification, OpenStackServerConfig server, OpenStackTenant tenantConfig, OpenStackRegionConfig regionConfig, ShapeConfig config, OpenStackMachineImage image, ICadfAction cadfAction) {
         List<CadfAttachment> result = new ArrayList<>();
 
-        String privateIp;
-        if (server != null) {
+        // the stored address is refreshed only after the event is sent, so the one from the notification goes first
+        String privateIp = extractPrivateIp(notification);
+        if (privateIp == null && server != null && server.getNetworkInterfaceInfo() != null) {
             privateIp = server.getNetworkInterfaceInfo().getPrivateIP();
-            if (privateIp == null) {
-                privateIp = extractPrivateIp(notification);
-            }
-        } else {
-            privateIp = extractPrivateIp(notification);
         }
 
         CadfAttachment cadfAttachment = new CadfAttachment<>("string", "type");
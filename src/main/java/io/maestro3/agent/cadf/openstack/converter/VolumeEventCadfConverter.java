@@ -18,7 +18,6 @@
 package io.maestro3.agent.cadf.openstack.converter;
 
 import io.maestro3.agent.cadf.openstack.CadfUtils;
-import io.maestro3.agent.dao.IOpenStackRegionRepository;
 import io.maestro3.agent.exception.M3PrivateAgentException;
 import io.maestro3.agent.model.notification.EventType;
 import io.maestro3.agent.model.notification.Notification;
@@ -30,6 +29,7 @@ import io.maestro3.agent.openstack.api.storage.bean.CinderVolumeAttachment;
 import io.maestro3.agent.openstack.exception.OSClientException;
 import io.maestro3.agent.openstack.provider.OpenStackApiProvider;
 import io.maestro3.agent.service.DbServicesProvider;
+import io.maestro3.agent.service.RegionDbService;
 import io.maestro3.agent.service.VolumeDbService;
 import io.maestro3.sdk.internal.util.DateUtils;
 import io.maestro3.sdk.v3.model.audit.AuditEventGroupType;
@@ -65,13 +65,13 @@ public class VolumeEventCadfConverter extends AbstractEventCadfConverter {
 
     private final DbServicesProvider dbServicesProvider;
     private final OpenStackApiProvider apiProvider;
-    private final IOpenStackRegionRepository regionService;
+    private final RegionDbService regionDbService;
 
     @Autowired
     public VolumeEventCadfConverter(DbServicesProvider dbServicesProvider,
-                                    IOpenStackRegionRepository regionService,
+                                    RegionDbService regionDbService,
                                     OpenStackApiProvider apiProvider) {
-        this.regionService = regionService;
+        this.regionDbService = regionDbService;
         this.dbServicesProvider = dbServicesProvider;
         this.apiProvider = apiProvider;
     }
@@ -83,7 +83,7 @@ public class VolumeEventCadfConverter extends AbstractEventCadfConverter {
         String tenantId = (String) payload.get("tenant_id");
 
         OpenStackTenant tenantConfig = dbServicesProvider.getTenantDbService().findOpenStackTenantByNativeId(tenantId);
-        OpenStackRegionConfig regionConfig = regionService.findByIdInCloud(tenantConfig.getRegionId());
+        OpenStackRegionConfig regionConfig = regionDbService.findByIdInCloud(tenantConfig.getRegionId());
 
         String volumeId = (String) payload.get("volume_id");
 
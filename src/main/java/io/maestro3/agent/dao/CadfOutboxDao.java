@@ -0,0 +1,52 @@
+/*
+ * Copyright 2023 Maestro Cloud Control LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.maestro3.agent.dao;
+
+import io.maestro3.agent.model.audit.CadfOutboxEntry;
+
+import java.util.Collection;
+import java.util.List;
+
+
+public interface CadfOutboxDao {
+
+    void saveAll(Collection<CadfOutboxEntry> entries);
+
+    /**
+     * Claims up to {@code limit} oldest entries that are not claimed or whose lease has expired. Entries claimed
+     * concurrently by another node are skipped, so fewer entries may be returned.
+     *
+     * @param owner       id of the claiming node
+     * @param limit       max number of entries to claim
+     * @param leaseMillis how long the entries stay claimed by the owner
+     * @return claimed entries, oldest first
+     */
+    List<CadfOutboxEntry> claimOldest(String owner, int limit, long leaseMillis);
+
+    long count();
+
+    /**
+     * Deletes the entries that are still claimed by the owner.
+     */
+    void deleteClaimed(String owner, Collection<String> ids);
+
+    /**
+     * Returns the entries claimed by the owner back to the outbox.
+     */
+    void releaseClaimed(String owner, Collection<String> ids);
+}
@@ -26,4 +26,6 @@ public interface IOpenStackRegionRepository extends IRegionRepository<OpenStackR
 
     List<OpenStackRegionConfig> findAllOSRegionsAvailableForDescribers();
 
+    String getCollectionName();
+
 }
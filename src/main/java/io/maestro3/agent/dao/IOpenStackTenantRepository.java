@@ -32,4 +32,6 @@ public interface IOpenStackTenantRepository extends ITenantRepository<OpenStackT
     void updateProjectsNetworkId(String regionId, String oldNetworkId, String newNetworkId);
 
     Collection<OpenStackTenant> findProjectsWithSecurityMode(String regionId, String modeName);
+
+    String getCollectionName();
 }
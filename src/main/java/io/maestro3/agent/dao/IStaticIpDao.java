@@ -34,6 +34,8 @@ public interface IStaticIpDao {
 
     void update(StaticIpAddress staticIpAddress);
 
+    void updateAll(Collection<? extends StaticIpAddress> staticIpAddresses);
+
     void delete(String id);
 
     List<StaticIpAddress> findStaticIpAddresses(String zoneId, String projectId, List<String> ipAddresses, DomainType domainType, List<String> instanceIds);
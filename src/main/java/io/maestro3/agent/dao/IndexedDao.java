@@ -0,0 +1,35 @@
+/*
+ * Copyright 2023 Maestro Cloud Control LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.maestro3.agent.dao;
+
+import org.springframework.data.mongodb.core.index.Index;
+
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * DAO that declares the indexes its queries rely on. They are created at startup by the index manager.
+ */
+public interface IndexedDao {
+
+    /**
+     * @return required indexes by collection name
+     */
+    Map<String, List<Index>> getRequiredIndexes();
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2023 Maestro Cloud Control LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.maestro3.agent.dao;
+
+
+public interface LockLeaseDao {
+
+    /**
+     * Takes the lease if it is free, expired or already held by the owner.
+     *
+     * @return lease token of the taken lease or null if it is held by someone else
+     */
+    Long tryAcquire(String lockName, String owner, long leaseMillis);
+
+    /**
+     * @return false if the lease has been lost
+     */
+    boolean renew(String lockName, String owner, long leaseToken, long leaseMillis);
+
+    /**
+     * @return false if the lease was not held by the owner with this lease token any more
+     */
+    boolean release(String lockName, String owner, long leaseToken);
+}
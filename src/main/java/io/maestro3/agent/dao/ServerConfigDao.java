@@ -19,6 +19,7 @@ package io.maestro3.agent.dao;
 
 import io.maestro3.agent.model.enums.ServerStateEnum;
 import io.maestro3.agent.model.general.ServerConfig;
+import io.maestro3.agent.model.server.ServerConfigUpdate;
 
 import java.util.Collection;
 import java.util.List;
@@ -33,6 +34,11 @@ public interface ServerConfigDao {
 
     void updateServerConfig(String dbId, ServerStateEnum serverStateEnum, String ipAddress, Set<String> volumeIps, Boolean runSuccess);
 
+    /**
+     * Applies all updates with a single unordered bulk write.
+     */
+    void updateServerConfigs(Collection<ServerConfigUpdate> updates);
+
     void insertServers(Collection<ServerConfig> serverConfig);
 
     ServerConfig findServer(String regionId, String tenantId, String nameAlias);
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2023 Maestro Cloud Control LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.maestro3.agent.dao.impl;
+
+import io.maestro3.agent.dao.AgentNodeDao;
+import io.maestro3.agent.dao.IndexedDao;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.Assert;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+
+@Repository
+public class AgentNodeDaoImpl implements AgentNodeDao, IndexedDao {
+
+    private final static String COLLECTION_NAME = "AgentNodes";
+    private final static String HEARTBEAT_FIELD = "lastHeartbeat";
+    // nodes that crashed without unregistering are removed by Mongo once their heartbeat is this old
+    private final static long DEAD_NODE_EXPIRE_HOURS = 1;
+
+    private MongoOperations mongoOperations;
+    // heartbeats are written and judged by the Mongo server clock, so nodes with skewed clocks agree on liveness
+    private MongoServerClock serverClock;
+
+    public AgentNodeDaoImpl(@Autowired MongoOperations mongoOperations, @Autowired MongoServerClock serverClock) {
+        this.mongoOperations = mongoOperations;
+        this.serverClock = serverClock;
+    }
+
+    @Override
+    public Map<String, List<Index>> getRequiredIndexes() {
+        return Collections.singletonMap(COLLECTION_NAME, Collections.singletonList(
+            new Index(HEARTBEAT_FIELD, Sort.Direction.ASC).expire(DEAD_NODE_EXPIRE_HOURS, TimeUnit.HOURS)));
+    }
+
+    @Override
+    public void heartbeat(String nodeId) {
+        Assert.hasText(nodeId, "nodeId cannot be null or empty");
+
+        mongoOperations.upsert(Query.query(Criteria.where("_id").is(nodeId)),
+            new Update().currentDate(HEARTBEAT_FIELD), COLLECTION_NAME);
+    }
+
+    @Override
+    public List<String> findNodeIdsAliveWithin(long ttlMillis) {
+        Assert.isTrue(ttlMillis > 0, "ttlMillis must be positive");
+
+        Date since = new Date(serverClock.now().getTime() - ttlMillis);
+        Query query = Query.query(Criteria.where(HEARTBEAT_FIELD).gte(since));
+        query.fields().include("_id");
+        return mongoOperations.find(query, Document.class, COLLECTION_NAME).stream()
+            .map(document -> document.getString("_id"))
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public void deleteNode(String nodeId) {
+        Assert.hasText(nodeId, "nodeId cannot be null or empty");
+
+        mongoOperations.remove(Query.query(Criteria.where("_id").is(nodeId)), COLLECTION_NAME);
+    }
+}
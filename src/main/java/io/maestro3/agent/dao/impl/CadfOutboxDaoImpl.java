@@ -0,0 +1,154 @@
+/*
+ * Copyright 2023 Maestro Cloud Control LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.maestro3.agent.dao.impl;
+
+import io.maestro3.agent.dao.CadfOutboxDao;
+import io.maestro3.agent.dao.IndexedDao;
+import io.maestro3.agent.model.audit.CadfOutboxEntry;
+import io.maestro3.sdk.internal.util.CollectionUtils;
+import io.maestro3.sdk.v3.model.audit.AuditEventGroupType;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+
+@Repository
+public class CadfOutboxDaoImpl implements CadfOutboxDao, IndexedDao {
+
+    private final static String COLLECTION_NAME = "CadfOutbox";
+    private final static String EVENT_GROUP_FIELD = "eventGroup";
+    private final static String EVENT_FIELD = "event";
+    private final static String CREATED_FIELD = "created";
+    private final static String OWNER_FIELD = "owner";
+    private final static String LEASE_UNTIL_FIELD = "leaseUntil";
+
+    private MongoOperations mongoOperations;
+    // leases are measured by the Mongo server clock, so nodes with skewed clocks do not steal live claims
+    private MongoServerClock serverClock;
+
+    public CadfOutboxDaoImpl(@Autowired MongoOperations mongoOperations, @Autowired MongoServerClock serverClock) {
+        this.mongoOperations = mongoOperations;
+        this.serverClock = serverClock;
+    }
+
+    @Override
+    public Map<String, List<Index>> getRequiredIndexes() {
+        return Collections.singletonMap(COLLECTION_NAME, Collections.singletonList(
+            new Index(CREATED_FIELD, Sort.Direction.ASC)));
+    }
+
+    @Override
+    public void saveAll(Collection<CadfOutboxEntry> entries) {
+        if (CollectionUtils.isEmpty(entries)) {
+            return;
+        }
+        Date created = new Date();
+        List<Document> documents = entries.stream()
+            .map(entry -> new Document(EVENT_GROUP_FIELD, entry.getEventGroup().name())
+                .append(EVENT_FIELD, entry.getEventJson())
+                .append(CREATED_FIELD, created))
+            .collect(Collectors.toList());
+        mongoOperations.getCollection(COLLECTION_NAME).insertMany(documents);
+    }
+
+    @Override
+    public List<CadfOutboxEntry> claimOldest(String owner, int limit, long leaseMillis) {
+        Date now = serverClock.now();
+        Criteria claimable = new Criteria().orOperator(
+            Criteria.where(OWNER_FIELD).exists(false),
+            Criteria.where(LEASE_UNTIL_FIELD).lt(now));
+        Query candidatesQuery = Query.query(claimable)
+            .with(Sort.by(Sort.Direction.ASC, CREATED_FIELD, "_id"))
+            .limit(limit);
+        candidatesQuery.fields().include("_id");
+        List<ObjectId> candidateIds = mongoOperations.find(candidatesQuery, Document.class, COLLECTION_NAME).stream()
+            .map(document -> document.getObjectId("_id"))
+            .collect(Collectors.toList());
+        if (candidateIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // candidates taken by another node in the meantime no longer match the claimable criteria
+        Date leaseUntil = new Date(now.getTime() + leaseMillis);
+        Query claimQuery = Query.query(Criteria.where("_id").in(candidateIds).andOperator(claimable));
+        Update update = new Update()
+            .set(OWNER_FIELD, owner)
+            .set(LEASE_UNTIL_FIELD, leaseUntil);
+        if (mongoOperations.updateMulti(claimQuery, update, COLLECTION_NAME).getModifiedCount() == 0) {
+            return Collections.emptyList();
+        }
+
+        Query claimedQuery = Query.query(Criteria.where("_id").in(candidateIds)
+                .and(OWNER_FIELD).is(owner)
+                .and(LEASE_UNTIL_FIELD).is(leaseUntil))
+            .with(Sort.by(Sort.Direction.ASC, CREATED_FIELD, "_id"));
+        return mongoOperations.find(claimedQuery, Document.class, COLLECTION_NAME).stream()
+            .map(CadfOutboxDaoImpl::toEntry)
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public long count() {
+        return mongoOperations.count(new Query(), COLLECTION_NAME);
+    }
+
+    @Override
+    public void deleteClaimed(String owner, Collection<String> ids) {
+        if (CollectionUtils.isEmpty(ids)) {
+            return;
+        }
+        mongoOperations.remove(claimedQuery(owner, ids), COLLECTION_NAME);
+    }
+
+    @Override
+    public void releaseClaimed(String owner, Collection<String> ids) {
+        if (CollectionUtils.isEmpty(ids)) {
+            return;
+        }
+        mongoOperations.updateMulti(claimedQuery(owner, ids),
+            new Update().unset(OWNER_FIELD).unset(LEASE_UNTIL_FIELD), COLLECTION_NAME);
+    }
+
+    private static Query claimedQuery(String owner, Collection<String> ids) {
+        List<ObjectId> objectIds = ids.stream()
+            .map(ObjectId::new)
+            .collect(Collectors.toList());
+        return Query.query(Criteria.where("_id").in(objectIds).and(OWNER_FIELD).is(owner));
+    }
+
+    private static CadfOutboxEntry toEntry(Document document) {
+        CadfOutboxEntry entry = new CadfOutboxEntry(
+            AuditEventGroupType.valueOf(document.getString(EVENT_GROUP_FIELD)), document.getString(EVENT_FIELD));
+        entry.setId(document.getObjectId("_id").toHexString());
+        return entry;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2023 Maestro Cloud Control LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.maestro3.agent.dao.impl;
+
+import io.maestro3.agent.dao.ConfigVersionDao;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.Assert;
+
+
+@Repository
+public class ConfigVersionDaoImpl implements ConfigVersionDao {
+
+    private final static String COLLECTION_NAME = "ConfigVersions";
+    private final static String VERSION_FIELD = "version";
+
+    private MongoOperations mongoOperations;
+
+    public ConfigVersionDaoImpl(@Autowired MongoOperations mongoOperations) {
+        this.mongoOperations = mongoOperations;
+    }
+
+    @Override
+    public long getVersion(String key) {
+        Assert.hasText(key, "key cannot be null or empty");
+
+        Document document = mongoOperations.findOne(byKey(key), Document.class, COLLECTION_NAME);
+        return toVersion(document);
+    }
+
+    @Override
+    public long incrementVersion(String key) {
+        Assert.hasText(key, "key cannot be null or empty");
+
+        Document document = mongoOperations.findAndModify(byKey(key), new Update().inc(VERSION_FIELD, 1L),
+            FindAndModifyOptions.options().upsert(true).returnNew(true), Document.class, COLLECTION_NAME);
+        return toVersion(document);
+    }
+
+    private static Query byKey(String key) {
+        return Query.query(Criteria.where("_id").is(key));
+    }
+
+    private static long toVersion(Document document) {
+        if (document == null) {
+            return 0L;
+        }
+        Number version = document.get(VERSION_FIELD, Number.class);
+        return version == null ? 0L : version.longValue();
+    }
+}
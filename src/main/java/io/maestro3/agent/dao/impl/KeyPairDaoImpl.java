@@ -17,18 +17,25 @@
 
 package io.maestro3.agent.dao.impl;
 
+import io.maestro3.agent.dao.IndexedDao;
 import io.maestro3.agent.dao.KeyPairDao;
 import io.maestro3.agent.model.general.KeyPair;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.index.Index;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.Assert;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
 
 @Repository
-public class KeyPairDaoImpl implements KeyPairDao {
+public class KeyPairDaoImpl implements KeyPairDao, IndexedDao {
 
     private final static String COLLECTION_NAME = "KeyPairs";
 
@@ -38,6 +45,12 @@ public class KeyPairDaoImpl implements KeyPairDao {
         this.mongoOperations = mongoOperations;
     }
 
+    @Override
+    public Map<String, List<Index>> getRequiredIndexes() {
+        return Collections.singletonMap(COLLECTION_NAME, Collections.singletonList(
+            new Index("tenantId", Sort.Direction.ASC).on("nameAlias", Sort.Direction.ASC)));
+    }
+
     @Override
     public KeyPair findByNameForProject(String keyName, String tenantId) {
         Assert.hasLength(keyName, "keyName cannot be null or empty");
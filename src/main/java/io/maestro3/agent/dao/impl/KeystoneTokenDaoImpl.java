@@ -0,0 +1,84 @@
+/*
+ * Copyright 2023 Maestro Cloud Control LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.maestro3.agent.dao.impl;
+
+import io.maestro3.agent.dao.IndexedDao;
+import io.maestro3.agent.dao.KeystoneTokenDao;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.Assert;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+
+@Repository
+public class KeystoneTokenDaoImpl implements KeystoneTokenDao, IndexedDao {
+
+    private final static String COLLECTION_NAME = "KeystoneTokens";
+    private final static String PAYLOAD_FIELD = "payload";
+    private final static String EXPIRES_AT_FIELD = "expiresAt";
+
+    private MongoOperations mongoOperations;
+
+    public KeystoneTokenDaoImpl(@Autowired MongoOperations mongoOperations) {
+        this.mongoOperations = mongoOperations;
+    }
+
+    @Override
+    public Map<String, List<Index>> getRequiredIndexes() {
+        return Collections.singletonMap(COLLECTION_NAME, Collections.singletonList(
+            new Index(EXPIRES_AT_FIELD, Sort.Direction.ASC).expire(0, TimeUnit.SECONDS)));
+    }
+
+    @Override
+    public void save(String scopeKey, String payload, Date expiresAt) {
+        Assert.hasText(scopeKey, "scopeKey cannot be null or empty");
+        Assert.hasText(payload, "payload cannot be null or empty");
+        Assert.notNull(expiresAt, "expiresAt cannot be null");
+
+        mongoOperations.upsert(Query.query(Criteria.where("_id").is(scopeKey)),
+            Update.update(PAYLOAD_FIELD, payload).set(EXPIRES_AT_FIELD, expiresAt), COLLECTION_NAME);
+    }
+
+    @Override
+    public String findPayload(String scopeKey) {
+        Assert.hasText(scopeKey, "scopeKey cannot be null or empty");
+
+        Query query = Query.query(Criteria.where("_id").is(scopeKey).and(EXPIRES_AT_FIELD).gt(new Date()));
+        Document document = mongoOperations.findOne(query, Document.class, COLLECTION_NAME);
+        return document == null ? null : document.getString(PAYLOAD_FIELD);
+    }
+
+    @Override
+    public void delete(String scopeKey) {
+        Assert.hasText(scopeKey, "scopeKey cannot be null or empty");
+
+        mongoOperations.remove(Query.query(Criteria.where("_id").is(scopeKey)), COLLECTION_NAME);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2023 Maestro Cloud Control LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.maestro3.agent.dao.impl;
+
+import io.maestro3.agent.dao.LockLeaseDao;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.Assert;
+
+import java.util.Date;
+
+
+@Repository
+public class LockLeaseDaoImpl implements LockLeaseDao {
+
+    private final static String COLLECTION_NAME = "LockLeases";
+    private final static String OWNER_FIELD = "owner";
+    private final static String LEASE_TOKEN_FIELD = "leaseToken";
+    private final static String EXPIRES_AT_FIELD = "expiresAt";
+
+    private MongoOperations mongoOperations;
+    // lease expiration is measured by the Mongo server clock, so nodes with skewed clocks agree on it
+    private MongoServerClock serverClock;
+
+    public LockLeaseDaoImpl(@Autowired MongoOperations mongoOperations, @Autowired MongoServerClock serverClock) {
+        this.mongoOperations = mongoOperations;
+        this.serverClock = serverClock;
+    }
+
+    @Override
+    public Long tryAcquire(String lockName, String owner, long leaseMillis) {
+        Assert.hasText(lockName, "lockName cannot be null or empty");
+        Assert.hasText(owner, "owner cannot be null or empty");
+
+        Date now = serverClock.now();
+        Criteria criteria = Criteria.where("_id").is(lockName)
+            .orOperator(Criteria.where(EXPIRES_AT_FIELD).lt(now), Criteria.where(OWNER_FIELD).is(owner));
+        Update update = new Update()
+            .set(OWNER_FIELD, owner)
+            .set(EXPIRES_AT_FIELD, new Date(now.getTime() + leaseMillis))
+            .inc(LEASE_TOKEN_FIELD, 1L);
+        try {
+            Document lease = mongoOperations.findAndModify(Query.query(criteria), update,
+                FindAndModifyOptions.options().upsert(true).returnNew(true), Document.class, COLLECTION_NAME);
+            return lease != null ? ((Number) lease.get(LEASE_TOKEN_FIELD)).longValue() : null;
+        } catch (DuplicateKeyException e) {
+            // lease exists and is held by another owner, so the upsert collided with it
+            return null;
+        }
+    }
+
+    @Override
+    public boolean renew(String lockName, String owner, long leaseToken, long leaseMillis) {
+        Update update = Update.update(EXPIRES_AT_FIELD, new Date(serverClock.now().getTime() + leaseMillis));
+        return mongoOperations.updateFirst(heldBy(lockName, owner, leaseToken), update, COLLECTION_NAME)
+            .getMatchedCount() > 0;
+    }
+
+    @Override
+    public boolean release(String lockName, String owner, long leaseToken) {
+        // the document is kept so the lease token keeps growing for the next owner
+        Update update = Update.update(EXPIRES_AT_FIELD, new Date(0)).unset(OWNER_FIELD);
+        return mongoOperations.updateFirst(heldBy(lockName, owner, leaseToken), update, COLLECTION_NAME)
+            .getMatchedCount() > 0;
+    }
+
+    private static Query heldBy(String lockName, String owner, long leaseToken) {
+        return Query.query(Criteria.where("_id").is(lockName)
+            .and(OWNER_FIELD).is(owner)
+            .and(LEASE_TOKEN_FIELD).is(leaseToken));
+    }
+}
@@ -17,22 +17,28 @@
 
 package io.maestro3.agent.dao.impl;
 
+import io.maestro3.agent.dao.IndexedDao;
 import io.maestro3.agent.dao.MachineImageDao;
 import io.maestro3.agent.model.base.PrivateCloudType;
 import io.maestro3.agent.model.general.MachineImage;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.index.Index;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.CriteriaDefinition;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.Assert;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 
 @Repository
-public class MachineImageDaoImpl implements MachineImageDao {
+public class MachineImageDaoImpl implements MachineImageDao, IndexedDao {
 
     private final static String COLLECTION_NAME = "MachineImages";
 
@@ -42,6 +48,14 @@ public class MachineImageDaoImpl implements MachineImageDao {
         this.mongoOperations = mongoOperations;
     }
 
+    @Override
+    public Map<String, List<Index>> getRequiredIndexes() {
+        return Collections.singletonMap(COLLECTION_NAME, Arrays.asList(
+            new Index("regionId", Sort.Direction.ASC).on("tenantId", Sort.Direction.ASC),
+            new Index("regionId", Sort.Direction.ASC).on("nameAlias", Sort.Direction.ASC),
+            new Index("nativeId", Sort.Direction.ASC)));
+    }
+
     @Override
     public MachineImage findByAliasForProject(String imageNameAlias, String tenantId, String regionId) {
         Assert.hasLength(imageNameAlias, "imageNameAlias cannot be null or empty");
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2023 Maestro Cloud Control LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.maestro3.agent.dao.impl;
+
+import io.maestro3.agent.dao.IndexedDao;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Creates indexes declared by all {@link IndexedDao}s at startup. Creating an existing index is a no-op, so this is
+ * safe to run on every node; a failed index is logged and does not prevent startup.
+ */
+@Component
+public class MongoIndexManager {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MongoIndexManager.class);
+
+    private final MongoOperations mongoOperations;
+    private final List<IndexedDao> indexedDaos;
+    private final boolean enabled;
+
+    @Autowired
+    public MongoIndexManager(MongoOperations mongoOperations, List<IndexedDao> indexedDaos,
+                             @Value("${mongo.indexes.ensure.on.startup:true}") boolean enabled) {
+        this.mongoOperations = mongoOperations;
+        this.indexedDaos = indexedDaos;
+        this.enabled = enabled;
+    }
+
+    @PostConstruct
+    public void ensureIndexes() {
+        if (!enabled) {
+            LOG.info("Index creation on startup is disabled");
+            return;
+        }
+        long started = System.currentTimeMillis();
+        int count = 0;
+        for (IndexedDao dao : indexedDaos) {
+            for (Map.Entry<String, List<Index>> collectionIndexes : dao.getRequiredIndexes().entrySet()) {
+                IndexOperations indexOperations = mongoOperations.indexOps(collectionIndexes.getKey());
+                for (Index index : collectionIndexes.getValue()) {
+                    try {
+                        indexOperations.ensureIndex(index);
+                        count++;
+                    } catch (Exception e) {
+                        LOG.error("Failed to create index " + index.getIndexKeys() + " on " + collectionIndexes.getKey()
+                            + ": " + e.getMessage(), e);
+                    }
+                }
+            }
+        }
+        LOG.info("Ensured {} index(es) of {} DAO(s) in {} ms", count, indexedDaos.size(), System.currentTimeMillis() - started);
+    }
+}
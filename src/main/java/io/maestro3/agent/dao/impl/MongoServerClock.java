@@ -0,0 +1,65 @@
+/*
+ * Copyright 2023 Maestro Cloud Control LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.maestro3.agent.dao.impl;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+
+
+/**
+ * Estimates the Mongo server clock from the isMaster {@code localTime}, so timestamps compared across agent
+ * nodes do not depend on how well the node clocks are synchronized.
+ */
+@Component
+public class MongoServerClock {
+
+    private final static long SYNC_PERIOD_MILLIS = 60_000;
+
+    private MongoOperations mongoOperations;
+    private volatile long offsetMillis;
+    private volatile long syncedAt;
+
+    public MongoServerClock(@Autowired MongoOperations mongoOperations) {
+        this.mongoOperations = mongoOperations;
+    }
+
+    public Date now() {
+        if (System.currentTimeMillis() - syncedAt > SYNC_PERIOD_MILLIS) {
+            sync();
+        }
+        return new Date(System.currentTimeMillis() + offsetMillis);
+    }
+
+    private synchronized void sync() {
+        long requested = System.currentTimeMillis();
+        if (requested - syncedAt <= SYNC_PERIOD_MILLIS) {
+            return;
+        }
+        Document reply = mongoOperations.executeCommand(new Document("isMaster", 1));
+        long received = System.currentTimeMillis();
+        Date serverTime = reply.getDate("localTime");
+        if (serverTime != null) {
+            offsetMillis = serverTime.getTime() - (requested + received) / 2;
+        }
+        syncedAt = received;
+    }
+}
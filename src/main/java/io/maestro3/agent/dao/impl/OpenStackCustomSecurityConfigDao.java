@@ -18,14 +18,19 @@
 package io.maestro3.agent.dao.impl;
 
 import io.maestro3.agent.dao.IOpenStackCustomSecurityConfigDao;
+import io.maestro3.agent.dao.IndexedDao;
 import io.maestro3.agent.model.network.Direction;
 import io.maestro3.agent.model.network.SecurityConfigType;
 import io.maestro3.agent.model.network.impl.SecurityGroupExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.index.Index;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static org.springframework.data.mongodb.core.query.Criteria.where;
@@ -33,12 +38,18 @@ import static org.springframework.data.mongodb.core.query.Query.query;
 
 
 @Service
-public class OpenStackCustomSecurityConfigDao extends CustomSecurityConfigDao<SecurityGroupExtension> implements IOpenStackCustomSecurityConfigDao {
+public class OpenStackCustomSecurityConfigDao extends CustomSecurityConfigDao<SecurityGroupExtension> implements IOpenStackCustomSecurityConfigDao, IndexedDao {
 
     public OpenStackCustomSecurityConfigDao() {
         super(SecurityGroupExtension.class, SecurityConfigType.OPEN_STACK);
     }
 
+    @Override
+    public Map<String, List<Index>> getRequiredIndexes() {
+        return Collections.singletonMap(COLLECTION_NAME, Collections.singletonList(
+            new Index("type", Sort.Direction.ASC).on("zoneId", Sort.Direction.ASC).on("direction", Sort.Direction.ASC)));
+    }
+
     @Override
     public List<SecurityGroupExtension> find(Set<String> zoneIds, Direction direction) {
         Assert.notEmpty(zoneIds, "zoneIds can't be null or empty.");
@@ -18,25 +18,39 @@
 package io.maestro3.agent.dao.impl;
 
 import io.maestro3.agent.dao.IOpenStackProjectCustomSecurityGroupDao;
+import io.maestro3.agent.dao.IndexedDao;
 import io.maestro3.agent.model.network.SecurityConfigType;
 import io.maestro3.agent.model.network.impl.OpenStackProjectCustomSecurityGroup;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.index.Index;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
 
 @Service
 public class OpenStackProjectCustomSecurityGroupDao extends CustomSecurityConfigDao<OpenStackProjectCustomSecurityGroup>
-    implements IOpenStackProjectCustomSecurityGroupDao {
+    implements IOpenStackProjectCustomSecurityGroupDao, IndexedDao {
 
     public OpenStackProjectCustomSecurityGroupDao() {
         super(OpenStackProjectCustomSecurityGroup.class, SecurityConfigType.OPEN_STACK_PROJECT_CUSTOM);
     }
 
+    @Override
+    public Map<String, List<Index>> getRequiredIndexes() {
+        return Collections.singletonMap(COLLECTION_NAME, Arrays.asList(
+            new Index("type", Sort.Direction.ASC).on("projectId", Sort.Direction.ASC).on("name", Sort.Direction.ASC),
+            new Index("type", Sort.Direction.ASC).on("projectId", Sort.Direction.ASC).on("instanceIds", Sort.Direction.ASC)));
+    }
+
     @Override
     public OpenStackProjectCustomSecurityGroup find(String projectId, String name) {
         Assert.hasText(projectId, "projectId can not be null or empty");
@@ -19,28 +19,44 @@ package io.maestro3.agent.dao.impl;
 
 import io.maestro3.agent.dao.BaseRegionDao;
 import io.maestro3.agent.dao.IOpenStackRegionRepository;
+import io.maestro3.agent.dao.IndexedDao;
 import io.maestro3.agent.model.base.PrivateCloudType;
 import io.maestro3.agent.model.region.OpenStackRegionConfig;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 
 @Repository
-public class OpenStackRegionRepository extends BaseRegionDao<OpenStackRegionConfig> implements IOpenStackRegionRepository {
+public class OpenStackRegionRepository extends BaseRegionDao<OpenStackRegionConfig> implements IOpenStackRegionRepository, IndexedDao {
 
     @Autowired
     public OpenStackRegionRepository(MongoTemplate template) {
         super(template, PrivateCloudType.OPEN_STACK);
     }
 
+    @Override
+    public Map<String, List<Index>> getRequiredIndexes() {
+        return Collections.singletonMap(COLLECTION, Collections.singletonList(
+            new Index("enableScheduledDescribers", Sort.Direction.ASC)));
+    }
+
     @Override
     public List<OpenStackRegionConfig> findAllOSRegionsAvailableForDescribers() {
         Criteria criteria = Criteria.where("enableScheduledDescribers").is(true);
         return template.find(Query.query(criteria), OpenStackRegionConfig.class, COLLECTION);
     }
+
+    @Override
+    public String getCollectionName() {
+        return COLLECTION;
+    }
 }
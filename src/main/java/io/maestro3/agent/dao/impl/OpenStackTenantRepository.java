@@ -19,31 +19,46 @@ package io.maestro3.agent.dao.impl;
 
 import io.maestro3.agent.dao.BaseTenantDao;
 import io.maestro3.agent.dao.IOpenStackTenantRepository;
+import io.maestro3.agent.dao.IndexedDao;
 import io.maestro3.agent.model.base.PrivateCloudType;
 import io.maestro3.agent.model.tenant.OpenStackTenant;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.Assert;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.springframework.data.mongodb.core.query.Criteria.where;
 import static org.springframework.data.mongodb.core.query.Query.query;
 
 
 @Repository
-public class OpenStackTenantRepository extends BaseTenantDao<OpenStackTenant> implements IOpenStackTenantRepository {
+public class OpenStackTenantRepository extends BaseTenantDao<OpenStackTenant> implements IOpenStackTenantRepository, IndexedDao {
 
     @Autowired
     public OpenStackTenantRepository(MongoTemplate template) {
         super(template, PrivateCloudType.OPEN_STACK);
     }
 
+    @Override
+    public Map<String, List<Index>> getRequiredIndexes() {
+        return Collections.singletonMap(COLLECTION, Arrays.asList(
+            new Index("regionId", Sort.Direction.ASC).on("cloud", Sort.Direction.ASC).on("nameAlias", Sort.Direction.ASC),
+            new Index("nativeId", Sort.Direction.ASC).on("cloud", Sort.Direction.ASC),
+            new Index("regionId", Sort.Direction.ASC).on("networkId", Sort.Direction.ASC),
+            new Index("regionId", Sort.Direction.ASC).on("securityMode", Sort.Direction.ASC)));
+    }
+
     @Override
     public OpenStackTenant findByNativeId(String nativeId) {
         Assert.hasLength(nativeId, "nativeId cannot be null or empty");
@@ -82,4 +97,9 @@ public class OpenStackTenantRepository extends BaseTenantDao<OpenStackTenant> im
         Criteria criteria = where("regionId").is(regionId).and("securityMode").is(modeName);
         return template.find(query(criteria), OpenStackTenant.class, COLLECTION);
     }
+
+    @Override
+    public String getCollectionName() {
+        return COLLECTION;
+    }
 }
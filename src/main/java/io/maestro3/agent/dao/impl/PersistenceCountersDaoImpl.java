@@ -17,11 +17,14 @@
 
 package io.maestro3.agent.dao.impl;
 
+import io.maestro3.agent.dao.IndexedDao;
 import io.maestro3.agent.dao.PersistenceCountersDao;
 import io.maestro3.agent.model.enums.CounterType;
 import io.maestro3.agent.model.general.PersistenceCounter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.index.Index;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.CriteriaDefinition;
 import org.springframework.data.mongodb.core.query.Query;
@@ -29,9 +32,13 @@ import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.Assert;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
 
 @Repository
-public class PersistenceCountersDaoImpl implements PersistenceCountersDao {
+public class PersistenceCountersDaoImpl implements PersistenceCountersDao, IndexedDao {
 
     private final static String COLLECTION_NAME = "PersistenceCounters";
 
@@ -41,6 +48,12 @@ public class PersistenceCountersDaoImpl implements PersistenceCountersDao {
         this.mongoOperations = mongoOperations;
     }
 
+    @Override
+    public Map<String, List<Index>> getRequiredIndexes() {
+        return Collections.singletonMap(COLLECTION_NAME, Collections.singletonList(
+            new Index("counterType", Sort.Direction.ASC).on("counterBoundResourceId", Sort.Direction.ASC)));
+    }
+
     @Override
     public void save(PersistenceCounter counter) {
         Assert.notNull(counter, "counter cannot be null");
@@ -17,14 +17,19 @@
 
 package io.maestro3.agent.dao.impl;
 
+import io.maestro3.agent.dao.IndexedDao;
 import io.maestro3.agent.dao.ServerConfigDao;
 import io.maestro3.agent.model.enums.ServerStateEnum;
 import io.maestro3.agent.model.general.ServerConfig;
+import io.maestro3.agent.model.server.ServerConfigUpdate;
 import io.maestro3.sdk.internal.util.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
 import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.index.Index;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.CriteriaDefinition;
 import org.springframework.data.mongodb.core.query.Query;
@@ -32,14 +37,16 @@ import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.Assert;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 
 @Repository
-public class ServerConfigDaoImpl implements ServerConfigDao {
+public class ServerConfigDaoImpl implements ServerConfigDao, IndexedDao {
 
     private final static String COLLECTION_NAME = "ServerConfigs";
 
@@ -49,6 +56,14 @@ public class ServerConfigDaoImpl implements ServerConfigDao {
         this.mongoOperations = mongoOperations;
     }
 
+    @Override
+    public Map<String, List<Index>> getRequiredIndexes() {
+        return Collections.singletonMap(COLLECTION_NAME, Arrays.asList(
+            new Index("regionId", Sort.Direction.ASC).on("tenantId", Sort.Direction.ASC).on("state", Sort.Direction.ASC),
+            new Index("regionId", Sort.Direction.ASC).on("tenantId", Sort.Direction.ASC).on("nativeId", Sort.Direction.ASC),
+            new Index("regionId", Sort.Direction.ASC).on("tenantId", Sort.Direction.ASC).on("nameAlias", Sort.Direction.ASC)));
+    }
+
     @Override
     public void saveServerConfig(ServerConfig serverConfig) {
         Assert.notNull(serverConfig, "keyName cannot be null");
@@ -61,16 +76,9 @@ public class ServerConfigDaoImpl implements ServerConfigDao {
         Assert.notNull(dbId, "keyName cannot be null");
         Assert.notNull(serverStateEnum, "keyName cannot be null");
 
-        Query searchQuery = Query.query(Criteria.where("_id").is(new ObjectId(dbId)));
-        Update update = Update.update("state", serverStateEnum);
+        Update update = toUpdate(serverStateEnum, ipAddress, runSuccess);
         update.set("attachedVolumes", volumeIps);
-        if (StringUtils.isNotBlank(ipAddress)) {
-            update.set("networkInterfaceInfo.privateIP", ipAddress);
-        }
-        if (runSuccess != null) {
-            update.set("instanceRunSuccess", runSuccess);
-        }
-        mongoOperations.updateFirst(searchQuery, update, COLLECTION_NAME);
+        mongoOperations.updateFirst(byId(dbId), update, COLLECTION_NAME);
     }
 
     @Override
@@ -78,7 +86,33 @@ public class ServerConfigDaoImpl implements ServerConfigDao {
         Assert.notNull(dbId, "keyName cannot be null");
         Assert.notNull(serverStateEnum, "keyName cannot be null");
 
-        Query searchQuery = Query.query(Criteria.where("_id").is(new ObjectId(dbId)));
+        mongoOperations.updateFirst(byId(dbId), toUpdate(serverStateEnum, ipAddress, runSuccess), COLLECTION_NAME);
+    }
+
+    @Override
+    public void updateServerConfigs(Collection<ServerConfigUpdate> updates) {
+        if (CollectionUtils.isEmpty(updates)) {
+            return;
+        }
+        BulkOperations bulkOperations = mongoOperations.bulkOps(BulkOperations.BulkMode.UNORDERED, COLLECTION_NAME);
+        for (ServerConfigUpdate serverUpdate : updates) {
+            Assert.notNull(serverUpdate.getDbId(), "dbId cannot be null");
+            Assert.notNull(serverUpdate.getState(), "state cannot be null");
+
+            Update update = toUpdate(serverUpdate.getState(), serverUpdate.getIpAddress(), serverUpdate.getRunSuccess());
+            if (serverUpdate.getAttachedVolumes() != null) {
+                update.set("attachedVolumes", serverUpdate.getAttachedVolumes());
+            }
+            bulkOperations.updateOne(byId(serverUpdate.getDbId()), update);
+        }
+        bulkOperations.execute();
+    }
+
+    private static Query byId(String dbId) {
+        return Query.query(Criteria.where("_id").is(new ObjectId(dbId)));
+    }
+
+    private static Update toUpdate(ServerStateEnum serverStateEnum, String ipAddress, Boolean runSuccess) {
         Update update = Update.update("state", serverStateEnum);
         if (StringUtils.isNotBlank(ipAddress)) {
             update.set("networkInterfaceInfo.privateIP", ipAddress);
@@ -86,7 +120,7 @@ public class ServerConfigDaoImpl implements ServerConfigDao {
         if (runSuccess != null) {
             update.set("instanceRunSuccess", runSuccess);
         }
-        mongoOperations.updateFirst(searchQuery, update, COLLECTION_NAME);
+        return update;
     }
 
     @Override
@@ -20,6 +20,7 @@ package io.maestro3.agent.dao.impl;
 import com.google.common.collect.Lists;
 import io.maestro3.agent.dao.BaseDao;
 import io.maestro3.agent.dao.IStaticIpDao;
+import io.maestro3.agent.dao.IndexedDao;
 import io.maestro3.agent.model.network.impl.DomainType;
 import io.maestro3.agent.model.network.impl.ip.IPState;
 import io.maestro3.agent.model.network.impl.ip.OpenStackPort;
@@ -27,7 +28,10 @@ import io.maestro3.agent.model.network.impl.ip.StaticIpAddress;
 import io.maestro3.agent.model.tenant.OpenStackTenant;
 import io.maestro3.sdk.internal.util.CollectionUtils;
 import io.maestro3.sdk.internal.util.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoOperations;
 import org.springframework.data.mongodb.core.index.Index;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
@@ -36,7 +40,9 @@ import org.springframework.util.Assert;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -45,17 +51,44 @@ import static org.springframework.data.mongodb.core.query.Query.query;
 
 
 @Repository
-public class StaticIpDao extends BaseDao<StaticIpAddress> implements IStaticIpDao {
+public class StaticIpDao extends BaseDao<StaticIpAddress> implements IStaticIpDao, IndexedDao {
 
     public static final String COLLECTION_NAME = "StaticIPs";
 
+    @Autowired
+    private MongoOperations mongoOperations;
+
     public StaticIpDao() {
         super(COLLECTION_NAME, StaticIpAddress.class);
     }
 
     public void ensureIndexes() {
-        this.ensureIndex(new Index("zoneId", Sort.Direction.ASC).on("tenantId", Sort.Direction.ASC).on("ipAddress", Sort.Direction.ASC).unique());
-        this.ensureIndex(new Index("zoneId", Sort.Direction.ASC).on("tenantId", Sort.Direction.ASC).on("instanceId", Sort.Direction.ASC).on("ipAddress", Sort.Direction.ASC));
+        getRequiredIndexes().get(COLLECTION_NAME).forEach(this::ensureIndex);
+    }
+
+    @Override
+    public Map<String, List<Index>> getRequiredIndexes() {
+        return Collections.singletonMap(COLLECTION_NAME, Arrays.asList(
+            new Index("zoneId", Sort.Direction.ASC).on("tenantId", Sort.Direction.ASC).on("ipAddress", Sort.Direction.ASC).unique(),
+            new Index("zoneId", Sort.Direction.ASC).on("tenantId", Sort.Direction.ASC).on("instanceId", Sort.Direction.ASC).on("ipAddress", Sort.Direction.ASC),
+            new Index("zoneId", Sort.Direction.ASC).on("tenantId", Sort.Direction.ASC).on("portId", Sort.Direction.ASC),
+            new Index("zoneId", Sort.Direction.ASC).on("tenantId", Sort.Direction.ASC).on("reservedBy", Sort.Direction.ASC),
+            new Index("zoneId", Sort.Direction.ASC).on("ipState", Sort.Direction.ASC),
+            new Index("tenantId", Sort.Direction.ASC).on("instanceId", Sort.Direction.ASC)));
+    }
+
+    @Override
+    public void updateAll(Collection<? extends StaticIpAddress> staticIpAddresses) {
+        if (CollectionUtils.isEmpty(staticIpAddresses)) {
+            return;
+        }
+        BulkOperations bulkOperations = mongoOperations.bulkOps(BulkOperations.BulkMode.UNORDERED,
+            StaticIpAddress.class, COLLECTION_NAME);
+        for (StaticIpAddress staticIpAddress : staticIpAddresses) {
+            Assert.hasText(staticIpAddress.getId(), "staticIpAddress.id cannot be null or empty.");
+            bulkOperations.replaceOne(query(where("_id").is(staticIpAddress.getId())), staticIpAddress);
+        }
+        bulkOperations.execute();
     }
 
     public List<StaticIpAddress> findStaticIpAddresses(String zoneId, String tenantId, List<String> ipAddresses, DomainType domainType, List<String> instanceIds) {
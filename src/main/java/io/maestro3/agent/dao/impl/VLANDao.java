@@ -18,19 +18,25 @@
 package io.maestro3.agent.dao.impl;
 
 import io.maestro3.agent.dao.IVLANDao;
+import io.maestro3.agent.dao.IndexedDao;
 import io.maestro3.agent.model.base.VLAN;
 import io.maestro3.agent.model.tenant.OpenStackTenant;
 import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.index.Index;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.Assert;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -38,7 +44,7 @@ import static org.springframework.data.mongodb.core.query.Criteria.where;
 import static org.springframework.data.mongodb.core.query.Query.query;
 
 @Repository
-public class VLANDao implements IVLANDao {
+public class VLANDao implements IVLANDao, IndexedDao {
 
     public static final String COLLECTION_NAME = "VLANs";
 
@@ -48,6 +54,16 @@ public class VLANDao implements IVLANDao {
         this.mongoOperations = mongoOperations;
     }
 
+    @Override
+    public Map<String, List<Index>> getRequiredIndexes() {
+        return Collections.singletonMap(COLLECTION_NAME, Arrays.asList(
+            new Index("regionId", Sort.Direction.ASC).on("tenantId", Sort.Direction.ASC),
+            new Index("regionId", Sort.Direction.ASC).on("operationalSearchId", Sort.Direction.ASC),
+            new Index("regionId", Sort.Direction.ASC).on("openStackNetworkId", Sort.Direction.ASC),
+            new Index("tenantId", Sort.Direction.ASC),
+            new Index("name", Sort.Direction.ASC)));
+    }
+
     public void save(VLAN object) {
         Assert.notNull(object, "object can't be null.");
         mongoOperations.save(object, COLLECTION_NAME);
@@ -17,32 +17,52 @@
 
 package io.maestro3.agent.dao.impl;
 
+import io.maestro3.agent.dao.IndexedDao;
 import io.maestro3.agent.dao.VolumeDao;
 import io.maestro3.agent.openstack.api.storage.bean.CinderVolume;
 import io.maestro3.sdk.internal.util.CollectionUtils;
-import io.maestro3.sdk.internal.util.JsonUtils;
 import io.maestro3.cadf.util.Assert;
 import com.mongodb.client.MongoCollection;
-import com.mongodb.client.model.DeleteOneModel;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.DeleteManyModel;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
 import com.mongodb.client.model.ReplaceOneModel;
 import com.mongodb.client.model.ReplaceOptions;
 import com.mongodb.client.model.WriteModel;
 import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.FindAndReplaceOptions;
 import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.index.Index;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Repository;
 
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 
 @Repository
-public class VolumeDaoImpl implements VolumeDao {
+public class VolumeDaoImpl implements VolumeDao, IndexedDao {
 
     private static final String COLLECTION_NAME = "Volumes";
+    private static final String CONTENT_HASH_FIELD = "contentHash";
+    private static final DocumentCodec DOCUMENT_CODEC = new DocumentCodec();
 
     private MongoOperations mongoOperations;
 
@@ -51,6 +71,13 @@ public class VolumeDaoImpl implements VolumeDao {
         this.mongoOperations = mongoOperations;
     }
 
+    @Override
+    public Map<String, List<Index>> getRequiredIndexes() {
+        return Collections.singletonMap(COLLECTION_NAME, Arrays.asList(
+            new Index("tenant", Sort.Direction.ASC).on("region", Sort.Direction.ASC),
+            new Index("id", Sort.Direction.ASC)));
+    }
+
     @Override
     public void save(CinderVolume volume) {
         Assert.notNull(volume, "Volume cannot be null");
@@ -64,15 +91,26 @@ public class VolumeDaoImpl implements VolumeDao {
         Assert.notNull(volumesToRemove, "List of volumes to remove can not be null");
 
         MongoCollection<Document> collection = mongoOperations.getCollection(COLLECTION_NAME);
-        List<WriteModel<Document>> updates = volumesToUpdate.stream()
-            .map(v -> new ReplaceOneModel<>(Criteria.where(CinderVolume.ID_FIELD).is(v.getId()).getCriteriaObject(),
-                Document.parse(JsonUtils.convertObjectToJson(v)), new ReplaceOptions().upsert(true)))
+        Map<String, String> storedHashes = findContentHashes(collection, volumesToUpdate);
+        List<WriteModel<Document>> updates = new ArrayList<>();
+        for (CinderVolume volume : volumesToUpdate) {
+            Document document = toDocument(volume);
+            String contentHash = contentHash(document);
+            if (contentHash.equals(storedHashes.get(volume.getId()))) {
+                continue;
+            }
+            document.put(CONTENT_HASH_FIELD, contentHash);
+            updates.add(new ReplaceOneModel<>(Filters.eq(CinderVolume.ID_FIELD, volume.getId()), document,
+                new ReplaceOptions().upsert(true)));
+        }
+        List<String> idsToRemove = volumesToRemove.stream()
+            .map(CinderVolume::getId)
             .collect(Collectors.toList());
-        volumesToRemove.stream()
-            .map(v -> new DeleteOneModel<Document>(Document.parse(JsonUtils.convertObjectToJson(v))))
-            .forEach(updates::add);
+        if (CollectionUtils.isNotEmpty(idsToRemove)) {
+            updates.add(new DeleteManyModel<>(Filters.in(CinderVolume.ID_FIELD, idsToRemove)));
+        }
         if (CollectionUtils.isNotEmpty(updates)) {
-            collection.bulkWrite(updates);
+            collection.bulkWrite(updates, new BulkWriteOptions().ordered(false));
         }
     }
 
@@ -100,4 +138,47 @@ public class VolumeDaoImpl implements VolumeDao {
         Criteria criteria = Criteria.where(CinderVolume.ID_FIELD).in(volumeIds);
         return mongoOperations.find(Query.query(criteria), CinderVolume.class, COLLECTION_NAME);
     }
+
+    private static Map<String, String> findContentHashes(MongoCollection<Document> collection, List<CinderVolume> volumes) {
+        if (volumes.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<String> ids = volumes.stream()
+            .map(CinderVolume::getId)
+            .collect(Collectors.toList());
+        Map<String, String> hashes = new HashMap<>();
+        collection.find(Filters.in(CinderVolume.ID_FIELD, ids))
+            .projection(Projections.include(CinderVolume.ID_FIELD, CONTENT_HASH_FIELD))
+            .forEach((Consumer<Document>) d -> hashes.put(d.getString(CinderVolume.ID_FIELD), d.getString(CONTENT_HASH_FIELD)));
+        return hashes;
+    }
+
+    /**
+     * Encodes the volume with the mapping converter, so every mapped field is stored. The volume id is kept in the
+     * {@code id} field the bulk updates match on, the document id of an existing volume is left as it is.
+     */
+    @SuppressWarnings("unchecked")
+    private Document toDocument(CinderVolume volume) {
+        Document document = new Document();
+        mongoOperations.getConverter().write(volume, document);
+        Object id = document.remove("_id");
+        document.put(CinderVolume.ID_FIELD, id != null ? id : volume.getId());
+        Object metadata = document.get("metadata");
+        if (metadata instanceof Map) {
+            // sorted so that equal metadata always produces the same hash
+            document.put("metadata", new Document(new TreeMap<>((Map<String, Object>) metadata)));
+        }
+        return document;
+    }
+
+    private static String contentHash(Document document) {
+        ByteBuffer bson = new RawBsonDocument(document, DOCUMENT_CODEC).getByteBuffer().asNIO();
+        try {
+            MessageDigest digest = MessageDigest.getInstance("MD5");
+            digest.update(bson);
+            return Base64.getEncoder().encodeToString(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2023 Maestro Cloud Control LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.maestro3.agent.http.client;
+
+import io.maestro3.agent.http.client.exception.SimpleHttpClientException;
+import org.apache.http.HttpRequest;
+import org.apache.http.client.methods.HttpUriRequest;
+
+
+/**
+ * HTTP requests made by one thread while the scope is open, which a supervising thread can abort.
+ * <p>
+ * Aborting closes the connection of the request in flight, which also ends a socket read that blocks on it and that
+ * thread interruption would not stop, and makes the following requests of the scope fail fast.
+ */
+public final class HttpRequestScope implements AutoCloseable {
+
+    private static final ThreadLocal<HttpRequestScope> CURRENT = new ThreadLocal<>();
+
+    private final Object lock = new Object();
+    private HttpUriRequest inFlight;
+    private boolean aborted;
+
+    private HttpRequestScope() {
+    }
+
+    /**
+     * Opens the scope for the current thread, replacing the one already open.
+     */
+    public static HttpRequestScope open() {
+        HttpRequestScope scope = new HttpRequestScope();
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * Aborts the request in flight, if any, and all the following requests of the scope. Safe to call from any thread
+     * and after the scope is closed.
+     */
+    public void abort() {
+        HttpUriRequest request;
+        synchronized (lock) {
+            aborted = true;
+            request = inFlight;
+        }
+        if (request != null) {
+            request.abort();
+        }
+    }
+
+    public boolean isAborted() {
+        synchronized (lock) {
+            return aborted;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+    }
+
+    static void begin(HttpRequest request) throws SimpleHttpClientException {
+        HttpRequestScope scope = CURRENT.get();
+        if (scope == null) {
+            return;
+        }
+        synchronized (scope.lock) {
+            if (scope.aborted) {
+                throw new SimpleHttpClientException("Request is aborted: its scope exceeded the deadline.");
+            }
+            if (request instanceof HttpUriRequest) {
+                scope.inFlight = (HttpUriRequest) request;
+            }
+        }
+    }
+
+    static void end() {
+        HttpRequestScope scope = CURRENT.get();
+        if (scope != null) {
+            synchronized (scope.lock) {
+                scope.inFlight = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2023 Maestro Cloud Control LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.maestro3.agent.http.client;
+
+import java.util.concurrent.CompletableFuture;
+
+
+/**
+ * Non-blocking counterpart of {@link SimpleHttpClient}. Requests are described the same way, the returned future
+ * completes with the deserialized entity or exceptionally with {@link io.maestro3.agent.http.client.exception.SimpleHttpClientException}.
+ */
+public interface SimpleAsyncHttpClient {
+
+    <T> CompletableFuture<T> execute(String host, Request request);
+
+    <T> CompletableFuture<T> execute(String host, Request request, HeadersAccumulator accumulator);
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2023 Maestro Cloud Control LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.maestro3.agent.http.client;
+
+import io.maestro3.agent.http.client.exception.SimpleHttpClientException;
+import io.maestro3.agent.http.client.exception.SimpleHttpResponseException;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.protocol.BasicHttpContext;
+import org.apache.http.util.EntityUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+
+/**
+ * {@link SimpleAsyncHttpClient} on top of the JDK non-blocking http client.
+ * <p>
+ * Requests are built, serialized and intercepted exactly as in {@link SimpleHttpClientImpl}, and responses go through
+ * the same response handler and deserializer, so both clients behave the same for callers. No thread is held while
+ * a request is in flight; response handling runs on the executor of the JDK client.
+ */
+public class SimpleAsyncHttpClientImpl implements SimpleAsyncHttpClient {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SimpleAsyncHttpClientImpl.class);
+
+    // headers managed by the JDK client itself, it rejects requests that set them
+    private static final Set<String> RESTRICTED_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        RESTRICTED_HEADERS.addAll(Arrays.asList("Connection", "Content-Length", "Expect", "Host", "Upgrade"));
+    }
+
+    private final HttpClient httpClient;
+    private final Duration requestTimeout;
+
+    /**
+     * @param httpClient     JDK http client, usually shared
+     * @param requestTimeout timeout of a single request, no timeout if null
+     */
+    public SimpleAsyncHttpClientImpl(HttpClient httpClient, Duration requestTimeout) {
+        Assert.notNull(httpClient, "httpClient can't be null.");
+        this.httpClient = httpClient;
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * Creates JDK http client that trusts all certificates, the same way {@link io.maestro3.agent.ssl.FakeSSLSocketFactory}
+     * does for the blocking client. Host names are still verified unless
+     * {@code jdk.internal.httpclient.disableHostnameVerification} system property is set.
+     *
+     * @param executor       executor for response handling, default executor of the JDK client if null
+     * @param connectTimeout connect timeout
+     * @return new http client
+     */
+    public static HttpClient newTrustAllHttpClient(Executor executor, Duration connectTimeout) {
+        try {
+            SSLContext sslContext = SSLContext.getInstance("TLS");
+            sslContext.init(null, new TrustManager[]{new TrustAllManager()}, null);
+            HttpClient.Builder builder = HttpClient.newBuilder()
+                .sslContext(sslContext)
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NEVER);
+            if (executor != null) {
+                builder.executor(executor);
+            }
+            return builder.build();
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to create async http client", e);
+        }
+    }
+
+    @Override
+    public <T> CompletableFuture<T> execute(String host, Request request) {
+        return execute(host, request, null);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> execute(String host, Request request, HeadersAccumulator accumulator) {
+        Assert.hasText(host, "host can't be null or empty.");
+        Assert.notNull(request, "request can't be null.");
+        LOG.debug("Executing async request to '{}'...", request.getUri());
+
+        java.net.http.HttpRequest httpRequest;
+        try {
+            httpRequest = toJdkRequest(host, request);
+        } catch (Throwable e) {
+            return CompletableFuture.failedFuture(new SimpleHttpClientException("Unable to create request.", e));
+        }
+
+        return httpClient.sendAsync(httpRequest, java.net.http.HttpResponse.BodyHandlers.ofByteArray())
+            .handle((response, error) -> {
+                if (error != null) {
+                    throw new CompletionException(new SimpleHttpClientException("Unable to execute request.", unwrap(error)));
+                }
+                return this.<T>readResponse(response, request, accumulator);
+            });
+    }
+
+    private java.net.http.HttpRequest toJdkRequest(String host, Request request) throws Exception {
+        HttpRequest apacheRequest = SimpleHttpClientImpl.buildHttpRequest(request);
+        if (request.getRequestHandler() != null) {
+            request.getRequestHandler().process(apacheRequest, new BasicHttpContext());
+        }
+
+        URI uri = URI.create(host).resolve(apacheRequest.getRequestLine().getUri());
+        java.net.http.HttpRequest.Builder builder = java.net.http.HttpRequest.newBuilder(uri);
+        if (requestTimeout != null) {
+            builder.timeout(requestTimeout);
+        }
+        for (Header header : apacheRequest.getAllHeaders()) {
+            if (!RESTRICTED_HEADERS.contains(header.getName())) {
+                builder.header(header.getName(), header.getValue());
+            }
+        }
+
+        java.net.http.HttpRequest.BodyPublisher body = java.net.http.HttpRequest.BodyPublishers.noBody();
+        if (apacheRequest instanceof HttpEntityEnclosingRequest) {
+            HttpEntity entity = ((HttpEntityEnclosingRequest) apacheRequest).getEntity();
+            if (entity != null) {
+                if (entity.getContentType() != null && !apacheRequest.containsHeader(entity.getContentType().getName())) {
+                    builder.header(entity.getContentType().getName(), entity.getContentType().getValue());
+                }
+                body = java.net.http.HttpRequest.BodyPublishers.ofByteArray(EntityUtils.toByteArray(entity));
+            }
+        }
+        return builder.method(apacheRequest.getRequestLine().getMethod(), body).build();
+    }
+
+    private <T> T readResponse(java.net.http.HttpResponse<byte[]> jdkResponse, Request request,
+                               HeadersAccumulator accumulator) {
+        LOG.debug("Async response received. statusCode={}", jdkResponse.statusCode());
+        HttpResponse response = toApacheResponse(jdkResponse);
+        try {
+            if (request.getResponseHandler() != null) {
+                request.getResponseHandler().process(response);
+            }
+            T entity = SimpleHttpClientImpl.readResponse(response, request);
+            SimpleHttpClientImpl.accumulateHeaders(response, accumulator);
+            return entity;
+        } catch (SimpleHttpResponseException e) {
+            throw new CompletionException(e);
+        } catch (Throwable e) {
+            throw new CompletionException(new SimpleHttpClientException("Unable to read response.", e));
+        }
+    }
+
+    private static HttpResponse toApacheResponse(java.net.http.HttpResponse<byte[]> jdkResponse) {
+        BasicHttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, jdkResponse.statusCode(), null);
+        for (Map.Entry<String, List<String>> header : jdkResponse.headers().map().entrySet()) {
+            for (String value : header.getValue()) {
+                response.addHeader(header.getKey(), value);
+            }
+        }
+        byte[] body = jdkResponse.body();
+        if (body != null && body.length > 0) {
+            ContentType contentType = jdkResponse.headers().firstValue("Content-Type")
+                .map(ContentType::parse)
+                .orElse(null);
+            response.setEntity(new ByteArrayEntity(body, contentType));
+        }
+        return response;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private static class TrustAllManager implements X509TrustManager {
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType) {
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType) {
+        }
+
+        @Override
+        public X509Certificate[] getAcceptedIssuers() {
+            return new X509Certificate[0];
+        }
+    }
+}
@@ -46,7 +46,6 @@ import org.springframework.util.Assert;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
 
 
 @Deprecated
@@ -123,7 +122,7 @@ public class SimpleHttpClientImpl implements SimpleHttpClient {
 
         HttpRequest httpRequest;
         try {
-            httpRequest = this.buildHttpRequest(request);
+            httpRequest = buildHttpRequest(request);
             if (request.getRequestHandler() != null) {
                 request.getRequestHandler().process(httpRequest, context);
             }
@@ -131,33 +130,39 @@ public class SimpleHttpClientImpl implements SimpleHttpClient {
             throw new SimpleHttpClientException("Unable to create request.", e);
         }
 
-        HttpResponse response;
+        HttpRequestScope.begin(httpRequest);
         try {
-            response = httpClient.execute(host, httpRequest, context);
-        } catch (Throwable e) {
-            httpClient.getConnectionManager().closeIdleConnections(0L, TimeUnit.MILLISECONDS);
-            throw new SimpleHttpClientException("Unable to execute request.", e);
-        }
+            HttpResponse response;
+            try {
+                response = httpClient.execute(host, httpRequest, context);
+            } catch (Throwable e) {
+                // the failed connection is already discarded, keep the rest of the pool warm
+                httpClient.getConnectionManager().closeExpiredConnections();
+                throw new SimpleHttpClientException("Unable to execute request.", e);
+            }
 
-        LOG.debug("Response received. statusCode={}", response.getStatusLine().getStatusCode());
+            LOG.debug("Response received. statusCode={}", response.getStatusLine().getStatusCode());
 
-        try {
-            if (request.getResponseHandler() != null) {
-                request.getResponseHandler().process(response);
+            try {
+                if (request.getResponseHandler() != null) {
+                    request.getResponseHandler().process(response);
+                }
+                T readResponse = readResponse(response, request);
+                accumulateHeaders(response, accumulator);
+                return readResponse;
+            } catch (SimpleHttpResponseException e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new SimpleHttpClientException("Unable to read response.", e);
+            } finally {
+                EntityUtils.consumeQuietly(response.getEntity());
             }
-            T readResponse = this.readResponse(response, request);
-            accumulateHeaders(response, accumulator);
-            return readResponse;
-        } catch (SimpleHttpResponseException e) {
-            throw e;
-        } catch (Throwable e) {
-            throw new SimpleHttpClientException("Unable to read response.", e);
         } finally {
-            EntityUtils.consumeQuietly(response.getEntity());
+            HttpRequestScope.end();
         }
     }
 
-    private void accumulateHeaders(HttpResponse response, HeadersAccumulator accumulator) {
+    static void accumulateHeaders(HttpResponse response, HeadersAccumulator accumulator) {
         if (accumulator != null) {
             for (String header : accumulator.headers()) {
                 Header firstHeader = response.getFirstHeader(header);
@@ -168,7 +173,7 @@ public class SimpleHttpClientImpl implements SimpleHttpClient {
         }
     }
 
-    private void putHeaders(HttpRequest httpRequest, List<TypedNameValue<String, String>> headers) {
+    private static void putHeaders(HttpRequest httpRequest, List<TypedNameValue<String, String>> headers) {
         if (headers != null) {
             for (TypedNameValue<String, String> header : headers) {
                 httpRequest.addHeader(header.getName(), header.getValue());
@@ -176,7 +181,7 @@ public class SimpleHttpClientImpl implements SimpleHttpClient {
         }
     }
 
-    private <T> T readResponse(HttpResponse response, Request request) throws Exception {
+    static <T> T readResponse(HttpResponse response, Request request) throws Exception {
         if (request.getDeserializer() != null) {
             return request.getDeserializer().deserialize(request.getResponseType(), response);
         } else {
@@ -184,12 +189,12 @@ public class SimpleHttpClientImpl implements SimpleHttpClient {
         }
     }
 
-    private HttpRequest buildHttpRequest(Request request) throws Exception {
+    static HttpRequest buildHttpRequest(Request request) throws Exception {
         HttpRequest httpRequest;
 
         URI uri;
         try {
-            uri = this.buildUri(request);
+            uri = buildUri(request);
         } catch (URISyntaxException e) {
             throw new SimpleHttpClientException("Unable to build URI", e);
         }
@@ -236,7 +241,7 @@ public class SimpleHttpClientImpl implements SimpleHttpClient {
         return httpRequest;
     }
 
-    private URI buildUri(Request request) throws URISyntaxException {
+    private static URI buildUri(Request request) throws URISyntaxException {
         URIBuilder builder = new URIBuilder(request.getUri());
         if (!CollectionUtils.isEmpty(request.getQueryParams())) {
             for (TypedNameValue<String, String> nv : request.getQueryParams()) {
@@ -26,6 +26,12 @@ import java.lang.reflect.Type;
 
 public final class CommonGsonFactory {
 
+    /**
+     * Gson instances are immutable and thread-safe, so these are shared instead of being built per call.
+     */
+    private static final Gson SHARED = new GsonBuilder().create();
+    private static final Gson SHARED_WITH_NULLS = new GsonBuilder().serializeNulls().create();
+
     private CommonGsonFactory() {
         throw new UnsupportedOperationException("Instantiation is forbidden.");
     }
@@ -34,6 +40,20 @@ public final class CommonGsonFactory {
         return new GsonBuilder().create();
     }
 
+    /**
+     * @return shared Gson with default settings
+     */
+    public static Gson shared() {
+        return SHARED;
+    }
+
+    /**
+     * @return shared Gson with default settings that serializes null fields
+     */
+    public static Gson sharedWithNulls() {
+        return SHARED_WITH_NULLS;
+    }
+
     public static Gson createWithAdapter(Type type, Object adapter) {
         return new GsonBuilder().registerTypeAdapter(type, adapter).create();
     }
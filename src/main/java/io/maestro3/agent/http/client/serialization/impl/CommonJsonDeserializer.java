@@ -34,7 +34,7 @@ public class CommonJsonDeserializer implements Deserializer {
             return null;
         }
         String json = EntityUtils.toString(responseEntity);
-        return CommonGsonFactory.create().fromJson(json, responseType);
+        return CommonGsonFactory.shared().fromJson(json, responseType);
     }
 
 }
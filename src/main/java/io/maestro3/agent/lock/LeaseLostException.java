@@ -0,0 +1,38 @@
+/*
+ * Copyright 2023 Maestro Cloud Control LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.maestro3.agent.lock;
+
+
+/**
+ * Thrown after an operation guarded by a distributed lock has completed if the lock was lost while the operation
+ * was running. The writes of the operation are not rolled back and may interleave with the writes of another node.
+ */
+public class LeaseLostException extends IllegalStateException {
+
+    private final long leaseToken;
+
+    public LeaseLostException(String lockName, long leaseToken) {
+        super(String.format("Lease %s with lease token %d was lost while the operation was running",
+            lockName, leaseToken));
+        this.leaseToken = leaseToken;
+    }
+
+    public long getLeaseToken() {
+        return leaseToken;
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2023 Maestro Cloud Control LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.maestro3.agent.lock;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+
+/**
+ * Lockers of the OpenStack handlers. Each one is cluster-wide when its type is listed in
+ * {@code agent.locker.distributed.types} and falls back to the shared in-memory locker otherwise.
+ */
+@Configuration
+public class LockerConfiguration {
+
+    private static final String INSTANCE_LOCKER_TYPE = "instance";
+
+    @Bean
+    public Locker openStackInstanceLocker(LockerFactory lockerFactory,
+                                          @Qualifier("instanceLocker") Locker instanceLocker) {
+        return lockerFactory.create(INSTANCE_LOCKER_TYPE, instanceLocker);
+    }
+}
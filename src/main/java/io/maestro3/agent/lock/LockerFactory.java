@@ -0,0 +1,95 @@
+/*
+ * Copyright 2023 Maestro Cloud Control LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.maestro3.agent.lock;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.maestro3.agent.dao.LockLeaseDao;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+
+/**
+ * Creates {@link Locker}s by type. Types listed in {@code agent.locker.distributed.types} get a cluster-wide
+ * {@link MongoLocker}, all others keep an in-memory locker. The lockers used by the handlers are declared in
+ * {@link LockerConfiguration}.
+ */
+@Component
+public class LockerFactory {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LockerFactory.class);
+
+    private final LockLeaseDao lockLeaseDao;
+    private final Set<String> distributedTypes;
+    private final long leaseMillis;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ScheduledExecutorService leaseRenewer = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder()
+            .setNameFormat("locker-lease-renewer")
+            .setDaemon(true)
+            .build());
+
+    @Autowired
+    public LockerFactory(LockLeaseDao lockLeaseDao,
+                         @Value("${agent.locker.distributed.types:}") String distributedTypes,
+                         @Value("${agent.locker.lease.seconds:30}") long leaseSeconds) {
+        this.lockLeaseDao = lockLeaseDao;
+        this.distributedTypes = Arrays.stream(StringUtils.split(distributedTypes, ','))
+            .map(String::trim)
+            .filter(StringUtils::isNotEmpty)
+            .collect(Collectors.toSet());
+        this.leaseMillis = TimeUnit.SECONDS.toMillis(leaseSeconds);
+    }
+
+    public Locker create(String type) {
+        return create(type, new LockerImpl(type));
+    }
+
+    /**
+     * @param type        locker type
+     * @param localLocker locker to use when the type is not distributed
+     * @return cluster-wide locker for a distributed type, the local one otherwise
+     */
+    public Locker create(String type, Locker localLocker) {
+        if (!distributedTypes.contains(type)) {
+            return localLocker;
+        }
+        LOG.info("Locker {} is distributed with {} ms leases, node {}", type, leaseMillis, nodeId);
+        MongoLocker locker = new MongoLocker(type, nodeId, lockLeaseDao, leaseMillis);
+        long renewPeriod = Math.max(1, leaseMillis / 3);
+        leaseRenewer.scheduleWithFixedDelay(locker::renewLeases, renewPeriod, renewPeriod, TimeUnit.MILLISECONDS);
+        return locker;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        leaseRenewer.shutdownNow();
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2023 Maestro Cloud Control LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.maestro3.agent.lock;
+
+import io.maestro3.agent.dao.LockLeaseDao;
+import io.maestro3.agent.model.lock.ValuableOperation;
+import io.maestro3.agent.model.lock.VoidOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Cluster-wide {@link Locker} that keeps leases in MongoDB.
+ * <p>
+ * A lease is taken for {@code leaseMillis} and renewed in the background while the operation runs, so a crashed
+ * node releases its locks once the lease expires. Every acquisition gets a growing lease token that is checked on
+ * renewal and release. This is post-hoc lease-loss detection, not fencing: the token is not passed to the writes
+ * made by the operation, so if a long pause lets the lease expire, another node may take the lock over and both
+ * may write. Such a loss is reported after the operation with {@link LeaseLostException}, and callers should
+ * re-read the state they guarded. Locks are reentrant per thread.
+ */
+public class MongoLocker implements Locker {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MongoLocker.class);
+
+    private final String type;
+    private final String nodeId;
+    private final LockLeaseDao lockLeaseDao;
+    private final long leaseMillis;
+    private final Set<Lease> activeLeases = ConcurrentHashMap.newKeySet();
+    private final ThreadLocal<Map<String, Lease>> heldLeases = ThreadLocal.withInitial(HashMap::new);
+
+    public MongoLocker(String type, String nodeId, LockLeaseDao lockLeaseDao, long leaseMillis) {
+        Assert.hasLength(type, "Empty type of Locker specified.");
+        Assert.hasLength(nodeId, "Empty node id specified.");
+        Assert.notNull(lockLeaseDao, "lockLeaseDao cannot be null");
+        Assert.isTrue(leaseMillis > 0, "Lease duration should be positive");
+        this.type = type;
+        this.nodeId = nodeId;
+        this.lockLeaseDao = lockLeaseDao;
+        this.leaseMillis = leaseMillis;
+    }
+
+    @Override
+    public <E extends Exception> void executeOperation(String projectId, VoidOperation<E> operation) throws E {
+        execute(projectId, ValuableOperation.wrapVoid(operation));
+    }
+
+    @Override
+    public <RES, E extends Exception> RES executeValuableOperation(String projectId,
+                                                                   ValuableOperation<RES, E> operation) throws E {
+        return execute(projectId, operation);
+    }
+
+    /**
+     * Prolongs all leases held by this locker. Called periodically by {@link LockerFactory}.
+     */
+    void renewLeases() {
+        for (Lease lease : activeLeases) {
+            try {
+                if (!lockLeaseDao.renew(lease.lockName, lease.owner, lease.leaseToken, leaseMillis)) {
+                    LOG.error("Lease {} with lease token {} has been lost", lease.lockName, lease.leaseToken);
+                    lease.lost = true;
+                    activeLeases.remove(lease);
+                }
+            } catch (Exception e) {
+                LOG.warn("Failed to renew lease " + lease.lockName + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    private <T, E extends Exception> T execute(String projectId, ValuableOperation<T, E> operation) throws E {
+        String lockName = lockName(projectId);
+        Map<String, Lease> held = heldLeases.get();
+        Lease lease = held.get(lockName);
+        if (lease != null) {
+            lease.holdCount++;
+            try {
+                return operation.execute();
+            } finally {
+                lease.holdCount--;
+            }
+        }
+
+        lease = acquire(lockName);
+        held.put(lockName, lease);
+        activeLeases.add(lease);
+        T result;
+        boolean released;
+        try {
+            result = operation.execute();
+        } finally {
+            held.remove(lockName);
+            activeLeases.remove(lease);
+            released = release(lease);
+        }
+        if (!released || lease.lost) {
+            // the operation has already completed, another node could take the lock over and write concurrently
+            throw new LeaseLostException(lockName, lease.leaseToken);
+        }
+        return result;
+    }
+
+    /**
+     * @return false if the lease had been taken over by another owner
+     */
+    private boolean release(Lease lease) {
+        try {
+            return lockLeaseDao.release(lease.lockName, lease.owner, lease.leaseToken);
+        } catch (Exception e) {
+            LOG.warn("Failed to release lease " + lease.lockName + ", it will expire in " + leaseMillis + " ms: "
+                + e.getMessage(), e);
+            return true;
+        }
+    }
+
+    private Lease acquire(String lockName) {
+        String owner = nodeId + "-" + Thread.currentThread().getId();
+        for (int i = 0; i < LOCK_ATTEMPTS_COUNT; i++) {
+            Long leaseToken = lockLeaseDao.tryAcquire(lockName, owner, leaseMillis);
+            if (leaseToken != null) {
+                return new Lease(lockName, owner, leaseToken);
+            }
+            try {
+                TimeUnit.MILLISECONDS.sleep(WAIT_FOR_LOCK_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        throw new IllegalStateException(String.format("Could not lock %s with %d attempts", lockName, LOCK_ATTEMPTS_COUNT));
+    }
+
+    private String lockName(String projectId) {
+        return type + "-" + projectId;
+    }
+
+    private static class Lease {
+
+        private final String lockName;
+        private final String owner;
+        private final long leaseToken;
+        private int holdCount;
+        private volatile boolean lost;
+
+        private Lease(String lockName, String owner, long leaseToken) {
+            this.lockName = lockName;
+            this.owner = owner;
+            this.leaseToken = leaseToken;
+        }
+    }
+}
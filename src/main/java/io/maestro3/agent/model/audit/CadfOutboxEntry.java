@@ -0,0 +1,63 @@
+/*
+ * Copyright 2023 Maestro Cloud Control LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.maestro3.agent.model.audit;
+
+import io.maestro3.sdk.v3.model.audit.AuditEventGroupType;
+
+
+/**
+ * Serialized CADF audit event waiting in the outbox to be published to its event group.
+ */
+public class CadfOutboxEntry {
+
+    private String id;
+    private AuditEventGroupType eventGroup;
+    private String eventJson;
+
+    public CadfOutboxEntry() {
+    }
+
+    public CadfOutboxEntry(AuditEventGroupType eventGroup, String eventJson) {
+        this.eventGroup = eventGroup;
+        this.eventJson = eventJson;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public AuditEventGroupType getEventGroup() {
+        return eventGroup;
+    }
+
+    public void setEventGroup(AuditEventGroupType eventGroup) {
+        this.eventGroup = eventGroup;
+    }
+
+    public String getEventJson() {
+        return eventJson;
+    }
+
+    public void setEventJson(String eventJson) {
+        this.eventJson = eventJson;
+    }
+}
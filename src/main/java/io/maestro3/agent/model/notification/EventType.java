@@ -20,6 +20,11 @@ package io.maestro3.agent.model.notification;
 import com.google.gson.annotations.SerializedName;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 
 public enum EventType { // this info came from a document, not from usage experience, so there may be other notifications
 
@@ -192,7 +197,8 @@ public enum EventType { // this info came from a document, not from usage experi
     @SerializedName(Constants.ORCHESTRATION_AUTOSCALING_END)
     AUTOSCALING_END(Constants.ORCHESTRATION_AUTOSCALING_END, Resource.AUTO_SCALING);
 
-    private static final EventType[] VALUES = values();
+    private static final Map<String, EventType> BY_NAME = Arrays.stream(values())
+        .collect(Collectors.toMap(type -> type.name, Function.identity(), (first, second) -> first));
 
     private final String name;
     private final Resource resource;
@@ -206,12 +212,7 @@ public enum EventType { // this info came from a document, not from usage experi
         if (StringUtils.isBlank(name)) {
             return null;
         }
-        for (EventType type : VALUES) {
-            if (type.name.equals(name)) {
-                return type;
-            }
-        }
-        return null;
+        return BY_NAME.get(name);
     }
 
     public boolean in(EventType... eventTypes) {
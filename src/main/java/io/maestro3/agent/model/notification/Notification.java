@@ -20,6 +20,7 @@ package io.maestro3.agent.model.notification;
 import com.google.gson.annotations.SerializedName;
 
 import java.util.Map;
+import java.util.function.Supplier;
 
 
 public class Notification {
@@ -38,6 +39,11 @@ public class Notification {
 
     private Map<String, Object> originalNotification; // original json converted to map, so it contains all the fields
 
+    // both originals are materialized on first access only, most notifications never need them
+    private transient Supplier<String> originalJsonSupplier;
+
+    private transient Supplier<Map<String, Object>> originalNotificationSupplier;
+
     public EventType getEventType() {
         return eventType;
     }
@@ -51,10 +57,20 @@ public class Notification {
     }
 
     public String getOriginalJson() {
+        Supplier<String> supplier = originalJsonSupplier;
+        if (originalJson == null && supplier != null) {
+            originalJson = supplier.get();
+            originalJsonSupplier = null;
+        }
         return originalJson;
     }
 
     public Map<String, Object> getOriginalNotification() {
+        Supplier<Map<String, Object>> supplier = originalNotificationSupplier;
+        if (originalNotification == null && supplier != null) {
+            originalNotification = supplier.get();
+            originalNotificationSupplier = null;
+        }
         return originalNotification;
     }
 
@@ -70,14 +86,21 @@ public class Notification {
         this.originalNotification = originalNotification;
     }
 
+    public void setOriginalJsonSupplier(Supplier<String> originalJsonSupplier) {
+        this.originalJsonSupplier = originalJsonSupplier;
+    }
+
+    public void setOriginalNotificationSupplier(Supplier<Map<String, Object>> originalNotificationSupplier) {
+        this.originalNotificationSupplier = originalNotificationSupplier;
+    }
+
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder("Notification{");
         sb.append("eventType=").append(eventType);
         sb.append(", timestamp='").append(timestamp).append('\'');
         sb.append(", payload=").append(payload);
-        sb.append(", originalJson='").append(originalJson).append('\'');
-        sb.append(", originalNotification=").append(originalNotification);
+        sb.append(", originalJson='").append(getOriginalJson()).append('\'');
         sb.append('}');
         return sb.toString();
     }
@@ -58,6 +58,10 @@ public class OpenStackRegionConfig extends BaseAmqpRegion<OpenStackFlavorConfig>
     private NetworkingPolicy networkingPolicy;
     private Map<String, SecurityModeConfiguration> securityModeConfigurations = new HashMap<>();
     private int allowedIpOperationsMinutes = 3;
+    /**
+     * Describe servers and volumes of all tenants with one admin listing per region instead of per-tenant calls.
+     */
+    private boolean allTenantsListing;
 
     public OpenStackRegionConfig() {
         super(PrivateCloudType.OPEN_STACK);
@@ -72,6 +76,14 @@ public class OpenStackRegionConfig extends BaseAmqpRegion<OpenStackFlavorConfig>
         this.allowedIpOperationsMinutes = allowedIpOperationsMinutes;
     }
 
+    public boolean isAllTenantsListing() {
+        return allTenantsListing;
+    }
+
+    public void setAllTenantsListing(boolean allTenantsListing) {
+        this.allTenantsListing = allTenantsListing;
+    }
+
     public int getRegionNumber() {
         return regionNumber;
     }
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2023 Maestro Cloud Control LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.maestro3.agent.model.server;
+
+import io.maestro3.agent.model.enums.ServerStateEnum;
+
+import java.util.Set;
+
+
+/**
+ * Changed fields of a stored server config, written in bulk by the describe cycle.
+ */
+public class ServerConfigUpdate {
+
+    private final String dbId;
+    private final ServerStateEnum state;
+    private final String ipAddress;
+    private final Set<String> attachedVolumes;
+    private final Boolean runSuccess;
+
+    /**
+     * @param attachedVolumes volume ids to store, or null to leave the stored ones untouched
+     * @param runSuccess      run success flag to store, or null to leave the stored one untouched
+     */
+    public ServerConfigUpdate(String dbId, ServerStateEnum state, String ipAddress, Set<String> attachedVolumes, Boolean runSuccess) {
+        this.dbId = dbId;
+        this.state = state;
+        this.ipAddress = ipAddress;
+        this.attachedVolumes = attachedVolumes;
+        this.runSuccess = runSuccess;
+    }
+
+    public String getDbId() {
+        return dbId;
+    }
+
+    public ServerStateEnum getState() {
+        return state;
+    }
+
+    public String getIpAddress() {
+        return ipAddress;
+    }
+
+    public Set<String> getAttachedVolumes() {
+        return attachedVolumes;
+    }
+
+    public Boolean getRunSuccess() {
+        return runSuccess;
+    }
+}
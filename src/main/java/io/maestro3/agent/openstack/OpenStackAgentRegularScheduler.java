@@ -17,13 +17,14 @@
 
 package io.maestro3.agent.openstack;
 
-import io.maestro3.agent.cadf.CadfAuditEventSender;
+import io.maestro3.agent.cadf.BatchingCadfAuditEventSender;
 import io.maestro3.agent.cadf.openstack.CadfUtils;
 import io.maestro3.agent.cadf.openstack.OpenStackEventTypeActionMapping;
 import io.maestro3.agent.converter.OpenStackServerStateDetector;
 import io.maestro3.agent.dao.IInstanceRunRecordDao;
 import io.maestro3.agent.dao.IOpenStackRegionRepository;
 import io.maestro3.agent.exception.M3PrivateAgentException;
+import io.maestro3.agent.lock.LeaseLostException;
 import io.maestro3.agent.lock.Locker;
 import io.maestro3.agent.model.base.DiskState;
 import io.maestro3.agent.model.base.InstanceRunRecord;
@@ -38,7 +39,10 @@ import io.maestro3.agent.model.lock.VoidOperation;
 import io.maestro3.agent.model.region.OpenStackRegionConfig;
 import io.maestro3.agent.model.server.OpenStackNetworkInterfaceInfo;
 import io.maestro3.agent.model.server.OpenStackServerConfig;
+import io.maestro3.agent.model.server.ServerConfigUpdate;
 import io.maestro3.agent.model.tenant.OpenStackTenant;
+import io.maestro3.agent.openstack.api.IOpenStackApi;
+import io.maestro3.agent.openstack.api.compute.IServerService;
 import io.maestro3.agent.openstack.api.compute.bean.SecurityInfo;
 import io.maestro3.agent.openstack.api.storage.bean.CinderVolume;
 import io.maestro3.agent.openstack.exception.OSClientException;
@@ -46,6 +50,7 @@ import io.maestro3.agent.openstack.provider.OpenStackApiProvider;
 import io.maestro3.agent.scheduler.AbstractScheduler;
 import io.maestro3.agent.service.DbServicesProvider;
 import io.maestro3.agent.service.IOpenStackSecurityGroupService;
+import io.maestro3.agent.service.IShardAssignmentService;
 import io.maestro3.agent.service.VolumeDbService;
 import io.maestro3.cadf.ICadfAction;
 import io.maestro3.cadf.model.CadfActions;
@@ -60,6 +65,7 @@ import io.maestro3.sdk.internal.util.CollectionUtils;
 import io.maestro3.sdk.internal.util.DateUtils;
 import io.maestro3.sdk.v3.model.agent.openstack.SdkOsDiskInfo;
 import io.maestro3.sdk.v3.model.audit.AuditEventGroupType;
+import org.apache.commons.lang3.StringUtils;
 import org.bson.types.ObjectId;
 import org.joda.time.DateTime;
 import org.joda.time.DateTimeZone;
@@ -75,10 +81,14 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -88,23 +98,43 @@ public class OpenStackAgentRegularScheduler extends AbstractScheduler {
 
     private final OpenStackApiProvider apiProvider;
     private final DbServicesProvider dbServicesProvider;
-    private final CadfAuditEventSender auditEventSender;
+    private final BatchingCadfAuditEventSender auditEventSender;
     private final Locker locker;
     private final IInstanceRunRecordDao instanceRunRecordDao;
     private final IOpenStackRegionRepository regionService;
     private final IOpenStackSecurityGroupService securityGroupService;
+    private final OpenStackTenantFanOutExecutor tenantExecutor;
+    private final IShardAssignmentService shardAssignmentService;
+    private final OpenStackClientWarmUp clientWarmUp;
+    private final AtomicBoolean cycleInProgress = new AtomicBoolean();
+    /**
+     * Incremental sync state per tenant id. Kept in memory: after restart every tenant starts with a full sync.
+     */
+    private final Map<String, ServerSyncMark> serverSyncMarks = new ConcurrentHashMap<>();
 
     @Value("${flag.enable.instances.schedule.describer}")
     private boolean enableInstancesScheduledDescribers;
 
+    @Value("${openstack.describer.incremental.enabled:false}")
+    private boolean incrementalSyncEnabled;
+
+    @Value("${openstack.describer.incremental.full.reconcile.minutes:30}")
+    private long fullReconcileMinutes;
+
+    @Value("${openstack.describer.incremental.overlap.seconds:60}")
+    private long changesSinceOverlapSeconds;
+
     @Autowired
     public OpenStackAgentRegularScheduler(OpenStackApiProvider apiProvider,
                                           IOpenStackRegionRepository regionService,
                                           DbServicesProvider dbServicesProvider,
                                           IInstanceRunRecordDao instanceRunRecordDao,
-                                          CadfAuditEventSender auditEventSender,
-                                          @Qualifier("instanceLocker") Locker locker,
-                                          IOpenStackSecurityGroupService securityGroupService) {
+                                          BatchingCadfAuditEventSender auditEventSender,
+                                          @Qualifier("openStackInstanceLocker") Locker locker,
+                                          IOpenStackSecurityGroupService securityGroupService,
+                                          OpenStackTenantFanOutExecutor tenantExecutor,
+                                          IShardAssignmentService shardAssignmentService,
+                                          OpenStackClientWarmUp clientWarmUp) {
         super(PrivateCloudType.OPEN_STACK, true);
         this.apiProvider = apiProvider;
         this.dbServicesProvider = dbServicesProvider;
@@ -113,6 +143,9 @@ public class OpenStackAgentRegularScheduler extends AbstractScheduler {
         this.auditEventSender = auditEventSender;
         this.locker = locker;
         this.securityGroupService = securityGroupService;
+        this.tenantExecutor = tenantExecutor;
+        this.shardAssignmentService = shardAssignmentService;
+        this.clientWarmUp = clientWarmUp;
     }
 
     @Override
@@ -127,20 +160,55 @@ public class OpenStackAgentRegularScheduler extends AbstractScheduler {
 
     public void execute() {
         if (!enableInstancesScheduledDescribers) return;
+        if (!clientWarmUp.isReady()) {
+            LOG.info("OpenStack clients warm-up is still in progress. Skipping this run.");
+            return;
+        }
+        if (!cycleInProgress.compareAndSet(false, true)) {
+            LOG.warn("Previous instances update is still in progress. Skipping this run.");
+            return;
+        }
 
-        start("Execute instances update...");
-        Collection<OpenStackRegionConfig> regionConfigs = regionService
-            .findAllOSRegionsAvailableForDescribers();
-
-        regionConfigs.forEach(this::updateRegionInstances);
-        end("Instances update executed.");
+        try {
+            start("Execute instances update...");
+            Collection<OpenStackRegionConfig> regionConfigs = regionService
+                .findAllOSRegionsAvailableForDescribers();
+
+            Map<OpenStackRegionConfig, List<OpenStackTenant>> tenantsByRegion = new LinkedHashMap<>();
+            List<OpenStackRegionConfig> listedRegions = new ArrayList<>();
+            regionConfigs.forEach(region -> {
+                List<OpenStackTenant> tenants = findDescribableTenants(region);
+                tenantsByRegion.put(region, tenants);
+                if (region.isAllTenantsListing() && !tenants.isEmpty()) {
+                    listedRegions.add(region);
+                }
+            });
+            Map<String, RegionListing> regionListings = new ConcurrentHashMap<>();
+            tenantExecutor.executeForRegions(listedRegions, region -> {
+                RegionListing listing = listAllTenants(region);
+                if (listing != null) {
+                    regionListings.put(region.getId(), listing);
+                }
+            });
+            tenantExecutor.execute(tenantsByRegion, (region, tenant) ->
+                updateTenantInRegionInstances(region, tenant, regionListings.get(region.getId())));
+            end("Instances update executed.");
+        } finally {
+            cycleInProgress.set(false);
+        }
     }
 
-    private void updateRegionInstances(OpenStackRegionConfig region) {
+    private List<OpenStackTenant> findDescribableTenants(OpenStackRegionConfig region) {
+        if (region.isAllTenantsListing() && !shardAssignmentService.ownsRegion(region.getId())) {
+            // the whole region is described from one listing, by the node that owns the region
+            return Collections.emptyList();
+        }
         Collection<OpenStackTenant> tenantConfigs = dbServicesProvider.getTenantDbService()
             .findAllByRegion(region.getId());
 
-        tenantConfigs.stream()
+        return tenantConfigs.stream()
+            .filter(tenant -> region.isAllTenantsListing()
+                || shardAssignmentService.ownsTenant(region.getId(), tenant.getId()))
             .filter(tenant -> {
                 if (tenant.isSkipHealthCheck() || tenant.getTenantState().equals(TenantState.AVAILABLE)) {
                     return true;
@@ -148,25 +216,65 @@ public class OpenStackAgentRegularScheduler extends AbstractScheduler {
                 LOG.debug("Tenant {} skipped because it state is not AVAILABLE", tenant.getTenantAlias());
                 return false;
             })
-            .forEach(openStackTenantConfig -> updateTenantInRegionInstances(region, openStackTenantConfig));
+            .collect(Collectors.toList());
     }
 
-    private void updateTenantInRegionInstances(OpenStackRegionConfig region, OpenStackTenant tenant) {
+    /**
+     * @param listing servers and volumes of the whole region; if null, they are listed with the tenant credentials
+     */
+    private void updateTenantInRegionInstances(OpenStackRegionConfig region, OpenStackTenant tenant, RegionListing listing) {
         boolean describeAllInstances = tenant.isDescribeAllInstances();
         Collection<OpenStackServerConfig> dbServers = dbServicesProvider.getServerDbService()
             .findAllAvailableTenantServers(region.getId(), tenant.getId());
 
-        List<Server> serverList = getServersFromOpenStack(region, tenant);
-        List<CinderVolume> volumesFromOpenStack = getVolumesFromOpenStack(region, tenant);
-        synchronizeVolumes(serverList, volumesFromOpenStack, region, tenant);
-        Map<String, CinderVolume> volumeMap = volumesFromOpenStack.stream()
-            .collect(Collectors.toMap(CinderVolume::getId, Function.identity()));
+        long syncStartedAt = System.currentTimeMillis();
+        ServerSyncMark syncMark = serverSyncMarks.get(tenant.getId());
+        boolean fullSync = listing != null || !incrementalSyncEnabled || syncMark == null
+            || syncStartedAt - syncMark.lastFullSync >= TimeUnit.MINUTES.toMillis(fullReconcileMinutes);
+
+        List<Server> serverList;
+        if (listing != null) {
+            serverList = listing.servers(tenant.getNativeId());
+        } else if (fullSync) {
+            serverList = getServersFromOpenStack(region, tenant, null);
+            if (serverList == null) {
+                // an empty list would terminate every server of the tenant; keep the previous mark and retry next time
+                return;
+            }
+            serverSyncMarks.put(tenant.getId(), new ServerSyncMark(syncStartedAt, syncStartedAt));
+        } else {
+            Date changesSince = new Date(syncMark.highWaterMark - TimeUnit.SECONDS.toMillis(changesSinceOverlapSeconds));
+            serverList = getServersFromOpenStack(region, tenant, changesSince);
+            if (serverList == null) {
+                // keep the previous mark so the same changes are requested again next time
+                return;
+            }
+            serverSyncMarks.put(tenant.getId(), new ServerSyncMark(syncStartedAt, syncMark.lastFullSync));
+            LOG.debug("Tenant {}: {} server(s) changed since {}", tenant.getTenantAlias(), serverList.size(), changesSince);
+        }
+        List<CinderVolume> volumesFromOpenStack = listing != null
+            ? listing.volumes(tenant.getNativeId())
+            : getVolumesFromOpenStack(region, tenant);
+        // volumes are reconciled only against a successful listing, an empty list would delete every stored volume
+        boolean volumesListed = volumesFromOpenStack != null;
+        if (volumesListed) {
+            synchronizeVolumes(collectVolumeHosts(dbServers, serverList, fullSync), volumesFromOpenStack,
+                region, tenant);
+        }
+        Map<String, CinderVolume> volumeMap = volumesListed
+            ? volumesFromOpenStack.stream().collect(Collectors.toMap(CinderVolume::getId, Function.identity()))
+            : Collections.emptyMap();
         Map<String, Server> serverMap = serverList.stream()
             .collect(Collectors.toMap(Server::getId, Function.identity()));
 
+        List<ServerConfigUpdate> serverUpdates = new ArrayList<>();
         for (OpenStackServerConfig openStackServerConfig : dbServers) {
             ServerStateEnum previousServerState = openStackServerConfig.getState();
             Server server = serverMap.remove(openStackServerConfig.getNativeId());
+            if (server == null && !fullSync) {
+                // not changed since the previous sync
+                continue;
+            }
             ServerStateEnum currentServerState;
 
             if (server != null) {
@@ -182,9 +290,10 @@ public class OpenStackAgentRegularScheduler extends AbstractScheduler {
                 instanceRunRecordDao.save(new InstanceRunRecord(region.getId(), tenant.getId(),
                     server.getImageId(), System.currentTimeMillis() - openStackServerConfig.getStartTime()));
             }
-            Boolean finalRunSuccess = runSuccess;
-            executeOperation(tenant,
-                () -> updateServerDbState(openStackServerConfig, server, currentServerState, finalRunSuccess));
+            ServerConfigUpdate serverUpdate = toServerUpdate(openStackServerConfig, server, currentServerState, runSuccess);
+            if (serverUpdate != null) {
+                serverUpdates.add(serverUpdate);
+            }
             boolean instanceStateChanged = openStackServerConfig.getState() != currentServerState;
             boolean instanceVolumesChanged = server != null && isVolumeChanged(openStackServerConfig, server);
 
@@ -192,11 +301,14 @@ public class OpenStackAgentRegularScheduler extends AbstractScheduler {
                 generateAuditEventInternally(region, tenant, openStackServerConfig, currentServerState,
                     previousServerState, server, instanceStateChanged, false, volumeMap);
             }
-            if (instanceVolumesChanged) {
+            if (instanceVolumesChanged && volumesListed) {
                 processVolumeAudit(region, tenant, openStackServerConfig, server, volumeMap);
             }
 
         }
+        if (!serverUpdates.isEmpty()) {
+            executeOperation(tenant, () -> dbServicesProvider.getServerDbService().updateServerConfigs(serverUpdates));
+        }
         if (describeAllInstances) {
             processInstancesFromOs(region, tenant, serverMap, volumeMap);
         }
@@ -223,7 +335,35 @@ public class OpenStackAgentRegularScheduler extends AbstractScheduler {
         }
     }
 
-    private void synchronizeVolumes(List<Server> serverList, List<CinderVolume> volumesFromCP,
+    /**
+     * Maps attached volume ids to ids of servers they are attached to. During incremental sync only changed servers
+     * come from OpenStack, so attachments of the other servers are taken from their DB state.
+     */
+    private Map<String, String> collectVolumeHosts(Collection<OpenStackServerConfig> dbServers, List<Server> serverList,
+                                                   boolean fullSync) {
+        Map<String, String> hostsByAttachedVolumeId = new HashMap<>();
+        if (!fullSync) {
+            Set<String> changedServerIds = serverList.stream()
+                .map(Server::getId)
+                .collect(Collectors.toSet());
+            for (OpenStackServerConfig dbServer : dbServers) {
+                if (!changedServerIds.contains(dbServer.getNativeId()) && dbServer.getAttachedVolumes() != null) {
+                    for (String volumeId : dbServer.getAttachedVolumes()) {
+                        hostsByAttachedVolumeId.put(volumeId, dbServer.getNativeId());
+                    }
+                }
+            }
+        }
+        for (Server server : serverList) {
+            List<CinderVolume> volumes = server.getVolumes();
+            for (CinderVolume volume : volumes) {
+                hostsByAttachedVolumeId.put(volume.getId(), server.getId());
+            }
+        }
+        return hostsByAttachedVolumeId;
+    }
+
+    private void synchronizeVolumes(Map<String, String> hostsByAttachedVolumeId, List<CinderVolume> volumesFromCP,
                                     OpenStackRegionConfig region, OpenStackTenant tenant) {
         Map<String, CinderVolume> volumeIdsFromCloudProvider = volumesFromCP.stream()
             .filter(Objects::nonNull)
@@ -237,13 +377,6 @@ public class OpenStackAgentRegularScheduler extends AbstractScheduler {
             .filter(v -> !volumeIdsFromCloudProvider.containsKey(v.getId()))
             .collect(Collectors.toList());
 
-        Map<String, String> hostsByAttachedVolumeId = new HashMap<>();
-        for (Server server : serverList) {
-            List<CinderVolume> volumes = server.getVolumes();
-            for (CinderVolume volume : volumes) {
-                hostsByAttachedVolumeId.put(volume.getId(), server.getId());
-            }
-        }
         volumesFromCP.forEach(v -> {
             v.setHost(hostsByAttachedVolumeId.get(v.getId()));
             v.setRegion(region.getRegionAlias());
@@ -267,7 +400,8 @@ public class OpenStackAgentRegularScheduler extends AbstractScheduler {
             ServerStateEnum serverState = OpenStackServerStateDetector.toServerState(
                 server.getStatus(), server.getPowerState(), server.getTaskState());
             if (serverState == ServerStateEnum.CREATING ||
-                serverState == ServerStateEnum.STARTING) {
+                serverState == ServerStateEnum.STARTING ||
+                serverState == ServerStateEnum.TERMINATED) {
                 continue;
             }
             OpenStackServerConfig serverConfig = new OpenStackServerConfig();
@@ -309,23 +443,65 @@ public class OpenStackAgentRegularScheduler extends AbstractScheduler {
             !(dbVolumes.containsAll(nativeVolumes) && nativeVolumes.containsAll(dbVolumes));
     }
 
-    private List<Server> getServersFromOpenStack(OpenStackRegionConfig region, OpenStackTenant tenant) {
+    /**
+     * @param changesSince if set, only servers changed since this moment are listed
+     * @return servers or null if they could not be listed
+     */
+    private List<Server> getServersFromOpenStack(OpenStackRegionConfig region, OpenStackTenant tenant, Date changesSince) {
         try {
-            return apiProvider.openStack(tenant, region).compute().servers().list();
+            List<Server> servers = new ArrayList<>();
+            IServerService serverService = apiProvider.openStack(tenant, region).compute().servers();
+            if (changesSince == null) {
+                serverService.list(servers::add);
+            } else {
+                serverService.listChangedSince(changesSince, servers::add);
+            }
+            return servers;
         } catch (OSClientException | M3PrivateAgentException e) {
             LOG.error(e.getMessage(), e);
             // skip further exception throwing
-            return Collections.emptyList();
+            return null;
         }
     }
 
+    /**
+     * Lists servers and volumes of all tenants of the region with admin credentials.
+     *
+     * @return listing split by project id or null if it could not be fetched
+     */
+    private RegionListing listAllTenants(OpenStackRegionConfig region) {
+        try {
+            long started = System.currentTimeMillis();
+            IOpenStackApi adminApi = apiProvider.adminOpenStack(region);
+            RegionListing listing = new RegionListing();
+            adminApi.compute().servers().listAllTenants(server -> listing.serversByProject
+                .computeIfAbsent(server.getTenantId(), id -> new ArrayList<>())
+                .add(server));
+            adminApi.blockStorage().volumes().listAllTenants(volume -> listing.volumesByProject
+                .computeIfAbsent(volume.getProjectId(), id -> new ArrayList<>())
+                .add(volume));
+            LOG.info("Region {}: listed servers of {} and volumes of {} project(s) in {} ms", region.getRegionAlias(),
+                listing.serversByProject.size(), listing.volumesByProject.size(), System.currentTimeMillis() - started);
+            return listing;
+        } catch (OSClientException | M3PrivateAgentException e) {
+            LOG.error("Failed to list all tenants of region " + region.getRegionAlias()
+                + ", falling back to per-tenant listing: " + e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * @return volumes of the tenant or null if they could not be listed
+     */
     private List<CinderVolume> getVolumesFromOpenStack(OpenStackRegionConfig region, OpenStackTenant tenant) {
         try {
-            return apiProvider.openStack(tenant, region).blockStorage().volumes().list(tenant.getNativeId());
+            List<CinderVolume> volumes = new ArrayList<>();
+            apiProvider.openStack(tenant, region).blockStorage().volumes().list(tenant.getNativeId(), volumes::add);
+            return volumes;
         } catch (OSClientException | M3PrivateAgentException e) {
             LOG.error(e.getMessage(), e);
             // skip further exception throwing
-            return Collections.emptyList();
+            return null;
         }
     }
 
@@ -364,6 +540,8 @@ public class OpenStackAgentRegularScheduler extends AbstractScheduler {
         if (server != null) {
             attachedDisks = server.getVolumes().stream()
                 .map(vol -> volumeMap.get(vol.getId()))
+                // volumes that were not listed this cycle are left out
+                .filter(Objects::nonNull)
                 .map(vol -> new SdkOsDiskInfo(vol.getId(), vol.getSize(), vol.getVolumeType(), vol.isBootable()))
                 .collect(Collectors.toList());
         } else {
@@ -406,33 +584,43 @@ public class OpenStackAgentRegularScheduler extends AbstractScheduler {
             locker.executeOperation(tenant.getId(), operation);
         } catch (M3PrivateAgentException e) {
             LOG.error(e.getMessage(), e);
+        } catch (LeaseLostException e) {
+            // another node may have written the tenant servers concurrently, reconcile them fully next time
+            LOG.warn("Tenant {}: {}", tenant.getTenantAlias(), e.getMessage());
+            serverSyncMarks.remove(tenant.getId());
         }
     }
 
-    private void updateServerDbState(OpenStackServerConfig openStackServerConfig, Server server, ServerStateEnum state, Boolean runSuccess) {
+    /**
+     * @return fields of the stored config that differ from the server in OpenStack or null if nothing changed
+     */
+    private ServerConfigUpdate toServerUpdate(OpenStackServerConfig openStackServerConfig, Server server,
+                                              ServerStateEnum state, Boolean runSuccess) {
+        boolean changed = openStackServerConfig.getState() != state || runSuccess != null;
+        String privateIpAddress = null;
+        Set<String> volumes = null;
         if (server != null) {
-            String privateIpAddress = null;
             List<Address> addressList = server.getAddresses().getPrivateAddresses();
             if (CollectionUtils.isNotEmpty(addressList)) {
                 privateIpAddress = addressList.get(0).getIp();
-                setPrivateIp(openStackServerConfig, privateIpAddress);
+                // servers that are still building may have no network interface info yet
+                OpenStackNetworkInterfaceInfo networkInterfaceInfo = openStackServerConfig.getNetworkInterfaceInfo();
+                String knownPrivateIp = networkInterfaceInfo == null ? null : networkInterfaceInfo.getPrivateIP();
+                if (!StringUtils.equals(privateIpAddress, knownPrivateIp)) {
+                    changed = true;
+                    setPrivateIp(openStackServerConfig, privateIpAddress);
+                }
+            }
+            if (isVolumeChanged(openStackServerConfig, server)) {
+                changed = true;
+                volumes = server.getVolumes().stream()
+                    .map(CinderVolume::getId)
+                    .collect(Collectors.toSet());
             }
-            Set<String> volumes = server.getVolumes().stream()
-                .map(CinderVolume::getId)
-                .collect(Collectors.toSet());
-            dbServicesProvider.getServerDbService().updateServerConfig(
-                openStackServerConfig.getId(),
-                state,
-                privateIpAddress,
-                volumes,
-                runSuccess);
-        } else {
-            dbServicesProvider.getServerDbService().updateServerConfig(
-                openStackServerConfig.getId(),
-                state,
-                null,
-                runSuccess);
         }
+        return changed
+            ? new ServerConfigUpdate(openStackServerConfig.getId(), state, privateIpAddress, volumes, runSuccess)
+            : null;
     }
 
     private void setPrivateIp(OpenStackServerConfig openStackServerConfig, String privateIp) {
@@ -488,4 +676,32 @@ public class OpenStackAgentRegularScheduler extends AbstractScheduler {
         }
         return cadfAuditEvent;
     }
+
+    /**
+     * Servers and volumes of a region, grouped by the OpenStack project they belong to.
+     */
+    private static final class RegionListing {
+
+        private final Map<String, List<Server>> serversByProject = new HashMap<>();
+        private final Map<String, List<CinderVolume>> volumesByProject = new HashMap<>();
+
+        private List<Server> servers(String projectId) {
+            return serversByProject.getOrDefault(projectId, Collections.emptyList());
+        }
+
+        private List<CinderVolume> volumes(String projectId) {
+            return volumesByProject.getOrDefault(projectId, Collections.emptyList());
+        }
+    }
+
+    private static final class ServerSyncMark {
+
+        private final long highWaterMark;
+        private final long lastFullSync;
+
+        private ServerSyncMark(long highWaterMark, long lastFullSync) {
+            this.highWaterMark = highWaterMark;
+            this.lastFullSync = lastFullSync;
+        }
+    }
 }
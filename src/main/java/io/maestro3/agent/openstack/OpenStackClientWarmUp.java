@@ -0,0 +1,165 @@
+/*
+ * Copyright 2023 Maestro Cloud Control LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.maestro3.agent.openstack;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.maestro3.agent.dao.IOpenStackRegionRepository;
+import io.maestro3.agent.model.base.TenantState;
+import io.maestro3.agent.model.region.OpenStackRegionConfig;
+import io.maestro3.agent.model.tenant.OpenStackTenant;
+import io.maestro3.agent.openstack.provider.OpenStackApiProvider;
+import io.maestro3.agent.service.IShardAssignmentService;
+import io.maestro3.agent.service.TenantDbService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+
+/**
+ * Prepares OpenStack clients right after startup, before the first describer cycle needs them.
+ * <p>
+ * Clients of all describable tenants, and admin clients of regions listed with admin credentials, are created,
+ * authorized and get endpoints of the main services resolved in parallel, with the same per-region limits as the
+ * describers. The agent is reported ready when the warm-up finishes or its deadline passes, whichever comes first.
+ */
+@Component
+public class OpenStackClientWarmUp {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OpenStackClientWarmUp.class);
+
+    private final OpenStackApiProvider apiProvider;
+    private final IOpenStackRegionRepository regionRepository;
+    private final TenantDbService tenantDbService;
+    private final IShardAssignmentService shardAssignmentService;
+    private final OpenStackTenantFanOutExecutor tenantExecutor;
+    private final boolean enabled;
+    private final long deadlineMillis;
+
+    private final AtomicInteger warmedClients = new AtomicInteger();
+    private final AtomicInteger failedClients = new AtomicInteger();
+    private volatile long startedAt;
+    private volatile long finishedAt;
+
+    @Autowired
+    public OpenStackClientWarmUp(OpenStackApiProvider apiProvider,
+                                 IOpenStackRegionRepository regionRepository,
+                                 TenantDbService tenantDbService,
+                                 IShardAssignmentService shardAssignmentService,
+                                 OpenStackTenantFanOutExecutor tenantExecutor,
+                                 @Value("${openstack.warmup.enabled:true}") boolean enabled,
+                                 @Value("${openstack.warmup.deadline.seconds:120}") long deadlineSeconds) {
+        this.apiProvider = apiProvider;
+        this.regionRepository = regionRepository;
+        this.tenantDbService = tenantDbService;
+        this.shardAssignmentService = shardAssignmentService;
+        this.tenantExecutor = tenantExecutor;
+        this.enabled = enabled;
+        this.deadlineMillis = TimeUnit.SECONDS.toMillis(deadlineSeconds);
+    }
+
+    @PostConstruct
+    public void start() {
+        startedAt = System.currentTimeMillis();
+        if (!enabled) {
+            finishedAt = startedAt;
+            return;
+        }
+        new ThreadFactoryBuilder()
+            .setNameFormat("os-client-warmup")
+            .setDaemon(true)
+            .build()
+            .newThread(this::warmUp)
+            .start();
+    }
+
+    /**
+     * @return true when the warm-up has finished or its deadline has passed
+     */
+    public boolean isReady() {
+        return finishedAt != 0 || System.currentTimeMillis() - startedAt >= deadlineMillis;
+    }
+
+    /**
+     * @return duration of the warm-up, or time spent so far if it is still running
+     */
+    public long getDurationMillis() {
+        long finished = finishedAt;
+        return (finished != 0 ? finished : System.currentTimeMillis()) - startedAt;
+    }
+
+    public int getWarmedClients() {
+        return warmedClients.get();
+    }
+
+    public int getFailedClients() {
+        return failedClients.get();
+    }
+
+    private void warmUp() {
+        try {
+            Map<OpenStackRegionConfig, List<OpenStackTenant>> tenantsByRegion = new LinkedHashMap<>();
+            for (OpenStackRegionConfig region : regionRepository.findAllOSRegionsAvailableForDescribers()) {
+                List<OpenStackTenant> tenants = tenantDbService.findAllByRegion(region.getId()).stream()
+                    .filter(tenant -> shardAssignmentService.ownsTenant(region.getId(), tenant.getId()))
+                    .filter(tenant -> tenant.isSkipHealthCheck() || tenant.getTenantState() == TenantState.AVAILABLE)
+                    .collect(Collectors.toList());
+                tenantsByRegion.put(region, tenants);
+                if (region.isAllTenantsListing() && !tenants.isEmpty()) {
+                    warmUp(region, null);
+                }
+            }
+            LOG.info("Warming up OpenStack clients of {} tenant(s) in {} region(s)...",
+                tenantsByRegion.values().stream().mapToInt(List::size).sum(), tenantsByRegion.size());
+            tenantExecutor.execute(tenantsByRegion, this::warmUp);
+        } catch (Exception e) {
+            LOG.error("OpenStack clients warm-up failed: " + e.getMessage(), e);
+        } finally {
+            finishedAt = System.currentTimeMillis();
+            LOG.info("OpenStack clients warm-up finished in {} ms: {} client(s) ready, {} failed",
+                finishedAt - startedAt, warmedClients.get(), failedClients.get());
+        }
+    }
+
+    /**
+     * @param tenant tenant to warm up the client of, admin client of the region if null
+     */
+    private void warmUp(OpenStackRegionConfig region, OpenStackTenant tenant) {
+        try {
+            if (tenant == null) {
+                apiProvider.warmUpAdmin(region);
+            } else {
+                apiProvider.warmUp(tenant, region);
+            }
+            warmedClients.incrementAndGet();
+        } catch (Exception e) {
+            failedClients.incrementAndGet();
+            LOG.warn("Failed to warm up {} client in region {}: {}",
+                tenant == null ? "admin" : tenant.getTenantAlias(), region.getRegionAlias(), e.getMessage());
+        }
+    }
+}
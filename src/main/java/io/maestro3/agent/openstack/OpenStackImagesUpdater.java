@@ -17,7 +17,7 @@
 
 package io.maestro3.agent.openstack;
 
-import io.maestro3.agent.cadf.CadfAuditEventSender;
+import io.maestro3.agent.cadf.BatchingCadfAuditEventSender;
 import io.maestro3.agent.cadf.openstack.CadfUtils;
 import io.maestro3.agent.dao.IOpenStackRegionRepository;
 import io.maestro3.agent.exception.M3PrivateAgentException;
@@ -33,9 +33,11 @@ import io.maestro3.agent.model.enums.OpenStackVersion;
 import io.maestro3.agent.model.image.OpenStackMachineImage;
 import io.maestro3.agent.model.region.OpenStackRegionConfig;
 import io.maestro3.agent.model.tenant.OpenStackTenant;
+import io.maestro3.agent.openstack.api.images.extension.IImageExtension;
 import io.maestro3.agent.openstack.exception.OSClientException;
 import io.maestro3.agent.openstack.provider.OpenStackApiProvider;
 import io.maestro3.agent.service.DbServicesProvider;
+import io.maestro3.agent.service.IShardAssignmentService;
 import io.maestro3.sdk.internal.util.CollectionUtils;
 import io.maestro3.sdk.internal.util.DateUtils;
 import io.maestro3.sdk.v3.model.audit.AuditEventGroupType;
@@ -52,6 +54,7 @@ import org.bson.types.ObjectId;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
@@ -59,10 +62,13 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -71,21 +77,32 @@ import java.util.stream.Collectors;
 public class OpenStackImagesUpdater {
 
     private static final Logger LOG = LoggerFactory.getLogger(OpenStackImagesUpdater.class);
+    private static final long PUBLIC_IMAGES_DELTA_OVERLAP_MILLIS = TimeUnit.MINUTES.toMillis(1);
 
     private final OpenStackApiProvider apiProvider;
     private final DbServicesProvider dbServicesProvider;
-    private final CadfAuditEventSender auditEventSender;
+    private final BatchingCadfAuditEventSender auditEventSender;
     private final IOpenStackRegionRepository regionService;
+    private final IShardAssignmentService shardAssignmentService;
+    /**
+     * Public images per region id, refreshed with delta queries between full listings.
+     */
+    private final Map<String, PublicImageSnapshot> publicImageSnapshots = new ConcurrentHashMap<>();
+
+    @Value("${openstack.images.public.full.refresh.minutes:30}")
+    private long publicImagesFullRefreshMinutes;
 
     @Autowired
     public OpenStackImagesUpdater(OpenStackApiProvider apiProvider,
                                   IOpenStackRegionRepository regionService,
                                   DbServicesProvider dbServicesProvider,
-                                  CadfAuditEventSender auditEventSender) {
+                                  BatchingCadfAuditEventSender auditEventSender,
+                                  IShardAssignmentService shardAssignmentService) {
         this.apiProvider = apiProvider;
         this.regionService = regionService;
         this.auditEventSender = auditEventSender;
         this.dbServicesProvider = dbServicesProvider;
+        this.shardAssignmentService = shardAssignmentService;
     }
 
     public void updateImages(boolean forceUpdate) {
@@ -102,7 +119,7 @@ public class OpenStackImagesUpdater {
             .findAllByRegion(regionConfig.getId());
         LOG.info("Tenant configs : {}", tenantConfigs);
 
-        tenantConfigs.stream()
+        List<OpenStackTenant> availableTenants = tenantConfigs.stream()
             .filter(tenant -> {
                 if (tenant.isSkipHealthCheck() || tenant.getTenantState().equals(TenantState.AVAILABLE)) {
                     return true;
@@ -110,28 +127,108 @@ public class OpenStackImagesUpdater {
                 LOG.debug("Tenant {} skipped because it state is not AVAILABLE", tenant.getId());
                 return false;
             })
-            .forEach(tenantConfig -> updateTenantInRegionImages(tenantConfig, regionConfig, forceUpdate));
-    }
+            .collect(Collectors.toList());
+        if (availableTenants.isEmpty()) {
+            return;
+        }
 
-    private void updateTenantInRegionImages(OpenStackTenant tenantConfig, OpenStackRegionConfig regionConfig, boolean forceUpdate) {
         List<OpenStackMachineImage> machineImages = dbServicesProvider.getMachineImageDbService()
             .findByRegionId(regionConfig.getId());
         LOG.info("Machine images : {}", machineImages);
 
         AdminProjectMeta adminProjectMeta = regionConfig.getAdminProjectMeta();
-        Set<PlatformShapeMapping> publicImagesMapping = adminProjectMeta.getAvailablePublicImagesPlatformMapping();
+        if (shardAssignmentService.ownsRegion(regionConfig.getId())) {
+            updateRegionPublicImages(machineImages, adminProjectMeta, availableTenants, regionConfig, forceUpdate);
+        }
 
-        Set<String> availablePublicImagesNativeNames = publicImagesMapping.stream()
+        Set<String> availablePublicImagesNativeNames = adminProjectMeta.getAvailablePublicImagesPlatformMapping().stream()
             .map(PlatformShapeMapping::getName)
             .collect(Collectors.toSet());
-
-        synchronizePublicImagesAndGenerateAuditEvent(machineImages, adminProjectMeta, tenantConfig, regionConfig, forceUpdate);
-
         List<OpenStackMachineImage> privateImagesFromDb = machineImages.stream()
             .filter(machineImage -> !availablePublicImagesNativeNames.contains(machineImage.getNativeName()))
             .collect(Collectors.toList());
         LOG.info("Private images : {}", privateImagesFromDb);
 
+        availableTenants.stream()
+            .filter(tenant -> shardAssignmentService.ownsTenant(regionConfig.getId(), tenant.getId()))
+            .forEach(tenantConfig -> updateTenantInRegionImages(tenantConfig, regionConfig, privateImagesFromDb));
+    }
+
+    /**
+     * Synchronizes public images of the region once per run. The DB is only touched when the region snapshot
+     * of public images changed or the update is forced.
+     */
+    private void updateRegionPublicImages(List<OpenStackMachineImage> machineImages, AdminProjectMeta adminProjectMeta,
+                                          List<OpenStackTenant> tenants, OpenStackRegionConfig regionConfig,
+                                          boolean forceUpdate) {
+        // public images are the same for every tenant, so any of them can list them
+        OpenStackTenant listingTenant = tenants.get(0);
+        boolean changed;
+        try {
+            changed = refreshPublicImages(listingTenant, regionConfig);
+        } catch (OSClientException | M3PrivateAgentException e) {
+            LOG.error(e.getMessage(), e);
+            return;
+        }
+        if (!changed && !forceUpdate) {
+            LOG.info("Public images of region {} are not changed", regionConfig.getRegionAlias());
+            return;
+        }
+        List<Image> publicImagesFromOs = new ArrayList<>(publicImageSnapshots.get(regionConfig.getId()).imagesById.values());
+        // forced update re-sends audit events of public images for every tenant
+        List<OpenStackTenant> syncTenants = forceUpdate ? tenants : Collections.singletonList(listingTenant);
+        for (int i = 0; i < syncTenants.size(); i++) {
+            // later tenants see images saved or removed by the previous ones, so DB changes and their events happen once
+            List<OpenStackMachineImage> regionImages = i == 0
+                ? machineImages
+                : dbServicesProvider.getMachineImageDbService().findByRegionId(regionConfig.getId());
+            synchronizePublicImagesAndGenerateAuditEvent(regionImages, publicImagesFromOs, adminProjectMeta,
+                syncTenants.get(i), regionConfig, forceUpdate);
+        }
+    }
+
+    /**
+     * Updates the in-memory snapshot of public images of the region. The full list is requested on the first run and
+     * every {@code publicImagesFullRefreshMinutes} to notice removed images; in between only images updated since
+     * the previous refresh are requested.
+     *
+     * @return true if any public image was added or changed its name or status
+     */
+    private boolean refreshPublicImages(OpenStackTenant tenantConfig, OpenStackRegionConfig regionConfig)
+        throws OSClientException, M3PrivateAgentException {
+        IImageExtension imageApi = apiProvider.openStack(tenantConfig, regionConfig).images().image();
+        long refreshStartedAt = System.currentTimeMillis();
+        PublicImageSnapshot previous = publicImageSnapshots.get(regionConfig.getId());
+        if (previous == null
+            || refreshStartedAt - previous.lastFullRefresh >= TimeUnit.MINUTES.toMillis(publicImagesFullRefreshMinutes)) {
+            Map<String, Image> imagesById = new LinkedHashMap<>();
+            for (Image image : imageApi.listPublic()) {
+                if (image != null) {
+                    imagesById.put(image.getId(), image);
+                }
+            }
+            publicImageSnapshots.put(regionConfig.getId(), new PublicImageSnapshot(imagesById, refreshStartedAt, refreshStartedAt));
+            return true;
+        }
+
+        List<Image> updatedImages = imageApi.listPublic(new Date(previous.lastRefresh - PUBLIC_IMAGES_DELTA_OVERLAP_MILLIS));
+        Map<String, Image> imagesById = new LinkedHashMap<>(previous.imagesById);
+        boolean changed = false;
+        for (Image image : updatedImages) {
+            if (image == null) {
+                continue;
+            }
+            Image known = imagesById.put(image.getId(), image);
+            changed |= known == null
+                || !Objects.equals(known.getName(), image.getName())
+                || !Objects.equals(known.getStatus(), image.getStatus());
+        }
+        publicImageSnapshots.put(regionConfig.getId(), new PublicImageSnapshot(imagesById, refreshStartedAt, previous.lastFullRefresh));
+        return changed;
+    }
+
+    private void updateTenantInRegionImages(OpenStackTenant tenantConfig, OpenStackRegionConfig regionConfig,
+                                            List<OpenStackMachineImage> privateImagesFromDb) {
         List<Image> privateImagesFromOs = getImagesFromOpenStack(tenantConfig, regionConfig).stream()
             .filter(image -> regionConfig.getOsVersion() == OpenStackVersion.OCATA || ImageType.SNAPSHOT == image.getType())
             .collect(Collectors.toList());
@@ -148,7 +245,8 @@ public class OpenStackImagesUpdater {
             .collect(Collectors.toMap(Image::getId, Function.identity()));
 
         if (CollectionUtils.isNotEmpty(privateImagesFromDb)) {
-            privateImagesFromDb.forEach(machineImage -> {
+            // removed images are dropped from the list shared by the tenants of the region
+            privateImagesFromDb.removeIf(machineImage -> {
 
                 String nativeId = machineImage.getNativeId();
 
@@ -167,6 +265,7 @@ public class OpenStackImagesUpdater {
 
                         generateAuditEventInternally(regionConfig, tenantConfig, machineImage, image, cadfAction);
                     }
+                    return false;
                 } else {
                     dbServicesProvider.getMachineImageDbService().removeByNativeId(nativeId);
                     cadfAction = CadfActions.delete();
@@ -174,18 +273,18 @@ public class OpenStackImagesUpdater {
                     generateAuditEventInternally(regionConfig, tenantConfig, machineImage, null, cadfAction);
 
                     LOG.info(String.format("Image with native id : %s was removed from db", nativeId));
+                    return true;
                 }
             });
         }
     }
 
     private void synchronizePublicImagesAndGenerateAuditEvent(List<OpenStackMachineImage> machineImages,
+                                                              List<Image> publicImagesFromOs,
                                                               AdminProjectMeta adminProjectMeta,
                                                               OpenStackTenant tenantConfig,
                                                               OpenStackRegionConfig regionConfig,
                                                               boolean forceUpdate) {
-        List<Image> publicImagesFromOs = listPublicImagesFromOs(tenantConfig, regionConfig);
-
         Set<PlatformShapeMapping> publicImagesMapping = adminProjectMeta.getAvailablePublicImagesPlatformMapping();
 
         Set<String> availablePublicImagesNativeNames = publicImagesMapping.stream()
@@ -282,16 +381,6 @@ public class OpenStackImagesUpdater {
         }
     }
 
-    private List<Image> listPublicImagesFromOs(OpenStackTenant tenantConfig, OpenStackRegionConfig regionConfig) {
-        try {
-            return apiProvider.openStack(tenantConfig, regionConfig).images().image().listPublic();
-
-        } catch (OSClientException | M3PrivateAgentException e) {
-            LOG.error(e.getMessage(), e);
-            return Collections.emptyList();
-        }
-    }
-
     private List<Image> getImagesFromOpenStack(OpenStackTenant tenantConfig, OpenStackRegionConfig regionConfig) {
         try {
             return apiProvider.openStack(tenantConfig, regionConfig).images().image().listProject(tenantConfig.getNativeId());
@@ -351,4 +440,16 @@ public class OpenStackImagesUpdater {
             .build();
     }
 
+    private static final class PublicImageSnapshot {
+
+        private final Map<String, Image> imagesById;
+        private final long lastRefresh;
+        private final long lastFullRefresh;
+
+        private PublicImageSnapshot(Map<String, Image> imagesById, long lastRefresh, long lastFullRefresh) {
+            this.imagesById = imagesById;
+            this.lastRefresh = lastRefresh;
+            this.lastFullRefresh = lastFullRefresh;
+        }
+    }
 }
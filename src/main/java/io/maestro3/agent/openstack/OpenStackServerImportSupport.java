@@ -18,7 +18,6 @@
 package io.maestro3.agent.openstack;
 
 import io.maestro3.agent.converter.M3PrivateAgentModelConverter;
-import io.maestro3.agent.dao.IOpenStackRegionRepository;
 import io.maestro3.agent.exception.M3PrivateAgentException;
 import io.maestro3.agent.model.general.ServerConfig;
 import io.maestro3.agent.model.region.OpenStackRegionConfig;
@@ -28,6 +27,7 @@ import io.maestro3.agent.model.tenant.OpenStackTenant;
 import io.maestro3.agent.openstack.exception.OSClientException;
 import io.maestro3.agent.model.compute.Server;
 import io.maestro3.agent.openstack.provider.OpenStackApiProvider;
+import io.maestro3.agent.service.RegionDbService;
 import io.maestro3.agent.service.ServerDbService;
 import io.maestro3.agent.service.TenantDbService;
 import io.maestro3.sdk.internal.util.Assert;
@@ -47,12 +47,12 @@ import java.util.stream.Collectors;
 public class OpenStackServerImportSupport implements IOpenStackServerImportSupport {
 
     private final OpenStackApiProvider apiProvider;
-    private final IOpenStackRegionRepository regionDbService;
+    private final RegionDbService regionDbService;
     private final TenantDbService tenantDbService;
     private final ServerDbService serverDbService;
 
     @Autowired
-    public OpenStackServerImportSupport(OpenStackApiProvider apiProvider, IOpenStackRegionRepository regionDbService,
+    public OpenStackServerImportSupport(OpenStackApiProvider apiProvider, RegionDbService regionDbService,
                                         TenantDbService tenantDbService, ServerDbService serverDbService) {
         this.apiProvider = apiProvider;
         this.regionDbService = regionDbService;
@@ -23,6 +23,7 @@ import io.maestro3.agent.model.region.OpenStackRegionConfig;
 import io.maestro3.agent.scheduler.AbstractScheduler;
 import io.maestro3.agent.service.IOpenStackNetworkingProvider;
 import io.maestro3.agent.service.IServiceFactory;
+import io.maestro3.agent.service.IShardAssignmentService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -36,16 +37,19 @@ public class OpenStackStaticIpScheduler extends AbstractScheduler {
 
     private final IServiceFactory<IOpenStackNetworkingProvider> networkingServiceFactory;
     private final IOpenStackRegionRepository regionRepository;
+    private final IShardAssignmentService shardAssignmentService;
 
     @Value("${flag.enable.images.static.ip.describer:true}")
     private boolean enabledImagesScheduledDescriber;
 
     @Autowired
     public OpenStackStaticIpScheduler(IServiceFactory<IOpenStackNetworkingProvider> networkingServiceFactory,
-                                      IOpenStackRegionRepository regionRepository) {
+                                      IOpenStackRegionRepository regionRepository,
+                                      IShardAssignmentService shardAssignmentService) {
         super(PrivateCloudType.OPEN_STACK, true);
         this.networkingServiceFactory = networkingServiceFactory;
         this.regionRepository = regionRepository;
+        this.shardAssignmentService = shardAssignmentService;
     }
 
     @Override
@@ -60,6 +64,10 @@ public class OpenStackStaticIpScheduler extends AbstractScheduler {
         if (enabledImagesScheduledDescriber) {
             List<OpenStackRegionConfig> regions = regionRepository.findAllOSRegionsAvailableForDescribers();
             for (OpenStackRegionConfig region : regions) {
+                if (!shardAssignmentService.ownsRegion(region.getId())) {
+                    LOG.debug("Static ips of {} region are processed by another agent node", region.getRegionAlias());
+                    continue;
+                }
                 LOG.info("Processing static ips for {} region", region.getRegionAlias());
                 IOpenStackNetworkingProvider networkingProvider = networkingServiceFactory.get(region);
                 networkingProvider.networkingService().updateStaticIps();
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2023 Maestro Cloud Control LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.maestro3.agent.openstack;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.maestro3.agent.http.client.HttpRequestScope;
+import io.maestro3.agent.model.region.OpenStackRegionConfig;
+import io.maestro3.agent.model.tenant.OpenStackTenant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Runs per-tenant work of scheduled describers on a bounded worker pool.
+ * <p>
+ * Tenants of one region are processed by at most {@code maxTenantsPerRegion} workers at once, so a single keystone
+ * is not overloaded, while different regions proceed independently. Every tenant has its own deadline: when it is
+ * exceeded the OpenStack requests of the tenant are aborted, including the one blocked on a socket read, so the
+ * worker fails out of the task. Pooled threads are never interrupted; work other than HTTP calls is not bounded.
+ */
+@Component
+public class OpenStackTenantFanOutExecutor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OpenStackTenantFanOutExecutor.class);
+
+    private final ExecutorService workers;
+    private final ScheduledExecutorService watchdog;
+    private final int maxTenantsPerRegion;
+    private final long tenantTimeoutMillis;
+    private final long regionTimeoutMillis;
+
+    public OpenStackTenantFanOutExecutor(@Value("${openstack.describer.tenant.threads:8}") int threads,
+                                         @Value("${openstack.describer.region.max.concurrent.tenants:4}") int maxTenantsPerRegion,
+                                         @Value("${openstack.describer.tenant.timeout.seconds:50}") long tenantTimeoutSeconds,
+                                         @Value("${openstack.describer.region.timeout.seconds:120}") long regionTimeoutSeconds) {
+        this.workers = Executors.newFixedThreadPool(Math.max(1, threads), new ThreadFactoryBuilder()
+            .setNameFormat("os-tenant-describer-%d")
+            .setDaemon(true)
+            .build());
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+            .setNameFormat("os-tenant-describer-watchdog")
+            .setDaemon(true)
+            .build());
+        this.maxTenantsPerRegion = Math.max(1, maxTenantsPerRegion);
+        this.tenantTimeoutMillis = TimeUnit.SECONDS.toMillis(tenantTimeoutSeconds);
+        this.regionTimeoutMillis = TimeUnit.SECONDS.toMillis(regionTimeoutSeconds);
+    }
+
+    /**
+     * Executes the task for every tenant of every region and waits until all of them are finished or timed out.
+     *
+     * @param tenantsByRegion tenants to process grouped by their region
+     * @param task            per-tenant work
+     */
+    public void execute(Map<OpenStackRegionConfig, ? extends Collection<OpenStackTenant>> tenantsByRegion,
+                        BiConsumer<OpenStackRegionConfig, OpenStackTenant> task) {
+        int total = tenantsByRegion.values().stream()
+            .mapToInt(Collection::size)
+            .sum();
+        if (total == 0) {
+            return;
+        }
+        CountDownLatch latch = new CountDownLatch(total);
+        tenantsByRegion.forEach((region, tenants) -> {
+            if (tenants.isEmpty()) {
+                return;
+            }
+            RegionLane lane = new RegionLane(region, tenants, task, latch);
+            for (int i = 0; i < Math.min(maxTenantsPerRegion, tenants.size()); i++) {
+                lane.submitNext();
+            }
+        });
+        await(latch);
+    }
+
+    /**
+     * Executes region-wide work, one task per region on the same workers, and waits until all of them are finished or
+     * timed out.
+     *
+     * @param regions regions to process
+     * @param task    per-region work
+     */
+    public void executeForRegions(Collection<OpenStackRegionConfig> regions, Consumer<OpenStackRegionConfig> task) {
+        if (regions.isEmpty()) {
+            return;
+        }
+        CountDownLatch latch = new CountDownLatch(regions.size());
+        for (OpenStackRegionConfig region : regions) {
+            try {
+                workers.execute(() -> {
+                    try {
+                        runWithDeadline("Region " + region.getRegionAlias(), regionTimeoutMillis,
+                            () -> task.accept(region));
+                    } finally {
+                        latch.countDown();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                LOG.warn("Region {} was rejected: executor is shut down", region.getRegionAlias());
+                latch.countDown();
+            }
+        }
+        await(latch);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+        watchdog.shutdownNow();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            LOG.warn("Interrupted while waiting for {} task(s) to finish", latch.getCount());
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runWithDeadline(String name, long timeoutMillis, Runnable work) {
+        long started = System.currentTimeMillis();
+        HttpRequestScope requestScope = HttpRequestScope.open();
+        ScheduledFuture<?> deadline = watchdog.schedule(() -> {
+            LOG.warn("{} exceeded {} ms deadline, aborting its requests", name, timeoutMillis);
+            requestScope.abort();
+        }, timeoutMillis, TimeUnit.MILLISECONDS);
+        try {
+            work.run();
+        } catch (Exception e) {
+            LOG.error("Failed to process " + name + ": " + e.getMessage(), e);
+        } finally {
+            deadline.cancel(false);
+            // a late abort only affects this closed scope, never the next task of the pooled thread
+            requestScope.close();
+            LOG.debug("{} processed in {} ms", name, System.currentTimeMillis() - started);
+        }
+    }
+
+    /**
+     * Tenants of one region; each finished tenant hands its slot to the next queued one.
+     */
+    private class RegionLane {
+
+        private final OpenStackRegionConfig region;
+        private final Queue<OpenStackTenant> pending;
+        private final BiConsumer<OpenStackRegionConfig, OpenStackTenant> task;
+        private final CountDownLatch latch;
+
+        private RegionLane(OpenStackRegionConfig region, Collection<OpenStackTenant> tenants,
+                           BiConsumer<OpenStackRegionConfig, OpenStackTenant> task, CountDownLatch latch) {
+            this.region = region;
+            this.pending = new ConcurrentLinkedQueue<>(tenants);
+            this.task = task;
+            this.latch = latch;
+        }
+
+        private void submitNext() {
+            OpenStackTenant tenant = pending.poll();
+            if (tenant == null) {
+                return;
+            }
+            try {
+                workers.execute(() -> run(tenant));
+            } catch (RejectedExecutionException e) {
+                LOG.warn("Tenant {} in region {} was rejected: executor is shut down",
+                    tenant.getTenantAlias(), region.getRegionAlias());
+                latch.countDown();
+                submitNext();
+            }
+        }
+
+        private void run(OpenStackTenant tenant) {
+            try {
+                runWithDeadline("Tenant " + tenant.getTenantAlias() + " in region " + region.getRegionAlias(),
+                    tenantTimeoutMillis, () -> task.accept(region, tenant));
+            } finally {
+                latch.countDown();
+                submitNext();
+            }
+        }
+    }
+}
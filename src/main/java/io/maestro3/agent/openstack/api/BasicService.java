@@ -19,14 +19,21 @@ package io.maestro3.agent.openstack.api;
 
 import com.google.common.base.Function;
 import io.maestro3.agent.openstack.client.IOSClient;
+import io.maestro3.agent.openstack.client.OSClientOption;
 import io.maestro3.agent.openstack.exception.OSClientException;
 import io.maestro3.agent.openstack.helper.extractors.EndpointExtractor;
+import io.maestro3.agent.openstack.transport.request.BasicOSRequest;
+import io.maestro3.agent.openstack.transport.response.OSStreamingResponseDeserializer;
+import io.maestro3.agent.openstack.transport.response.OSStreamingResponseDeserializer.StreamedPage;
 import org.apache.commons.collections4.MapUtils;
 
+import java.lang.reflect.Type;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 
 
 public abstract class BasicService {
@@ -79,6 +86,79 @@ public abstract class BasicService {
         return null;
     }
 
+    /**
+     * Executes GET list request and streams elements of the response collection to the consumer
+     * without buffering the response body.
+     *
+     * @param path           request path relative to the service endpoint
+     * @param collectionName name of the collection field in the response, e.g. "servers"
+     * @param elementType    type of the collection element
+     * @param consumer       receives elements in response order
+     * @return streamed page summary
+     * @throws OSClientException Open Stack client exception
+     */
+    protected <E> StreamedPage streamList(String path, String collectionName, Type elementType,
+                                          Consumer<? super E> consumer) throws OSClientException {
+        OSStreamingResponseDeserializer<E> deserializer =
+            new OSStreamingResponseDeserializer<>(collectionName, elementType, consumer);
+        BasicOSRequest<StreamedPage> request = BasicOSRequest.builder(StreamedPage.class, endpoint())
+            .path(path)
+            .create();
+        StreamedPage page = client.execute(request, OSClientOption.builder().withDeserializer(deserializer).build())
+            .getEntity();
+        return page == null ? new StreamedPage() : page;
+    }
+
+    /**
+     * Streams every page of a collection using limit/marker pagination. Page size is taken from the client.
+     * The next page is requested only while the service reports a next link, so results stay complete when
+     * the service caps the requested limit, and at most one page is in flight at a time.
+     *
+     * @param path           request path relative to the service endpoint, may already contain query parameters
+     * @param collectionName name of the collection field in the response, e.g. "servers"
+     * @param elementType    type of the collection element
+     * @param idExtractor    extracts the id used as marker for the next page
+     * @param consumer       receives elements in response order
+     * @throws OSClientException Open Stack client exception
+     */
+    protected <E> void streamPages(String path, String collectionName, Class<E> elementType,
+                                   Function<? super E, String> idExtractor, Consumer<? super E> consumer)
+        throws OSClientException {
+        int pageSize = client.getListPageSize();
+        String marker = null;
+        while (true) {
+            String[] lastId = new String[1];
+            StreamedPage page = streamList(pagePath(path, pageSize, marker), collectionName, elementType, (E element) -> {
+                lastId[0] = idExtractor.apply(element);
+                consumer.accept(element);
+            });
+            if (!page.hasNextPage() || lastId[0] == null || lastId[0].equals(marker)) {
+                return;
+            }
+            marker = lastId[0];
+        }
+    }
+
+    /**
+     * Same as {@link #streamPages(String, String, Class, Function, Consumer)} but collects all elements.
+     */
+    protected <E> List<E> listPages(String path, String collectionName, Class<E> elementType,
+                                    Function<? super E, String> idExtractor) throws OSClientException {
+        List<E> result = new ArrayList<>();
+        streamPages(path, collectionName, elementType, idExtractor, result::add);
+        return result;
+    }
+
+    private static String pagePath(String path, int pageSize, String marker) {
+        StringBuilder pathBuilder = new StringBuilder(path)
+            .append(path.contains("?") ? "&" : "?")
+            .append("limit=").append(pageSize);
+        if (marker != null) {
+            pathBuilder.append("&marker=").append(marker);
+        }
+        return pathBuilder.toString();
+    }
+
     protected static String pathWithFilter(String path, Map<String, List<String>> filter) {
         if (MapUtils.isNotEmpty(filter)) {
             path = path.concat("?").concat(toUriParams(filter));
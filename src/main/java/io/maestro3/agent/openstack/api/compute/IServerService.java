@@ -24,8 +24,11 @@ import io.maestro3.agent.openstack.exception.OSClientException;
 import io.maestro3.agent.model.compute.RebootType;
 import io.maestro3.agent.model.compute.Server;
 
+import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 
 public interface IServerService {
@@ -38,6 +41,32 @@ public interface IServerService {
      */
     List<Server> list() throws OSClientException;
 
+    /**
+     * Streams all servers to the consumer as they are read from the response.
+     *
+     * @param consumer receives servers one by one
+     * @throws OSClientException Open Stack client exception
+     */
+    void list(Consumer<? super Server> consumer) throws OSClientException;
+
+    /**
+     * Streams servers changed since the specified moment to the consumer.
+     * Servers deleted since that moment are included with {@code DELETED} status.
+     *
+     * @param changesSince lower bound of server update time
+     * @param consumer     receives servers one by one
+     * @throws OSClientException Open Stack client exception
+     */
+    void listChangedSince(Date changesSince, Consumer<? super Server> consumer) throws OSClientException;
+
+    /**
+     * Streams servers of all projects to the consumer. Requires admin credentials.
+     *
+     * @param consumer receives servers one by one
+     * @throws OSClientException Open Stack client exception
+     */
+    void listAllTenants(Consumer<? super Server> consumer) throws OSClientException;
+
     Iterator<Server> listLimited(int limit) throws OSClientException;
 
     /**
@@ -58,6 +87,15 @@ public interface IServerService {
      */
     Server get(String id) throws OSClientException;
 
+    /**
+     * Gets server by id without blocking while the request is in flight.
+     *
+     * @param id id of a server
+     * @return future of the server, completed with null if server was not found
+     * @throws OSClientException if endpoint of the service cannot be resolved
+     */
+    CompletableFuture<Server> getAsync(String id) throws OSClientException;
+
     /**
      * Deletes (terminates) the server.
      *
@@ -66,6 +104,15 @@ public interface IServerService {
      */
     void delete(String id) throws OSClientException;
 
+    /**
+     * Deletes (terminates) the server without blocking while the request is in flight.
+     *
+     * @param id server id
+     * @return future completed when the request is accepted
+     * @throws OSClientException if endpoint of the service cannot be resolved
+     */
+    CompletableFuture<Void> deleteAsync(String id) throws OSClientException;
+
     /**
      * Stops the server.
      *
@@ -134,6 +181,10 @@ public interface IServerService {
 
     void detachVolume(String serverId, String volumeId) throws OSClientException;
 
+    CompletableFuture<Void> attachVolumeAsync(String serverId, String volumeId, String device) throws OSClientException;
+
+    CompletableFuture<Void> detachVolumeAsync(String serverId, String volumeId) throws OSClientException;
+
     String readAdminPassword(String serverId) throws OSClientException;
 
     void addSecurityGroup(String serverId, String securityGroupId) throws OSClientException;
@@ -41,9 +41,15 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.http.HttpStatus;
 import org.springframework.util.Assert;
 
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 import static io.maestro3.agent.openstack.transport.request.BasicOSRequest.builder;
 
@@ -51,6 +57,7 @@ import static io.maestro3.agent.openstack.transport.request.BasicOSRequest.build
 public abstract class BaseServerService extends BasicComputeService implements IServerService {
 
     private static final IOSClientOption WITH_NULL_SERIALIZER = OSClientOption.builder().withNullSerializer().build();
+    private static final String CHANGES_SINCE_FORMAT = "yyyy-MM-dd'T'HH:mm:ss'Z'";
 
     public BaseServerService(IOSClient client) {
         super(client);
@@ -58,12 +65,28 @@ public abstract class BaseServerService extends BasicComputeService implements I
 
     @Override
     public List<Server> list() throws OSClientException {
-        BasicOSRequest<Servers> list = builder(Servers.class, endpoint())
-            .path("/servers/detail")
-            .create();
-        Servers wrapper = client.execute(list).getEntity();
-        List<NovaServer> servers = (wrapper == null) ? null : wrapper.serversList;
-        return (servers != null) ? new ArrayList<>(servers) : new ArrayList<>();
+        List<Server> servers = new ArrayList<>();
+        list(servers::add);
+        return servers;
+    }
+
+    @Override
+    public void list(Consumer<? super Server> consumer) throws OSClientException {
+        streamPages("/servers/detail", "servers", NovaServer.class, NovaServer::getId, consumer);
+    }
+
+    @Override
+    public void listChangedSince(Date changesSince, Consumer<? super Server> consumer) throws OSClientException {
+        Assert.notNull(changesSince, "changesSince cannot be null.");
+        DateFormat dateFormat = new SimpleDateFormat(CHANGES_SINCE_FORMAT);
+        dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+        String path = "/servers/detail?changes-since=" + dateFormat.format(changesSince);
+        streamPages(path, "servers", NovaServer.class, NovaServer::getId, consumer);
+    }
+
+    @Override
+    public void listAllTenants(Consumer<? super Server> consumer) throws OSClientException {
+        streamPages("/servers/detail?all_tenants=1", "servers", NovaServer.class, NovaServer::getId, consumer);
     }
 
     @Override
@@ -101,6 +124,17 @@ public abstract class BaseServerService extends BasicComputeService implements I
         return wrapper == null ? null : wrapper.server;
     }
 
+    @Override
+    public CompletableFuture<Server> getAsync(String id) throws OSClientException {
+        Assert.hasText(id, "id cannot be null or empty.");
+        BasicOSRequest<ServerWrapper> getServer = builder(ServerWrapper.class, endpoint())
+            .path("/servers/%s", id)
+            .create();
+
+        return client.executeAsync(getServer)
+            .thenApply(response -> response.getEntity() == null ? null : response.getEntity().server);
+    }
+
     @Override
     public void delete(String id) throws OSClientException {
         Assert.hasText(id);
@@ -111,6 +145,16 @@ public abstract class BaseServerService extends BasicComputeService implements I
         client.execute(delete);
     }
 
+    @Override
+    public CompletableFuture<Void> deleteAsync(String id) throws OSClientException {
+        Assert.hasText(id, "id cannot be null or empty.");
+        BasicOSRequest<Void> delete = builder(Void.class, endpoint())
+            .delete()
+            .path("/servers/%s", id)
+            .create();
+        return client.executeAsync(delete).thenApply(response -> null);
+    }
+
     @Override
     public void attachVolume(String serverId, String volumeId) throws OSClientException {
         attachVolume(serverId, volumeId, null);
@@ -140,6 +184,30 @@ public abstract class BaseServerService extends BasicComputeService implements I
         client.execute(request);
     }
 
+    @Override
+    public CompletableFuture<Void> attachVolumeAsync(String serverId, String volumeId, String device) throws OSClientException {
+        Assert.hasText(serverId, "serverId cannot be null or empty.");
+        Assert.hasText(volumeId, "volumeId cannot be null or empty.");
+
+        BasicOSRequest<String> request = builder(String.class, endpoint())
+            .path("/servers/%s/os-volume_attachments", serverId)
+            .post(volumeAttachment(volumeId, device))
+            .create();
+        return client.executeAsync(request).thenApply(response -> null);
+    }
+
+    @Override
+    public CompletableFuture<Void> detachVolumeAsync(String serverId, String volumeId) throws OSClientException {
+        Assert.hasText(serverId, "serverId cannot be null or empty.");
+        Assert.hasText(volumeId, "volumeId cannot be null or empty.");
+
+        BasicOSRequest<String> request = builder(String.class, endpoint())
+            .path("/servers/%s/os-volume_attachments/%s", serverId, volumeId)
+            .delete()
+            .create();
+        return client.executeAsync(request).thenApply(response -> null);
+    }
+
     @Override
     public String readAdminPassword(String serverId) throws OSClientException {
         BasicOSRequest<Password> request = builder(Password.class, endpoint())
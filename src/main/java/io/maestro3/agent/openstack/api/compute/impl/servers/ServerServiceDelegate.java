@@ -28,9 +28,12 @@ import io.maestro3.agent.openstack.client.IOSClient;
 import io.maestro3.agent.openstack.exception.OSClientException;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 
 public class ServerServiceDelegate extends BasicComputeService implements IServerService, IServiceDelegate<IServerService> {
@@ -48,6 +51,21 @@ public class ServerServiceDelegate extends BasicComputeService implements IServe
         return delegate(getVersion()).list();
     }
 
+    @Override
+    public void list(Consumer<? super Server> consumer) throws OSClientException {
+        delegate(getVersion()).list(consumer);
+    }
+
+    @Override
+    public void listChangedSince(Date changesSince, Consumer<? super Server> consumer) throws OSClientException {
+        delegate(getVersion()).listChangedSince(changesSince, consumer);
+    }
+
+    @Override
+    public void listAllTenants(Consumer<? super Server> consumer) throws OSClientException {
+        delegate(getVersion()).listAllTenants(consumer);
+    }
+
     @Override
     public Iterator<Server> listLimited(int limit) throws OSClientException {
         return delegate(getVersion()).listLimited(limit);
@@ -63,11 +81,21 @@ public class ServerServiceDelegate extends BasicComputeService implements IServe
         return delegate(getVersion()).get(id);
     }
 
+    @Override
+    public CompletableFuture<Server> getAsync(String id) throws OSClientException {
+        return delegate(getVersion()).getAsync(id);
+    }
+
     @Override
     public void delete(String id) throws OSClientException {
         delegate(getVersion()).delete(id);
     }
 
+    @Override
+    public CompletableFuture<Void> deleteAsync(String id) throws OSClientException {
+        return delegate(getVersion()).deleteAsync(id);
+    }
+
     @Override
     public void stop(String serverId) throws OSClientException {
         delegate(getVersion()).stop(serverId);
@@ -140,6 +168,16 @@ public class ServerServiceDelegate extends BasicComputeService implements IServe
         delegate(getVersion()).detachVolume(serverId, volumeId);
     }
 
+    @Override
+    public CompletableFuture<Void> attachVolumeAsync(String serverId, String volumeId, String device) throws OSClientException {
+        return delegate(getVersion()).attachVolumeAsync(serverId, volumeId, device);
+    }
+
+    @Override
+    public CompletableFuture<Void> detachVolumeAsync(String serverId, String volumeId) throws OSClientException {
+        return delegate(getVersion()).detachVolumeAsync(serverId, volumeId);
+    }
+
     @Override
     public String readAdminPassword(String serverId) throws OSClientException {
         return delegate(getVersion()).readAdminPassword(serverId);
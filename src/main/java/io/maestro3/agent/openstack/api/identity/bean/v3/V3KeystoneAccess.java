@@ -43,7 +43,8 @@ public class V3KeystoneAccess implements Access {
     private String regionId;
     private String tokenId;
 
-    private List<Service> services;
+    // derived from the catalog, not part of the token
+    private transient List<Service> services;
 
     @Override
     public Token getToken() {
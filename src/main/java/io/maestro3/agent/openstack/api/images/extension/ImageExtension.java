@@ -29,10 +29,10 @@ import org.springframework.util.Assert;
 import java.net.URL;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.TimeZone;
-import java.util.stream.Collectors;
 
 import static io.maestro3.agent.openstack.transport.request.BasicOSRequest.builder;
 
@@ -49,7 +49,7 @@ public class ImageExtension extends BaseImageService implements IImageExtension
     public Image get(String imageId) throws OSClientException {
         Assert.notNull(imageId, "imageId cannot be null or empty.");
 
-        BasicOSRequest<NovaImage> request = builder(NovaImage.class, v2Endpoint())
+        BasicOSRequest<NovaImage> request = builder(NovaImage.class, endpoint())
                 .path("/images/%s", imageId)
                 .create();
         return client.execute(request).getEntity();
@@ -59,7 +59,7 @@ public class ImageExtension extends BaseImageService implements IImageExtension
     public Image getProject(String tenantId, String imageId) throws OSClientException {
         Assert.notNull(imageId, "imageId cannot be null or empty.");
 
-        BasicOSRequest<NovaImage> request = builder(NovaImage.class, v2Endpoint())
+        BasicOSRequest<NovaImage> request = builder(NovaImage.class, endpoint())
                 .path("/images/%s?owner=%s", imageId, tenantId)
                 .create();
         return client.execute(request).getEntity();
@@ -67,15 +67,7 @@ public class ImageExtension extends BaseImageService implements IImageExtension
 
     @Override
     public List<Image> listPublic() throws OSClientException {
-        BasicOSRequest<ImagesWrapper> request = builder(ImagesWrapper.class, v2Endpoint())
-                // by default, limit value is 25!
-                .path("/images?visibility=public&limit=1000")
-                .create();
-        ImagesWrapper imagesWrapper = client.execute(request).getEntity();
-        if (imagesWrapper == null) {
-            return null;
-        }
-        return toImagesList(imagesWrapper.images);
+        return listImages("/images?visibility=public");
     }
 
     @Override
@@ -84,45 +76,34 @@ public class ImageExtension extends BaseImageService implements IImageExtension
         DateFormat df = new SimpleDateFormat(DATE_FORMAT);
         df.setTimeZone(tz);
         String dateInISO = df.format(updatedDate);
-        BasicOSRequest<ImagesWrapper> request = builder(ImagesWrapper.class, v2Endpoint())
-                .path("/images?visibility=public&limit=1000&status=active&updated_at=gte:%s", dateInISO)
-                .create();
-        ImagesWrapper imagesWrapper = client.execute(request).getEntity();
-        if (imagesWrapper == null) {
-            return null;
-        }
-        return toImagesList(imagesWrapper.images);
+        return listImages(String.format("/images?visibility=public&status=active&updated_at=gte:%s", dateInISO));
     }
 
     @Override
     public List<Image> listProject(String tenantId) throws OSClientException {
-        BasicOSRequest<ImagesWrapper> request = builder(ImagesWrapper.class, v2Endpoint())
-                .path("/images?owner=%s", tenantId)
-                .create();
-        ImagesWrapper imagesWrapper = client.execute(request).getEntity();
-        return imagesWrapper == null ? null : toImagesList(imagesWrapper.images);
+        return listImages(String.format("/images?owner=%s", tenantId));
     }
 
     @Override
     public void delete(String imageId) throws OSClientException {
         Assert.hasText(imageId, "imageId cannot be null or empty.");
 
-        BasicOSRequest<Void> request = builder(Void.class, v2Endpoint())
+        BasicOSRequest<Void> request = builder(Void.class, endpoint())
                 .path("/images/%s", imageId)
                 .delete()
                 .create();
         client.execute(request);
     }
 
-    private List<Image> toImagesList(List<NovaImage> images) {
-        return images.stream().map(novaImage -> (Image) novaImage).collect(Collectors.toList());
+    private List<Image> listImages(String path) throws OSClientException {
+        // glance returns 25 images per page by default and reports the following page in "next"
+        List<Image> images = new ArrayList<>();
+        streamPages(path, "images", NovaImage.class, NovaImage::getId, images::add);
+        return images;
     }
 
-    private URL v2Endpoint() throws OSClientException {
+    @Override
+    protected URL endpoint() throws OSClientException {
         return endpoint(EnforceVersionToUrl.to("/v2", false));
     }
-
-    private static class ImagesWrapper {
-        List<NovaImage> images;
-    }
 }
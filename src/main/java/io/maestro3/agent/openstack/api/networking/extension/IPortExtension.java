@@ -22,6 +22,8 @@ import io.maestro3.agent.openstack.api.networking.bean.Port;
 import io.maestro3.agent.openstack.exception.OSClientException;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 
 public interface IPortExtension {
@@ -34,10 +36,22 @@ public interface IPortExtension {
 
     Port get(String portId) throws OSClientException;
 
+    /**
+     * Same as {@link #get(String)} but does not block while the request is in flight.
+     */
+    CompletableFuture<Port> getAsync(String portId) throws OSClientException;
+
     void delete(String portId) throws OSClientException;
 
+    /**
+     * Same as {@link #delete(String)} but does not block while the request is in flight.
+     */
+    CompletableFuture<Void> deleteAsync(String portId) throws OSClientException;
+
     List<Port> list() throws OSClientException;
 
+    void list(Consumer<? super Port> consumer) throws OSClientException;
+
     List<Port> listByTenantId(String tenantId) throws OSClientException;
 
     List<Port> listByDeviceId(String deviceId) throws OSClientException;
@@ -42,11 +42,7 @@ public class FloatingIpExtension extends BasicNetworkingService implements IFloa
 
     @Override
     public List<FloatingIp> listByTenantId(String externalId) throws OSClientException {
-        IOSRequest<FloatingIps> request = BasicOSRequest.builder(FloatingIps.class, endpoint())
-                .path("/floatingips?tenant_id=" + externalId)
-                .create();
-        FloatingIps result = client.execute(request).getEntity();
-        return result == null ? null : result.floatingIpList;
+        return listPages("/floatingips?tenant_id=" + externalId, "floatingips", FloatingIp.class, FloatingIp::getId);
     }
 
     @Override
@@ -97,11 +93,6 @@ public class FloatingIpExtension extends BasicNetworkingService implements IFloa
         return result == null ? null : result.floatingIp;
     }
 
-    private static class FloatingIps {
-        @SerializedName("floatingips")
-        private List<FloatingIp> floatingIpList;
-    }
-
     private static class FloatingIpWrapper {
         @SerializedName("floatingip")
         private FloatingIp floatingIp;
@@ -34,6 +34,8 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 
 public class PortExtension extends BasicNetworkingService implements IPortExtension {
@@ -47,6 +49,11 @@ public class PortExtension extends BasicNetworkingService implements IPortExtens
         return listWithFilter(null);
     }
 
+    @Override
+    public void list(Consumer<? super Port> consumer) throws OSClientException {
+        streamPages("/ports", "ports", Port.class, Port::getId, consumer);
+    }
+
     @Override
     public List<Port> listByTenantId(String tenantId) throws OSClientException {
         Map<String, List<String>> filter = new HashMap<>();
@@ -109,6 +116,24 @@ public class PortExtension extends BasicNetworkingService implements IPortExtens
         client.execute(deletePort);
     }
 
+    @Override
+    public CompletableFuture<Port> getAsync(String portId) throws OSClientException {
+        BasicOSRequest<PortWrapper> getPort = BasicOSRequest.builder(PortWrapper.class, endpoint())
+                .path("/ports/%s", portId)
+                .create();
+        return client.executeAsync(getPort)
+            .thenApply(response -> response.getEntity() == null ? null : response.getEntity().port);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteAsync(String portId) throws OSClientException {
+        BasicOSRequest<Void> deletePort = BasicOSRequest.builder(Void.class, endpoint())
+                .path("/ports/%s", portId)
+                .delete()
+                .create();
+        return client.executeAsync(deletePort).thenApply(response -> null);
+    }
+
     @Override
     public Port create(String networkId, String securityGroupId, String name) throws OSClientException {
         BasicOSRequest<PortWrapper> createPort = BasicOSRequest.builder(PortWrapper.class, endpoint())
@@ -148,17 +173,7 @@ public class PortExtension extends BasicNetworkingService implements IPortExtens
     }
 
     private List<Port> listWithFilter(Map<String, List<String>> filter) throws OSClientException {
-        BasicOSRequest.BasicOSRequestBuilder<Ports> list = BasicOSRequest
-                .builder(Ports.class, endpoint())
-                .path(pathWithFilter("/ports", filter));
-
-        Ports result = client.execute(list.create()).getEntity();
-        return result == null ? null : result.portList;
-    }
-
-    private static class Ports {
-        @SerializedName("ports")
-        private List<Port> portList;
+        return listPages(pathWithFilter("/ports", filter), "ports", Port.class, Port::getId);
     }
 
     private static class PortWrapper {
@@ -30,8 +30,6 @@ import io.maestro3.agent.openstack.transport.request.IOSRequest;
 
 import java.util.List;
 
-import static io.maestro3.agent.openstack.transport.request.BasicOSRequest.builder;
-
 
 public class SecurityGroupExtension extends BasicNetworkingService implements ISecurityGroupExtension {
 
@@ -41,22 +39,13 @@ public class SecurityGroupExtension extends BasicNetworkingService implements IS
 
     @Override
     public List<SecurityGroup> list() throws OSClientException {
-        BasicOSRequest<SecurityGroups> list = builder(SecurityGroups.class, endpoint())
-                .path("/security-groups")
-                .create();
-
-        SecurityGroups entity = client.execute(list).getEntity();
-        return entity == null ? null : entity.securityGroupList;
+        return listPages("/security-groups", "security_groups", SecurityGroup.class, SecurityGroup::getId);
     }
 
     @Override
     public List<SecurityGroup> listByTenantId(String tenantId) throws OSClientException {
-        BasicOSRequest<SecurityGroups> list = builder(SecurityGroups.class, endpoint())
-                .path("/security-groups?tenant_id=" + tenantId)
-                .create();
-
-        SecurityGroups entity = client.execute(list).getEntity();
-        return entity == null ? null : entity.securityGroupList;
+        return listPages("/security-groups?tenant_id=" + tenantId, "security_groups", SecurityGroup.class,
+            SecurityGroup::getId);
     }
 
     @Override
@@ -100,11 +89,6 @@ public class SecurityGroupExtension extends BasicNetworkingService implements IS
         client.execute(detail).getEntity();
     }
 
-    private static class SecurityGroups {
-        @SerializedName("security_groups")
-        private List<SecurityGroup> securityGroupList;
-    }
-
     private static class SecurityGroupWrapper {
         @SerializedName("security_group")
         private SecurityGroup securityGroup;
@@ -51,6 +51,8 @@ public class CinderVolume implements OpenStackResource {
     private String tenant;
     @SerializedName("region")
     private String region;
+    @SerializedName("os-vol-tenant-attr:tenant_id")
+    private String projectId;
     private Map<String, String> metadata;
 
     public boolean isBootable() {
@@ -149,6 +151,14 @@ public class CinderVolume implements OpenStackResource {
         this.region = region;
     }
 
+    public String getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(String projectId) {
+        this.projectId = projectId;
+    }
+
     @Override
     public String toString() {
         return "CinderVolume{" + "id='" + id + '\'' +
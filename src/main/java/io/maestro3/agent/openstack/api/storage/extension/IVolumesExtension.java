@@ -24,14 +24,28 @@ import io.maestro3.agent.openstack.exception.OSClientException;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 
 public interface IVolumesExtension {
 
     CinderVolume get(String volumeId) throws OSClientException;
 
+    /**
+     * Same as {@link #get(String)} but does not block while the request is in flight.
+     */
+    CompletableFuture<CinderVolume> getAsync(String volumeId) throws OSClientException;
+
     List<CinderVolume> list(String projectId) throws OSClientException;
 
+    void list(String projectId, Consumer<? super CinderVolume> consumer) throws OSClientException;
+
+    /**
+     * Streams volumes of all projects to the consumer. Requires admin credentials.
+     */
+    void listAllTenants(Consumer<? super CinderVolume> consumer) throws OSClientException;
+
     List<CinderVolume> list() throws OSClientException;
 
     Iterator<CinderVolume> listLimited(int limit) throws OSClientException;
@@ -40,6 +54,11 @@ public interface IVolumesExtension {
 
     void delete(String volumeId) throws OSClientException;
 
+    /**
+     * Same as {@link #delete(String)} but does not block while the request is in flight.
+     */
+    CompletableFuture<Void> deleteAsync(String volumeId) throws OSClientException;
+
     CinderVolume inspect(String volumeId) throws OSClientException;
 
     void updateMetadata(String volumeId, Map<String, String> metadata) throws OSClientException;
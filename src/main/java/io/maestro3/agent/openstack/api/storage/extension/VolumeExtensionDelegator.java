@@ -28,7 +28,9 @@ import org.apache.commons.lang3.StringUtils;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 public class VolumeExtensionDelegator extends BasicService implements IVolumesExtension {
     private final AtomicReference<IVolumesExtension> extensionV2 = new AtomicReference<>();
@@ -43,6 +45,11 @@ public class VolumeExtensionDelegator extends BasicService implements IVolumesEx
         return delegate(getVersion()).get(volumeId);
     }
 
+    @Override
+    public CompletableFuture<CinderVolume> getAsync(String volumeId) throws OSClientException {
+        return delegate(getVersion()).getAsync(volumeId);
+    }
+
     @Override
     public List<CinderVolume> list() throws OSClientException {
         return delegate(getVersion()).list();
@@ -53,6 +60,16 @@ public class VolumeExtensionDelegator extends BasicService implements IVolumesEx
         return delegate(getVersion()).list(projectId);
     }
 
+    @Override
+    public void list(String projectId, Consumer<? super CinderVolume> consumer) throws OSClientException {
+        delegate(getVersion()).list(projectId, consumer);
+    }
+
+    @Override
+    public void listAllTenants(Consumer<? super CinderVolume> consumer) throws OSClientException {
+        delegate(getVersion()).listAllTenants(consumer);
+    }
+
     @Override
     public Iterator<CinderVolume> listLimited(int limit) throws OSClientException {
         return delegate(getVersion()).listLimited(limit);
@@ -68,6 +85,11 @@ public class VolumeExtensionDelegator extends BasicService implements IVolumesEx
         delegate(getVersion()).delete(volumeId);
     }
 
+    @Override
+    public CompletableFuture<Void> deleteAsync(String volumeId) throws OSClientException {
+        return delegate(getVersion()).deleteAsync(volumeId);
+    }
+
     @Override
     public CinderVolume inspect(String volumeId) throws OSClientException {
         return delegate(getVersion()).inspect(volumeId);
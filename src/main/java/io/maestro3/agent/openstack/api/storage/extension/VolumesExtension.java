@@ -35,10 +35,11 @@ import io.maestro3.agent.openstack.transport.response.IOSResponse;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.util.Assert;
 
-import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 
 public class VolumesExtension extends BasicService implements IVolumesExtension {
@@ -62,29 +63,33 @@ public class VolumesExtension extends BasicService implements IVolumesExtension
     }
 
     @Override
-    public List<CinderVolume> list(String nativeId) throws OSClientException {
-        BasicOSRequest<Volumes> listVolumesRequest = BasicOSRequest.builder(Volumes.class, endpoint())
-                .path("/volumes/detail")
+    public CompletableFuture<CinderVolume> getAsync(String volumeId) throws OSClientException {
+        BasicOSRequest<VolumeSpec> getVolumeRequest = BasicOSRequest.builder(VolumeSpec.class, endpoint())
+                .path("/volumes/%s", volumeId)
                 .create();
 
-        Volumes volumes = client.execute(listVolumesRequest).getEntity();
-        if (volumes == null) {
-            return Collections.emptyList();
-        }
-        return volumes.cinderVolumes;
+        return client.executeAsync(getVolumeRequest)
+            .thenApply(response -> response.getEntity() == null ? null : response.getEntity().volume);
+    }
+
+    @Override
+    public List<CinderVolume> list(String nativeId) throws OSClientException {
+        return listPages("/volumes/detail", "volumes", CinderVolume.class, CinderVolume::getId);
     }
 
     @Override
     public List<CinderVolume> list() throws OSClientException {
-        BasicOSRequest<Volumes> listVolumesRequest = BasicOSRequest.builder(Volumes.class, endpoint())
-            .path("/volumes/detail")
-            .create();
+        return listPages("/volumes/detail", "volumes", CinderVolume.class, CinderVolume::getId);
+    }
 
-        Volumes volumes = client.execute(listVolumesRequest).getEntity();
-        if (volumes == null) {
-            return null;
-        }
-        return volumes.cinderVolumes;
+    @Override
+    public void list(String projectId, Consumer<? super CinderVolume> consumer) throws OSClientException {
+        streamPages("/volumes/detail", "volumes", CinderVolume.class, CinderVolume::getId, consumer);
+    }
+
+    @Override
+    public void listAllTenants(Consumer<? super CinderVolume> consumer) throws OSClientException {
+        streamPages("/volumes/detail?all_tenants=1", "volumes", CinderVolume.class, CinderVolume::getId, consumer);
     }
 
     @Override
@@ -129,6 +134,15 @@ public class VolumesExtension extends BasicService implements IVolumesExtension
         client.execute(deleteVolumeRequest);
     }
 
+    @Override
+    public CompletableFuture<Void> deleteAsync(String volumeId) throws OSClientException {
+        BasicOSRequest<Void> deleteVolumeRequest = BasicOSRequest.builder(Void.class, endpoint())
+                .path("/volumes/%s", volumeId)
+                .delete()
+                .create();
+        return client.executeAsync(deleteVolumeRequest).thenApply(response -> null);
+    }
+
     @Override
     public CinderVolume inspect(String volumeId) throws OSClientException {
         BasicOSRequest<VolumeSpec> inspectVolumeRequest = BasicOSRequest.builder(VolumeSpec.class, endpoint())
@@ -44,7 +44,7 @@ public abstract class LimitedIterator<T extends OpenStackResource> implements It
 
     @Override
     public boolean hasNext() {
-        if (marker == null || resources.size() == cursor) {
+        if (marker == null || resources == null || resources.size() == cursor) {
             try {
                 cursor = 0;
                 resources = retrieveResourcesPage(buildPath());
@@ -54,7 +54,7 @@ public abstract class LimitedIterator<T extends OpenStackResource> implements It
                 }
                 return notEmptyServers;
             } catch (OSClientException e) {
-                LOG.error("Failed to list servers. Reason: {}", e.getMessage());
+                LOG.error("Failed to list resources page. Reason: {}", e.getMessage());
                 return false;
             }
         }
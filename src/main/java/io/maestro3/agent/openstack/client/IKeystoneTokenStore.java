@@ -0,0 +1,73 @@
+/*
+ * Copyright 2023 Maestro Cloud Control LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.maestro3.agent.openstack.client;
+
+import io.maestro3.agent.model.identity.Access;
+import io.maestro3.agent.openstack.exception.OSClientException;
+
+
+/**
+ * Keystone tokens shared between clients with identical authorization scope.
+ */
+public interface IKeystoneTokenStore {
+
+    /**
+     * Builds the key of authorization scope. The scope includes credentials, so the key must not reveal it.
+     *
+     * @param scope authorization scope, see {@link io.maestro3.agent.openstack.client.impl.OSClient}
+     * @return key of the scope
+     */
+    String scopeKey(String scope);
+
+    /**
+     * @param scopeKey key of authorization scope
+     * @return stored access or null if there is no access for the scope
+     */
+    Access get(String scopeKey);
+
+    /**
+     * Records that a client of the scope is about to make a request, so the token of a scope in use is not evicted as
+     * idle. Called on every request, so it must be cheap.
+     *
+     * @param scopeKey key of authorization scope
+     */
+    void touch(String scopeKey);
+
+    /**
+     * Stores access obtained by a client.
+     *
+     * @param scopeKey  key of authorization scope
+     * @param access    new access
+     * @param refresher authorizes again and stores the new access, used to refresh the token ahead of its expiry
+     */
+    void put(String scopeKey, Access access, Refresher refresher);
+
+    /**
+     * Removes access rejected by OpenStack, unless it has already been replaced.
+     *
+     * @param scopeKey key of authorization scope
+     * @param rejected access whose token was rejected
+     */
+    void invalidate(String scopeKey, Access rejected);
+
+    @FunctionalInterface
+    interface Refresher {
+
+        void refresh() throws OSClientException;
+    }
+}
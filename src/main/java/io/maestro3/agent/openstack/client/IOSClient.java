@@ -21,6 +21,8 @@ import io.maestro3.agent.openstack.exception.OSClientException;
 import io.maestro3.agent.openstack.transport.request.IOSRequest;
 import io.maestro3.agent.openstack.transport.response.IOSResponse;
 
+import java.util.concurrent.CompletableFuture;
+
 
 public interface IOSClient extends IEndpointProvider {
 
@@ -45,6 +47,31 @@ public interface IOSClient extends IEndpointProvider {
      */
     <T> IOSResponse<T> execute(IOSRequest<T> request, IOSClientOption option) throws OSClientException;
 
+    /**
+     * Executes Open Stack request without blocking the calling thread while it is in flight.
+     * Handles re-authorization and not found responses the same way {@link #execute(IOSRequest)} does.
+     *
+     * @param request request
+     * @param <T>     type of response
+     * @return future completed with the response or exceptionally with {@link OSClientException}
+     */
+    <T> CompletableFuture<IOSResponse<T>> executeAsync(IOSRequest<T> request);
+
+    /**
+     * Executes Open Stack request with custom options without blocking the calling thread while it is in flight.
+     *
+     * @param request request
+     * @param option  client options
+     * @param <T>     type of response
+     * @return future completed with the response or exceptionally with {@link OSClientException}
+     */
+    <T> CompletableFuture<IOSResponse<T>> executeAsync(IOSRequest<T> request, IOSClientOption option);
+
+    /**
+     * @return maximum number of resources requested per page by paged list calls
+     */
+    int getListPageSize();
+
     /**
      * @return client metadata. May be used for caching purposes.
      */
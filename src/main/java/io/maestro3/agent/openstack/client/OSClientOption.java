@@ -54,6 +54,11 @@ public class OSClientOption implements IOSClientOption {
             return this;
         }
 
+        public Builder withDeserializer(Deserializer deserializer) {
+            option.deserializer = deserializer;
+            return this;
+        }
+
         public OSClientOption build() {
             return option;
         }
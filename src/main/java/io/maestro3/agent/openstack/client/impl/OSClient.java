@@ -17,9 +17,12 @@
 
 package io.maestro3.agent.openstack.client.impl;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.maestro3.agent.http.client.HeadersAccumulator;
 import io.maestro3.agent.http.client.Request;
 import io.maestro3.agent.http.client.RequestBuilder;
+import io.maestro3.agent.http.client.SimpleAsyncHttpClient;
+import io.maestro3.agent.http.client.SimpleAsyncHttpClientImpl;
 import io.maestro3.agent.http.client.SimpleHttpClient;
 import io.maestro3.agent.http.client.SimpleHttpClientImpl;
 import io.maestro3.agent.http.client.exception.SimpleHttpClientException;
@@ -39,6 +42,7 @@ import io.maestro3.agent.openstack.api.identity.bean.v2.KeystoneAccess;
 import io.maestro3.agent.openstack.api.identity.bean.v3.V3Auth;
 import io.maestro3.agent.openstack.api.identity.bean.v3.V3KeystoneAccess;
 import io.maestro3.agent.openstack.client.IClientMetadata;
+import io.maestro3.agent.openstack.client.IKeystoneTokenStore;
 import io.maestro3.agent.openstack.client.IOSClient;
 import io.maestro3.agent.openstack.client.IOSClientOption;
 import io.maestro3.agent.openstack.client.OSClientOption;
@@ -63,9 +67,17 @@ import org.springframework.util.Assert;
 
 import java.net.MalformedURLException;
 import java.net.URL;
-import java.util.HashMap;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 
 
 public class OSClient implements IOSClient {
@@ -75,6 +87,8 @@ public class OSClient implements IOSClient {
 
     private static final IOSClientOption DEFAULT_OS_CLIENT_OPTION = OSClientOption.builder().build();
 
+    private static final int DEFAULT_LIST_PAGE_SIZE = 500;
+
     private static final DefaultEndpointExtractor ENDPOINT_EXTRACTOR = new DefaultEndpointExtractor();
     private static final String V3_TOKEN_HEADER = "X-Subject-Token";
 
@@ -82,38 +96,120 @@ public class OSClient implements IOSClient {
     private URL authUrl;
     private String regionName; // OpenStack region name
     private KeystoneDomainCredentials credentials;
-    private Access access;
+    private volatile Access access;
+    private final Lock authorizationLock = new ReentrantLock(); // single-flight token refresh, requests never take it
+    private IKeystoneTokenStore tokenStore;
+    private String tokenScope; // key of the token in the store, same for clients with identical credentials and scope
     private SimpleHttpClient client; //
+    private SimpleAsyncHttpClient asyncClient;
+    private Executor reauthorizeExecutor; // runs blocking reauthorization of async requests off the response threads
     private Map<ServiceType, Endpoint> serviceEndpointsCached;
     private RequestHandler interceptor;
     private ResponseHandler responseHandler;
     private OpenStackVersion osVersion;
     private boolean v3Auth;
+    private int listPageSize;
 
     private OSClient() {
     }
 
     @Override
     public IClientMetadata getMetadata() throws OSClientException {
-        ensureAuthorized();
-        return new ClientMetadata(id, access.getTokenUserId(), access.getTokenProjectId());
+        Access current = ensureAuthorized();
+        return new ClientMetadata(id, current.getTokenUserId(), current.getTokenProjectId());
+    }
+
+    @Override
+    public int getListPageSize() {
+        return listPageSize;
     }
 
     @Override
-    public synchronized <T> IOSResponse<T> execute(IOSRequest<T> request) throws OSClientException {
+    public <T> IOSResponse<T> execute(IOSRequest<T> request) throws OSClientException {
         return execute(request, DEFAULT_OS_CLIENT_OPTION);
     }
 
     @Override
-    public synchronized <T> IOSResponse<T> execute(IOSRequest<T> request, IOSClientOption option) throws OSClientException {
-        ensureAuthorized();
-        return execute(request, true, false, option);
+    public <T> IOSResponse<T> execute(IOSRequest<T> request, IOSClientOption option) throws OSClientException {
+        Access current = ensureAuthorized();
+        return execute(request, current, true, false, option);
+    }
+
+    @Override
+    public <T> CompletableFuture<IOSResponse<T>> executeAsync(IOSRequest<T> request) {
+        return executeAsync(request, DEFAULT_OS_CLIENT_OPTION);
+    }
+
+    @Override
+    public <T> CompletableFuture<IOSResponse<T>> executeAsync(IOSRequest<T> request, IOSClientOption option) {
+        Access current;
+        try {
+            current = ensureAuthorized();
+        } catch (OSClientException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return executeAsync(request, current, true, option);
+    }
+
+    /**
+     * Non-blocking variant of {@link #execute(IOSRequest, Access, boolean, boolean, IOSClientOption)}.
+     * Token refresh after 401 is still done by the blocking client, it is rare and single-flight, so it runs on
+     * {@code reauthorizeExecutor} rather than on a thread of the async client.
+     */
+    private <T> CompletableFuture<IOSResponse<T>> executeAsync(IOSRequest<T> request, Access current, boolean retryAuth,
+                                                               IOSClientOption option) {
+        Request buildRequest;
+        try {
+            buildRequest = buildRequest(request, current, false, option);
+        } catch (OSClientException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        HeadersAccumulator accumulator = CollectionUtils.isNotEmpty(request.getHeadersToRetrieve())
+            ? new HeadersAccumulator(request.getHeadersToRetrieve())
+            : null;
+        return asyncClient.<T>execute(request.getHost(), buildRequest, accumulator)
+            .handle((entity, error) -> {
+                if (error == null) {
+                    BasicOSResponse<T> response = new BasicOSResponse<>();
+                    response.setEntity(entity);
+                    if (accumulator != null) {
+                        response.setHeaders(accumulator.retrieve());
+                    }
+                    return CompletableFuture.<IOSResponse<T>>completedFuture(response);
+                }
+                return handleAsync(error instanceof CompletionException ? error.getCause() : error,
+                    request, current, retryAuth, option);
+            })
+            .thenCompose(Function.identity());
+    }
+
+    private <T> CompletableFuture<IOSResponse<T>> handleAsync(Throwable e, IOSRequest<T> req, Access current,
+                                                              boolean retryAuth, IOSClientOption option) {
+        if (e instanceof SimpleHttpClientException && e.getCause() instanceof OSResponseException) {
+            OSResponseException responseException = (OSResponseException) e.getCause();
+            if (retryAuth && responseException.isNotAuthorized()) {
+                return CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return reauthorize(current);
+                    } catch (OSClientException authException) {
+                        throw new CompletionException(authException);
+                    }
+                }, reauthorizeExecutor).thenCompose(renewed -> executeAsync(req, renewed, false, option));
+            }
+        }
+        try {
+            return CompletableFuture.completedFuture(handle(e instanceof Exception ? (Exception) e : new Exception(e),
+                req, current, false, option));
+        } catch (OSClientException handled) {
+            return CompletableFuture.failedFuture(handled);
+        }
     }
 
     /**
      * Executes Open Stack requests, handles unauthorized exception.
      *
      * @param request       request
+     * @param current       access whose token is sent with the request, ignored for authorization requests
      * @param retryAuth     if enabled will attempt to reauthorize in case SC_UNAUTHORIZED (401) status code received.
      *                      If authorization attempt fails just throw exception explaining failure reasons.
      * @param authorization shows if request is an authorization request
@@ -121,16 +217,17 @@ public class OSClient implements IOSClient {
      * @return response enclosing result entity
      * @throws OSClientException Open Stack client exception
      */
-    private <T> IOSResponse<T> execute(IOSRequest<T> request, boolean retryAuth, boolean authorization) throws OSClientException {
-        return execute(request, retryAuth, authorization, DEFAULT_OS_CLIENT_OPTION);
+    private <T> IOSResponse<T> execute(IOSRequest<T> request, Access current, boolean retryAuth, boolean authorization) throws OSClientException {
+        return execute(request, current, retryAuth, authorization, DEFAULT_OS_CLIENT_OPTION);
     }
 
-    private <T> IOSResponse<T> execute(IOSRequest<T> request, boolean retryAuth, boolean authorization, IOSClientOption option) throws OSClientException {
+    private <T> IOSResponse<T> execute(IOSRequest<T> request, Access current, boolean retryAuth, boolean authorization,
+                                       IOSClientOption option) throws OSClientException {
         IOSResponse<T> response = new BasicOSResponse<>();
         T entity;
         try {
             BasicOSResponse<T> basicResponse = (BasicOSResponse<T>) response;
-            Request buildRequest = buildRequest(request, authorization, option);
+            Request buildRequest = buildRequest(request, current, authorization, option);
             if (CollectionUtils.isNotEmpty(request.getHeadersToRetrieve())) {
                 HeadersAccumulator accumulator = new HeadersAccumulator(request.getHeadersToRetrieve());
                 entity = client.execute(request.getHost(), buildRequest, accumulator);
@@ -140,16 +237,17 @@ public class OSClient implements IOSClient {
             }
             basicResponse.setEntity(entity);
         } catch (Exception e) {
-            response = handle(e, request, retryAuth);
+            response = handle(e, request, current, retryAuth, option);
         }
         return response;
     }
 
-    private <T> IOSResponse<T> handle(Exception e, IOSRequest<T> req, boolean retryAuth) throws OSClientException {
+    private <T> IOSResponse<T> handle(Exception e, IOSRequest<T> req, Access current, boolean retryAuth,
+                                      IOSClientOption option) throws OSClientException {
         if (e instanceof SimpleHttpClientException) {
             Throwable cause = e.getCause();
             if (cause != null && cause instanceof OSResponseException) {
-                return handleResponseException((OSResponseException) cause, req, retryAuth);
+                return handleResponseException((OSResponseException) cause, req, current, retryAuth, option);
             } else {
                 throw new OSClientException(cause);
             }
@@ -157,10 +255,11 @@ public class OSClient implements IOSClient {
         throw new OSClientException("Unable to execute request", e);
     }
 
-    private <T> IOSResponse<T> handleResponseException(OSResponseException e, IOSRequest<T> req, boolean retryAuth) throws OSClientException {
+    private <T> IOSResponse<T> handleResponseException(OSResponseException e, IOSRequest<T> req, Access current,
+                                                       boolean retryAuth, IOSClientOption option) throws OSClientException {
         if (retryAuth && e.isNotAuthorized()) {
-            authorize();
-            return execute(req, false, true);
+            Access renewed = reauthorize(current);
+            return execute(req, renewed, false, false, option);
         } else if (e.notFound()) {
             return BasicOSResponse.emptyResponse();
         } else if (e.conflict()) {
@@ -170,7 +269,7 @@ public class OSClient implements IOSClient {
         }
     }
 
-    private <T> Request buildRequest(IOSRequest<T> request, boolean authorization, IOSClientOption option) throws OSClientException {
+    private <T> Request buildRequest(IOSRequest<T> request, Access current, boolean authorization, IOSClientOption option) throws OSClientException {
         RequestBuilder builder = new RequestBuilder();
 
         Serializer serializer = option.getSerializer();
@@ -203,32 +302,32 @@ public class OSClient implements IOSClient {
         }
 
         if (!authorization) {
-            builder.header(HeaderConstants.X_AUTH_TOKEN, access.getToken().getId());
+            builder.header(HeaderConstants.X_AUTH_TOKEN, current.getToken().getId());
         }
 
         return builder.create();
     }
 
     @Override
-    public synchronized URL getNullableEndpoint(ServiceType type) throws OSClientException {
+    public URL getNullableEndpoint(ServiceType type) throws OSClientException {
         return getNullableEndpoint(type, ENDPOINT_EXTRACTOR);
     }
 
     @Override
-    public synchronized URL getNullableEndpoint(ServiceType type, EndpointExtractor endpointExtractor) throws OSClientException {
-        ensureAuthorized();
-        if (serviceEndpointsCached.containsKey(type)) {
-            Endpoint endpoint = serviceEndpointsCached.get(type);
-            return endpointExtractor.extract(endpoint);
+    public URL getNullableEndpoint(ServiceType type, EndpointExtractor endpointExtractor) throws OSClientException {
+        Access current = ensureAuthorized();
+        Endpoint cached = serviceEndpointsCached.get(type);
+        if (cached != null) {
+            return endpointExtractor.extract(cached);
         }
-        List<Service> serviceCatalog = access.getServiceCatalog();
+        List<Service> serviceCatalog = current.getServiceCatalog();
         for (Service service : serviceCatalog) {
             List<Endpoint> serviceEndpoints = service.getEndpoints();
             if (service.getServiceType() == type) {
                 if (CollectionUtils.isNotEmpty(serviceEndpoints)) {
                     Endpoint endpoint = serviceEndpoints.get(0);
-                    serviceEndpointsCached.put(service.getServiceType(), endpoint);
-                    return endpointExtractor.extract(endpoint);
+                    Endpoint previous = serviceEndpointsCached.putIfAbsent(service.getServiceType(), endpoint);
+                    return endpointExtractor.extract(previous != null ? previous : endpoint);
                 }
             }
         }
@@ -240,22 +339,109 @@ public class OSClient implements IOSClient {
         return authUrl;
     }
 
-    private synchronized void ensureAuthorized() throws OSClientException {
-        DateTime inTwoMinutes = new DateTime().plusMinutes(2);
-        // access new token if existing expires in 2 minutes
-        if (access == null || access.getToken().getExpires().before(inTwoMinutes.toDate())) {
+    /**
+     * Returns current access, refreshing it if it is missing or expires soon.
+     * Only one thread refreshes the token, others wait for its result instead of authorizing again.
+     *
+     * @return valid access
+     * @throws OSClientException Open Stack client exception
+     */
+    private Access ensureAuthorized() throws OSClientException {
+        if (tokenStore != null) {
+            // the store keeps refreshing the token only while its scope is in use
+            tokenStore.touch(tokenScope);
+        }
+        Access current = access;
+        if (isValid(current)) {
+            return current;
+        }
+        authorizationLock.lock();
+        try {
+            current = access;
+            if (!isValid(current)) {
+                current = sharedAccess();
+            }
+            if (current == null) {
+                current = authorize();
+            }
+            return current;
+        } finally {
+            authorizationLock.unlock();
+        }
+    }
+
+    /**
+     * Refreshes access rejected by OpenStack, unless another thread has already replaced it.
+     *
+     * @param rejected access whose token was rejected with 401
+     * @return renewed access
+     * @throws OSClientException Open Stack client exception
+     */
+    private Access reauthorize(Access rejected) throws OSClientException {
+        authorizationLock.lock();
+        try {
+            Access current = access;
+            if (current != null && current != rejected) {
+                return current;
+            }
+            if (tokenStore != null) {
+                tokenStore.invalidate(tokenScope, rejected);
+                current = sharedAccess();
+                if (current != null) {
+                    return current;
+                }
+            }
+            return authorize();
+        } finally {
+            authorizationLock.unlock();
+        }
+    }
+
+    /**
+     * Takes valid access authorized by another client with the same scope, or by this node before restart.
+     * Must be called under {@code authorizationLock}.
+     *
+     * @return shared access or null if there is no valid one
+     */
+    private Access sharedAccess() {
+        if (tokenStore == null) {
+            return null;
+        }
+        Access shared = tokenStore.get(tokenScope);
+        if (!isValid(shared)) {
+            return null;
+        }
+        access = shared;
+        return shared;
+    }
+
+    /**
+     * Authorizes again on behalf of the token store, so the shared token is replaced before it expires.
+     */
+    private void refreshSharedAccess() throws OSClientException {
+        authorizationLock.lock();
+        try {
             authorize();
+        } finally {
+            authorizationLock.unlock();
         }
     }
 
+    private static boolean isValid(Access access) {
+        DateTime inTwoMinutes = new DateTime().plusMinutes(2);
+        // access new token if existing expires in 2 minutes
+        return access != null && !access.getToken().getExpires().before(inTwoMinutes.toDate());
+    }
+
     /**
      * Authorizes the client.
      * By calling this method you supply client with the authorization key that is required to perform any API requests.
+     * Must be called under {@code authorizationLock}.
      *
-     * @return authorized client
+     * @return new access
      * @throws OSClientException Open Stack client exception
      */
-    private synchronized IOSClient authorize() throws OSClientException {
+    private Access authorize() throws OSClientException {
         if (v3Auth) {
             IOSRequest<V3KeystoneAccess> authorize = BasicOSRequest.builder(V3KeystoneAccess.class, authUrl)
                 .path("/auth/tokens")
@@ -263,14 +449,13 @@ public class OSClient implements IOSClient {
                     credentials.getUserDomainName(), credentials.getTenantDomainName(), osVersion))
                 .headers(V3_TOKEN_HEADER)
                 .create();
-            IOSResponse<V3KeystoneAccess> response = execute(authorize, false, true);
+            IOSResponse<V3KeystoneAccess> response = execute(authorize, null, false, true);
             Map<String, String> headers = response.getHeaders();
 
             V3KeystoneAccess entity = response.getEntity();
             entity.setToken(headers.get(V3_TOKEN_HEADER));
             entity.setRegionId(regionName);
-            access = entity;
-            return this;
+            return authorized(entity);
         } else {
             KeystoneCredentials credentials = new KeystoneCredentials(this.credentials.getUsername(), this.credentials.getPassword());
             credentials.setTenantName(this.credentials.getTenantName());
@@ -278,12 +463,40 @@ public class OSClient implements IOSClient {
                 .path("/tokens")
                 .post(new Auth(credentials))
                 .create();
-            AccessWrapper entity = execute(authorize, false, true).getEntity();
-            access = entity == null ? null : entity.access;
-            return this;
+            AccessWrapper entity = execute(authorize, null, false, true).getEntity();
+            if (entity == null || entity.access == null) {
+                throw new OSClientException("Authorization response does not contain access.");
+            }
+            return authorized(entity.access);
         }
     }
 
+    /**
+     * Async client used when none is supplied to the builder, created on first use.
+     */
+    private static final class DefaultAsyncHttpClient {
+        private static final SimpleAsyncHttpClient INSTANCE = new SimpleAsyncHttpClientImpl(
+            SimpleAsyncHttpClientImpl.newTrustAllHttpClient(null, Duration.ofSeconds(30)), null);
+    }
+
+    /**
+     * Reauthorization executor used when none is supplied to the builder, created on first use.
+     */
+    private static final class DefaultReauthorizeExecutor {
+        private static final Executor INSTANCE = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+            .setNameFormat("os-async-reauthorize-%d")
+            .setDaemon(true)
+            .build());
+    }
+
+    private Access authorized(Access authorized) {
+        access = authorized;
+        if (tokenStore != null) {
+            tokenStore.put(tokenScope, authorized, this::refreshSharedAccess);
+        }
+        return authorized;
+    }
+
     private static class AccessWrapper {
         private KeystoneAccess access;
     }
@@ -302,6 +515,10 @@ public class OSClient implements IOSClient {
         private String tenantDomainName;
         private String regionName;
         private OpenStackVersion osVersion;
+        private int listPageSize = DEFAULT_LIST_PAGE_SIZE;
+        private SimpleAsyncHttpClient asyncHttpClient;
+        private Executor reauthorizeExecutor;
+        private IKeystoneTokenStore tokenStore;
 
         private Builder(HttpClient httpClient) {
             Assert.notNull(httpClient, "httpClient cannot be null.");
@@ -355,6 +572,27 @@ public class OSClient implements IOSClient {
             return this;
         }
 
+        public Builder listPageSize(int listPageSize) {
+            Assert.isTrue(listPageSize > 0, "listPageSize must be positive.");
+            this.listPageSize = listPageSize;
+            return this;
+        }
+
+        public Builder asyncHttpClient(SimpleAsyncHttpClient asyncHttpClient) {
+            this.asyncHttpClient = asyncHttpClient;
+            return this;
+        }
+
+        public Builder reauthorizeExecutor(Executor reauthorizeExecutor) {
+            this.reauthorizeExecutor = reauthorizeExecutor;
+            return this;
+        }
+
+        public Builder tokenStore(IKeystoneTokenStore tokenStore) {
+            this.tokenStore = tokenStore;
+            return this;
+        }
+
         public OSClient build() {
             Assert.hasText(authUrl, "authUrl cannot be null or empty.");
             Assert.hasText(username, "username cannot be null or empty.");
@@ -369,15 +607,33 @@ public class OSClient implements IOSClient {
             client.credentials.setUserDomainName(userDomainName);
             client.credentials.setTenantDomainName(tenantDomainName);
             client.client = new SimpleHttpClientImpl(httpClient, false);
+            client.asyncClient = asyncHttpClient != null ? asyncHttpClient : DefaultAsyncHttpClient.INSTANCE;
+            client.reauthorizeExecutor = reauthorizeExecutor != null ? reauthorizeExecutor : DefaultReauthorizeExecutor.INSTANCE;
             client.interceptor = new OSRequestInterceptor();
-            client.serviceEndpointsCached = new HashMap<>();
+            client.serviceEndpointsCached = new ConcurrentHashMap<>();
             client.osVersion = osVersion;
             client.responseHandler = new OSResponseHandler();
             client.id = RandomStringUtils.random(CLIENT_ID_LENGTH, CLIENT_ID_CHARS);
             client.regionName = regionName;
+            client.listPageSize = listPageSize;
+            client.tokenStore = tokenStore;
+            client.tokenScope = tokenScope();
             return client;
         }
 
+        /**
+         * Password is part of the scope, so a token is shared only with clients that are able to obtain it themselves.
+         * The store turns the scope into a keyed hash, so the stored key does not reveal the password.
+         */
+        private String tokenScope() {
+            if (tokenStore == null) {
+                return null;
+            }
+            return tokenStore.scopeKey(String.join("\n", authUrl, StringUtils.defaultString(userDomainName), username,
+                password, StringUtils.defaultString(tenantDomainName), tenantName, StringUtils.defaultString(regionName),
+                String.valueOf(osVersion)));
+        }
+
         private boolean isV3AuthSupported(URL authUrl) {
             String authUrlPath = authUrl.getPath().replace("/", StringUtils.EMPTY);
             return authUrlPath.endsWith("v3");
@@ -0,0 +1,319 @@
+/*
+ * Copyright 2023 Maestro Cloud Control LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.maestro3.agent.openstack.provider;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSerializer;
+import io.maestro3.agent.dao.KeystoneTokenDao;
+import io.maestro3.agent.model.identity.Access;
+import io.maestro3.agent.openstack.api.identity.bean.v2.KeystoneAccess;
+import io.maestro3.agent.openstack.api.identity.bean.v3.V3KeystoneAccess;
+import io.maestro3.agent.openstack.client.IKeystoneTokenStore;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+
+/**
+ * Keystone tokens shared by all OSClient`s of the node.
+ * <p>
+ * Tokens are refreshed in background ahead of expiry while their scope is in use, so clients rarely authorize on a
+ * request path. When persistence is enabled tokens are also kept encrypted in Mongo and a restarted node reuses them
+ * instead of authorizing every tenant again.
+ */
+@Component
+public class KeystoneTokenStore implements IKeystoneTokenStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(KeystoneTokenStore.class);
+
+    private static final String CIPHER = "AES/GCM/NoPadding";
+    private static final String SCOPE_KEY_MAC = "HmacSHA256";
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_LENGTH_BITS = 128;
+    private static final String V2_TYPE = "v2";
+    private static final String V3_TYPE = "v3";
+
+    private static final Gson GSON = new GsonBuilder()
+        .registerTypeAdapter(Date.class, (JsonSerializer<Date>) (date, type, context) ->
+            new JsonPrimitive(date.getTime()))
+        .registerTypeAdapter(Date.class, (JsonDeserializer<Date>) (json, type, context) ->
+            new Date(json.getAsLong()))
+        .create();
+
+    private final Map<String, TokenEntry> tokens = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+    private final KeystoneTokenDao tokenDao;
+    private final ExecutorService refresher;
+    private final long refreshAheadMillis;
+    private final long idleMillis;
+    private final SecretKey encryptionKey;
+    private final SecretKey scopeKeySecret;
+
+    @Autowired
+    public KeystoneTokenStore(KeystoneTokenDao tokenDao,
+                              @Value("${openstack.token.refresh.threads:2}") int refreshThreads,
+                              @Value("${openstack.token.refresh.ahead.seconds:600}") long refreshAheadSeconds,
+                              @Value("${openstack.token.refresh.idle.minutes:60}") long idleMinutes,
+                              @Value("${openstack.token.store.persist:false}") boolean persist,
+                              @Value("${openstack.token.store.key:}") String encryptionKey) {
+        this.tokenDao = tokenDao;
+        this.refresher = Executors.newFixedThreadPool(Math.max(1, refreshThreads), new ThreadFactoryBuilder()
+            .setNameFormat("os-token-refresher-%d")
+            .setDaemon(true)
+            .build());
+        this.refreshAheadMillis = TimeUnit.SECONDS.toMillis(refreshAheadSeconds);
+        this.idleMillis = TimeUnit.MINUTES.toMillis(idleMinutes);
+        this.encryptionKey = persist ? toKey(encryptionKey) : null;
+        this.scopeKeySecret = scopeKeySecret(this.encryptionKey, random);
+    }
+
+    @Override
+    public String scopeKey(String scope) {
+        try {
+            Mac mac = Mac.getInstance(SCOPE_KEY_MAC);
+            mac.init(scopeKeySecret);
+            StringBuilder hex = new StringBuilder();
+            for (byte b : mac.doFinal(scope.getBytes(StandardCharsets.UTF_8))) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to create token scope key. ", e);
+        }
+    }
+
+    @Override
+    public Access get(String scopeKey) {
+        TokenEntry entry = tokens.get(scopeKey);
+        if (entry != null) {
+            entry.lastUsed = System.currentTimeMillis();
+            if (!isExpired(entry.access)) {
+                return entry.access;
+            }
+        }
+        Access persisted = load(scopeKey);
+        if (persisted != null) {
+            tokens.computeIfAbsent(scopeKey, key -> new TokenEntry()).access = persisted;
+        }
+        return persisted;
+    }
+
+    @Override
+    public void touch(String scopeKey) {
+        TokenEntry entry = tokens.get(scopeKey);
+        if (entry != null) {
+            entry.lastUsed = System.currentTimeMillis();
+        }
+    }
+
+    @Override
+    public void put(String scopeKey, Access access, Refresher refresher) {
+        TokenEntry entry = tokens.computeIfAbsent(scopeKey, key -> new TokenEntry());
+        entry.access = access;
+        entry.refresher = refresher;
+        // lastUsed is left to get() and touch(), so scopes kept alive only by background refreshes still become idle
+        save(scopeKey, access);
+    }
+
+    @Override
+    public void invalidate(String scopeKey, Access rejected) {
+        TokenEntry entry = tokens.get(scopeKey);
+        if (entry != null && entry.access != null && !sameToken(entry.access, rejected)) {
+            return;
+        }
+        if (entry != null) {
+            entry.access = null;
+        }
+        if (encryptionKey != null) {
+            try {
+                tokenDao.delete(scopeKey);
+            } catch (Exception e) {
+                LOG.warn("Failed to delete persisted keystone token: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Refreshes tokens that expire soon and forgets scopes that were not used for a while.
+     */
+    @Scheduled(fixedDelayString = "${openstack.token.refresh.check.millis:30000}")
+    public void refreshExpiring() {
+        long now = System.currentTimeMillis();
+        tokens.entrySet().removeIf(token -> now - token.getValue().lastUsed > idleMillis);
+        tokens.values().forEach(entry -> {
+            Access access = entry.access;
+            if (access == null || entry.refresher == null
+                || access.getToken().getExpires().getTime() - now > refreshAheadMillis
+                || !entry.refreshing.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                refresher.execute(() -> refresh(entry));
+            } catch (RejectedExecutionException e) {
+                entry.refreshing.set(false);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    private void refresh(TokenEntry entry) {
+        try {
+            entry.refresher.refresh();
+        } catch (Exception e) {
+            LOG.warn("Failed to refresh keystone token ahead of expiry: {}", e.getMessage());
+        } finally {
+            entry.refreshing.set(false);
+        }
+    }
+
+    private Access load(String scopeKey) {
+        if (encryptionKey == null) {
+            return null;
+        }
+        try {
+            String payload = tokenDao.findPayload(scopeKey);
+            if (payload == null) {
+                return null;
+            }
+            JsonObject json = GSON.fromJson(decrypt(payload), JsonObject.class);
+            String type = json.get("type").getAsString();
+            Access access = GSON.fromJson(json.get("access"), V3_TYPE.equals(type) ? V3KeystoneAccess.class : KeystoneAccess.class);
+            return isExpired(access) ? null : access;
+        } catch (Exception e) {
+            LOG.warn("Failed to load persisted keystone token: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void save(String scopeKey, Access access) {
+        if (encryptionKey == null) {
+            return;
+        }
+        try {
+            JsonObject json = new JsonObject();
+            json.addProperty("type", access instanceof V3KeystoneAccess ? V3_TYPE : V2_TYPE);
+            json.add("access", GSON.toJsonTree(access));
+            tokenDao.save(scopeKey, encrypt(json.toString()), access.getToken().getExpires());
+        } catch (Exception e) {
+            LOG.warn("Failed to persist keystone token: {}", e.getMessage());
+        }
+    }
+
+    private String encrypt(String value) throws Exception {
+        byte[] iv = new byte[IV_LENGTH];
+        random.nextBytes(iv);
+        Cipher cipher = Cipher.getInstance(CIPHER);
+        cipher.init(Cipher.ENCRYPT_MODE, encryptionKey, new GCMParameterSpec(TAG_LENGTH_BITS, iv));
+        byte[] encrypted = cipher.doFinal(value.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(ByteBuffer.allocate(iv.length + encrypted.length)
+            .put(iv)
+            .put(encrypted)
+            .array());
+    }
+
+    private String decrypt(String value) throws Exception {
+        byte[] bytes = Base64.getDecoder().decode(value);
+        Cipher cipher = Cipher.getInstance(CIPHER);
+        cipher.init(Cipher.DECRYPT_MODE, encryptionKey, new GCMParameterSpec(TAG_LENGTH_BITS, bytes, 0, IV_LENGTH));
+        return new String(cipher.doFinal(bytes, IV_LENGTH, bytes.length - IV_LENGTH), StandardCharsets.UTF_8);
+    }
+
+    private static SecretKey toKey(String encryptionKey) {
+        if (StringUtils.isBlank(encryptionKey)) {
+            LOG.warn("Keystone token persistence is enabled but openstack.token.store.key is not set, tokens are kept in memory only");
+            return null;
+        }
+        byte[] key = Base64.getDecoder().decode(encryptionKey.trim());
+        if (key.length != 16 && key.length != 24 && key.length != 32) {
+            throw new IllegalArgumentException("openstack.token.store.key must be a base64 encoded 128, 192 or 256 bit key");
+        }
+        return new SecretKeySpec(key, "AES");
+    }
+
+    /**
+     * Persisted tokens are looked up by scope key after restart, so the key is stable only when it is derived from the
+     * configured encryption key; otherwise a random key of this process is used.
+     */
+    private static SecretKey scopeKeySecret(SecretKey encryptionKey, SecureRandom random) {
+        byte[] key;
+        if (encryptionKey != null) {
+            try {
+                Mac mac = Mac.getInstance(SCOPE_KEY_MAC);
+                mac.init(new SecretKeySpec(encryptionKey.getEncoded(), SCOPE_KEY_MAC));
+                key = mac.doFinal("keystone-token-scope".getBytes(StandardCharsets.UTF_8));
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Unable to derive token scope key. ", e);
+            }
+        } else {
+            key = new byte[32];
+            random.nextBytes(key);
+        }
+        return new SecretKeySpec(key, SCOPE_KEY_MAC);
+    }
+
+    private static boolean isExpired(Access access) {
+        return access == null || access.getToken().getExpires() == null
+            || !access.getToken().getExpires().after(new Date());
+    }
+
+    private static boolean sameToken(Access first, Access second) {
+        return second != null && Objects.equals(first.getToken().getId(), second.getToken().getId());
+    }
+
+    private static final class TokenEntry {
+
+        private volatile Access access;
+        private volatile Refresher refresher;
+        private volatile long lastUsed = System.currentTimeMillis();
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+    }
+}
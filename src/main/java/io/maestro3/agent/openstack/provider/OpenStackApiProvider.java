@@ -31,4 +31,15 @@ public interface OpenStackApiProvider {
     IOpenStackApi adminOpenStack(OpenStackRegionConfig region) throws M3PrivateAgentException;
 
     IOpenStackApi openStack(OpenStackTenant tenantConfig, OpenStackRegionConfig region) throws M3PrivateAgentException;
+
+    /**
+     * Creates the cached client of the tenant, authorizes it and resolves endpoints of the main services,
+     * so the first real request does not pay for it.
+     */
+    void warmUp(OpenStackTenant tenantConfig, OpenStackRegionConfig region) throws M3PrivateAgentException;
+
+    /**
+     * Same as {@link #warmUp(OpenStackTenant, OpenStackRegionConfig)} for the admin client of the region.
+     */
+    void warmUpAdmin(OpenStackRegionConfig region) throws M3PrivateAgentException;
 }
@@ -19,8 +19,10 @@ package io.maestro3.agent.openstack.provider;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.maestro3.agent.exception.M3PrivateAgentException;
 import io.maestro3.agent.factory.CloseableHttpClientFactory;
+import io.maestro3.agent.http.client.SimpleAsyncHttpClientImpl;
 import io.maestro3.agent.http.tracker.IHttpRequestTracker;
 import io.maestro3.agent.model.OpenStackUserInfo;
 import io.maestro3.agent.model.enums.OpenStackVersion;
@@ -29,14 +31,22 @@ import io.maestro3.agent.model.region.OpenStackServiceTenantInfo;
 import io.maestro3.agent.model.tenant.OpenStackTenant;
 import io.maestro3.agent.openstack.api.IOpenStackApi;
 import io.maestro3.agent.openstack.api.OpenStackApi;
+import io.maestro3.agent.openstack.api.ServiceType;
+import io.maestro3.agent.openstack.client.IKeystoneTokenStore;
 import io.maestro3.agent.openstack.client.IOSClient;
 import io.maestro3.agent.openstack.client.impl.OSClient;
+import io.maestro3.agent.openstack.exception.OSClientException;
 import org.apache.http.client.HttpClient;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PreDestroy;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 
@@ -44,6 +54,8 @@ import java.util.concurrent.TimeUnit;
 public class OpenStackApiProviderImpl implements OpenStackApiProvider {
 
     private static final int MAX_CACHE_SIZE = 20;
+    private static final ServiceType[] WARM_UP_SERVICES = {ServiceType.COMPUTE, ServiceType.VOLUME,
+        ServiceType.VOLUME_V3, ServiceType.NETWORK, ServiceType.IMAGE};
 
     /**
      * Cache of OSClient`s for OpenStack API.
@@ -60,26 +72,57 @@ public class OpenStackApiProviderImpl implements OpenStackApiProvider {
         .build();
 
     private final IHttpRequestTracker requestTracker;
+    private final RegionHttpClientPool regionHttpClientPool;
+    private final IKeystoneTokenStore tokenStore;
+    private final boolean pooledHttpClients;
+    private final int listPageSize;
+
+    /**
+     * Non-blocking HTTP client shared by all OSClient`s, it keeps connections per host itself.
+     */
+    private final java.net.http.HttpClient asyncHttpClient;
+    private final ExecutorService asyncResponseExecutor;
+    private final ExecutorService asyncReauthorizeExecutor;
+    private final Duration asyncRequestTimeout;
 
     @Autowired
-    public OpenStackApiProviderImpl(IHttpRequestTracker requestTracker) {
+    public OpenStackApiProviderImpl(IHttpRequestTracker requestTracker,
+                                    RegionHttpClientPool regionHttpClientPool,
+                                    IKeystoneTokenStore tokenStore,
+                                    @Value("${openstack.http.pool.enabled:false}") boolean pooledHttpClients,
+                                    @Value("${openstack.api.list.page.size:500}") int listPageSize,
+                                    @Value("${openstack.http.async.threads:4}") int asyncThreads,
+                                    @Value("${openstack.http.async.request.timeout.seconds:120}") int asyncRequestTimeoutSeconds,
+                                    @Value("${openstack.http.async.reauthorize.threads:2}") int asyncReauthorizeThreads) {
         this.requestTracker = requestTracker;
+        this.regionHttpClientPool = regionHttpClientPool;
+        this.tokenStore = tokenStore;
+        this.pooledHttpClients = pooledHttpClients;
+        this.listPageSize = listPageSize;
+        this.asyncResponseExecutor = Executors.newFixedThreadPool(Math.max(1, asyncThreads), new ThreadFactoryBuilder()
+            .setNameFormat("os-http-async-%d")
+            .setDaemon(true)
+            .build());
+        // keystone calls made after 401 on async requests block, so they do not run on the response threads
+        this.asyncReauthorizeExecutor = Executors.newFixedThreadPool(Math.max(1, asyncReauthorizeThreads),
+            new ThreadFactoryBuilder()
+                .setNameFormat("os-http-async-reauthorize-%d")
+                .setDaemon(true)
+                .build());
+        this.asyncHttpClient = SimpleAsyncHttpClientImpl.newTrustAllHttpClient(asyncResponseExecutor, Duration.ofSeconds(30));
+        this.asyncRequestTimeout = Duration.ofSeconds(asyncRequestTimeoutSeconds);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        asyncResponseExecutor.shutdownNow();
+        asyncReauthorizeExecutor.shutdownNow();
     }
 
     @Override
     public IOpenStackApi openStack(OpenStackTenant tenant, OpenStackRegionConfig region)
         throws M3PrivateAgentException {
-        OpenStackUserInfo userInfo = tenant.getUserInfo();
-        return new OpenStackApi(
-            getClient(region.getKeystoneAuthUrl(),
-                region.getId(),
-                userInfo.getName(),
-                userInfo.getPassword(),
-                tenant.getNativeName(),
-                region.getNativeRegionName(),
-                userInfo.getDomainName(),
-                tenant.getDomainName(),
-                region.getOsVersion()));
+        return new OpenStackApi(tenantClient(tenant, region));
     }
 
     @Override
@@ -94,18 +137,57 @@ public class OpenStackApiProviderImpl implements OpenStackApiProvider {
 
     @Override
     public IOpenStackApi adminOpenStack(OpenStackRegionConfig region) throws M3PrivateAgentException {
+        return new OpenStackApi(adminClient(region));
+    }
+
+    @Override
+    public void warmUp(OpenStackTenant tenant, OpenStackRegionConfig region) throws M3PrivateAgentException {
+        resolveEndpoints(tenantClient(tenant, region));
+    }
+
+    @Override
+    public void warmUpAdmin(OpenStackRegionConfig region) throws M3PrivateAgentException {
+        resolveEndpoints(adminClient(region));
+    }
+
+    private IOSClient tenantClient(OpenStackTenant tenant, OpenStackRegionConfig region) throws M3PrivateAgentException {
+        OpenStackUserInfo userInfo = tenant.getUserInfo();
+        return getClient(region.getKeystoneAuthUrl(),
+            region.getId(),
+            userInfo.getName(),
+            userInfo.getPassword(),
+            tenant.getNativeName(),
+            region.getNativeRegionName(),
+            userInfo.getDomainName(),
+            tenant.getDomainName(),
+            region.getOsVersion());
+    }
+
+    private IOSClient adminClient(OpenStackRegionConfig region) throws M3PrivateAgentException {
         OpenStackUserInfo userInfo = region.getAdminUserCredentials();
         OpenStackServiceTenantInfo serviceTenantInfo = region.getServiceTenantInfo();
-        return new OpenStackApi(
-            getClient(region.getKeystoneAuthUrl(),
-                region.getId(),
-                userInfo.getName(),
-                userInfo.getPassword(),
-                serviceTenantInfo.getName(),
-                region.getNativeRegionName(),
-                userInfo.getDomainName(),
-                "",
-                region.getOsVersion()));
+        return getClient(region.getKeystoneAuthUrl(),
+            region.getId(),
+            userInfo.getName(),
+            userInfo.getPassword(),
+            serviceTenantInfo.getName(),
+            region.getNativeRegionName(),
+            userInfo.getDomainName(),
+            "",
+            region.getOsVersion());
+    }
+
+    /**
+     * Authorizes the client, if needed, and caches endpoints of the main services.
+     */
+    private static void resolveEndpoints(IOSClient client) throws M3PrivateAgentException {
+        try {
+            for (ServiceType type : WARM_UP_SERVICES) {
+                client.getNullableEndpoint(type);
+            }
+        } catch (OSClientException e) {
+            throw new M3PrivateAgentException("Failed to warm up OpenStack client: " + e.getMessage());
+        }
     }
 
     public IOSClient getClientNoCache(String authUrl, String user, String password, String tenant, String regionName,
@@ -121,6 +203,10 @@ public class OpenStackApiProviderImpl implements OpenStackApiProvider {
             .userDomainName(userDomainName)
             .tenantDomainName(tenantDomainName)
             .osVersion(version)
+            .listPageSize(listPageSize)
+            .asyncHttpClient(new SimpleAsyncHttpClientImpl(asyncHttpClient, Duration.ofSeconds(timeout)))
+            .reauthorizeExecutor(asyncReauthorizeExecutor)
+            .tokenStore(tokenStore)
             .build();
     }
 
@@ -145,6 +231,10 @@ public class OpenStackApiProviderImpl implements OpenStackApiProvider {
                     .userDomainName(userDomainName)
                     .tenantDomainName(tenantDomainName)
                     .osVersion(version)
+                    .listPageSize(listPageSize)
+                    .asyncHttpClient(new SimpleAsyncHttpClientImpl(asyncHttpClient, asyncRequestTimeout))
+                    .reauthorizeExecutor(asyncReauthorizeExecutor)
+                    .tokenStore(tokenStore)
                     .build();
                 clientsCache.put(clientHash, client);
             }
@@ -163,7 +253,9 @@ public class OpenStackApiProviderImpl implements OpenStackApiProvider {
             if (httpClient != null) {
                 return httpClient;
             }
-            httpClient = CloseableHttpClientFactory.getHttpClient(regionId, requestTracker);
+            httpClient = pooledHttpClients
+                ? regionHttpClientPool.getHttpClient(authUrl, regionId)
+                : CloseableHttpClientFactory.getHttpClient(regionId, requestTracker);
             httpClientsCache.put(authUrl, httpClient);
             return httpClient;
         }
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2023 Maestro Cloud Control LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.maestro3.agent.openstack.provider;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.NoopHostnameVerifier;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.ssl.SSLContexts;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import javax.net.ssl.SSLContext;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+
+/**
+ * Pooled HTTP clients for OpenStack APIs, one connection pool per region.
+ * <p>
+ * Pools limit connections per route, validate connections that were idle for a while before reusing them, and are
+ * cleaned from expired and long idle connections by a background thread. A failed request only discards its own
+ * connection, the rest of the pool stays warm.
+ */
+@Component
+public class RegionHttpClientPool {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RegionHttpClientPool.class);
+
+    private final Map<String, RegionPool> pools = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService evictor;
+    private final int maxPerRoute;
+    private final int maxTotal;
+    private final int validateAfterInactivityMillis;
+    private final long idleTimeoutMillis;
+    private final int connectTimeoutMillis;
+    private final int socketTimeoutMillis;
+    private final boolean trustAllCertificates;
+
+    public RegionHttpClientPool(@Value("${openstack.http.pool.max.per.route:20}") int maxPerRoute,
+                                @Value("${openstack.http.pool.max.total:100}") int maxTotal,
+                                @Value("${openstack.http.pool.validate.after.inactivity.millis:2000}") int validateAfterInactivityMillis,
+                                @Value("${openstack.http.pool.idle.timeout.seconds:60}") long idleTimeoutSeconds,
+                                @Value("${openstack.http.connect.timeout.millis:10000}") int connectTimeoutMillis,
+                                @Value("${openstack.http.socket.timeout.millis:120000}") int socketTimeoutMillis,
+                                @Value("${openstack.http.ssl.trust.all:true}") boolean trustAllCertificates) {
+        this.maxPerRoute = maxPerRoute;
+        this.maxTotal = maxTotal;
+        this.validateAfterInactivityMillis = validateAfterInactivityMillis;
+        this.idleTimeoutMillis = TimeUnit.SECONDS.toMillis(idleTimeoutSeconds);
+        this.connectTimeoutMillis = connectTimeoutMillis;
+        this.socketTimeoutMillis = socketTimeoutMillis;
+        this.trustAllCertificates = trustAllCertificates;
+        this.evictor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+            .setNameFormat("os-http-pool-evictor")
+            .setDaemon(true)
+            .build());
+        long evictionPeriod = Math.max(1000L, idleTimeoutMillis / 2);
+        this.evictor.scheduleWithFixedDelay(this::evictConnections, evictionPeriod, evictionPeriod, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param poolKey  key of the pool, usually keystone url of the region
+     * @param regionId region the pool belongs to, used for logging only
+     * @return pooled client shared by all tenants of the region
+     */
+    public CloseableHttpClient getHttpClient(String poolKey, String regionId) {
+        return pools.computeIfAbsent(poolKey, key -> createPool(regionId)).httpClient;
+    }
+
+    /**
+     * @return leased, available and pending connections by region
+     */
+    public Map<String, PoolStats> getPoolStats() {
+        return pools.values().stream()
+            .collect(Collectors.toMap(pool -> pool.regionId, pool -> pool.connectionManager.getTotalStats(),
+                (first, second) -> first));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        evictor.shutdownNow();
+        pools.values().forEach(pool -> {
+            try {
+                pool.httpClient.close();
+            } catch (IOException e) {
+                LOG.warn("Failed to close http client of region {}: {}", pool.regionId, e.getMessage());
+            }
+        });
+    }
+
+    private RegionPool createPool(String regionId) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(socketFactories());
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        connectionManager.setMaxTotal(Math.max(maxTotal, maxPerRoute));
+        connectionManager.setValidateAfterInactivity(validateAfterInactivityMillis);
+
+        CloseableHttpClient httpClient = HttpClients.custom()
+            .setConnectionManager(connectionManager)
+            .setDefaultRequestConfig(RequestConfig.custom()
+                .setConnectTimeout(connectTimeoutMillis)
+                .setConnectionRequestTimeout(connectTimeoutMillis)
+                .setSocketTimeout(socketTimeoutMillis)
+                .build())
+            .build();
+        LOG.info("Created http connection pool for region {}: {} per route, {} total",
+            regionId, maxPerRoute, connectionManager.getMaxTotal());
+        return new RegionPool(regionId, connectionManager, httpClient);
+    }
+
+    private Registry<ConnectionSocketFactory> socketFactories() {
+        SSLConnectionSocketFactory sslSocketFactory;
+        if (trustAllCertificates) {
+            try {
+                SSLContext sslContext = SSLContexts.custom()
+                    .loadTrustMaterial(null, (chain, authType) -> true)
+                    .build();
+                sslSocketFactory = new SSLConnectionSocketFactory(sslContext, NoopHostnameVerifier.INSTANCE);
+            } catch (Exception e) {
+                throw new IllegalStateException("Unable to create ssl socket factory", e);
+            }
+        } else {
+            sslSocketFactory = SSLConnectionSocketFactory.getSocketFactory();
+        }
+        return RegistryBuilder.<ConnectionSocketFactory>create()
+            .register("http", PlainConnectionSocketFactory.getSocketFactory())
+            .register("https", sslSocketFactory)
+            .build();
+    }
+
+    private void evictConnections() {
+        for (RegionPool pool : pools.values()) {
+            try {
+                pool.connectionManager.closeExpiredConnections();
+                pool.connectionManager.closeIdleConnections(idleTimeoutMillis, TimeUnit.MILLISECONDS);
+                PoolStats stats = pool.connectionManager.getTotalStats();
+                if (stats.getPending() > 0) {
+                    LOG.info("Http pool of region {} is exhausted: {}", pool.regionId, stats);
+                } else {
+                    LOG.debug("Http pool of region {}: {}", pool.regionId, stats);
+                }
+            } catch (Exception e) {
+                LOG.warn("Failed to evict connections of region {}: {}", pool.regionId, e.getMessage());
+            }
+        }
+    }
+
+    private static final class RegionPool {
+
+        private final String regionId;
+        private final PoolingHttpClientConnectionManager connectionManager;
+        private final CloseableHttpClient httpClient;
+
+        private RegionPool(String regionId, PoolingHttpClientConnectionManager connectionManager,
+                           CloseableHttpClient httpClient) {
+            this.regionId = regionId;
+            this.connectionManager = connectionManager;
+            this.httpClient = httpClient;
+        }
+    }
+}
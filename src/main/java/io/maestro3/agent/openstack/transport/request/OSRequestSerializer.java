@@ -17,9 +17,8 @@
 
 package io.maestro3.agent.openstack.transport.request;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import io.maestro3.agent.http.client.serialization.Serializer;
+import io.maestro3.agent.http.client.serialization.impl.CommonGsonFactory;
 import org.apache.http.HttpEntityEnclosingRequest;
 import org.apache.http.entity.StringEntity;
 
@@ -29,8 +28,7 @@ public class OSRequestSerializer implements Serializer {
     @Override
     public void serialize(Object data, HttpEntityEnclosingRequest request) throws Exception {
         if (data != null) {
-            Gson gson = new GsonBuilder().create();
-            String json = gson.toJson(data);
+            String json = CommonGsonFactory.shared().toJson(data);
             request.setEntity(new StringEntity(json));
         }
     }
@@ -38,9 +38,6 @@ import org.apache.http.util.EntityUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.ByteArrayInputStream;
-import java.io.InputStreamReader;
-import java.io.Reader;
 import java.lang.reflect.Type;
 import java.util.Collections;
 import java.util.Date;
@@ -50,6 +47,22 @@ public class OSResponseDeserializer implements Deserializer {
 
     private static final Logger LOG = LoggerFactory.getLogger(OSResponseDeserializer.class);
 
+    private static final int MAX_LOGGED_JSON_LENGTH = 4096;
+
+    /**
+     * Gson without {@link NovaImage} adapter, used by the adapter itself to avoid recursion.
+     */
+    private static final Gson BASE_GSON = new GsonBuilder()
+            .registerTypeHierarchyAdapter(MappedEnum.class, new MappedEnumDeserializer())
+            .registerTypeAdapter(Date.class, new UtcDateDeserializer())
+            .create();
+
+    private static final Gson RESPONSE_GSON = new GsonBuilder()
+            .registerTypeHierarchyAdapter(MappedEnum.class, new MappedEnumDeserializer())
+            .registerTypeAdapter(Date.class, new UtcDateDeserializer())
+            .registerTypeAdapter(NovaImage.class, new BlockStorageMappingDeserializer(BASE_GSON))
+            .create();
+
     @Override
     @SuppressWarnings("unchecked")
     public <T> T deserialize(Type responseType, HttpResponse response) throws Exception {
@@ -58,22 +71,26 @@ public class OSResponseDeserializer implements Deserializer {
         }
         String json = EntityUtils.toString(response.getEntity());
 
-        LOG.debug("Response json: {}", json);
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Response json ({} chars): {}", json.length(), StringUtils.abbreviate(json, MAX_LOGGED_JSON_LENGTH));
+        }
 
         if (String.class.equals(responseType)) {
             return (T) json;
         }
         if (StringUtils.isNotEmpty(json)) {
-            Gson gson = new GsonBuilder()
-                    .registerTypeHierarchyAdapter(MappedEnum.class, new MappedEnumDeserializer())
-                    .registerTypeAdapter(Date.class, new UtcDateDeserializer())
-                    .registerTypeAdapter(NovaImage.class, new BlockStorageMappingDeserializer())
-                    .create();
-            return gson.fromJson(json, responseType);
+            return RESPONSE_GSON.fromJson(json, responseType);
         }
         return null;
     }
 
+    /**
+     * @return shared Gson configured for OpenStack responses
+     */
+    static Gson responseGson() {
+        return RESPONSE_GSON;
+    }
+
     private static class MappedEnumDeserializer implements JsonDeserializer<MappedEnum>, JsonSerializer<MappedEnum> {
         @Override
         public MappedEnum deserialize(JsonElement json, Type typeOfEnum, JsonDeserializationContext context) throws JsonParseException {
@@ -117,15 +134,16 @@ public class OSResponseDeserializer implements Deserializer {
 
         private static final String BLOCK_DEVICE_MAPPING = "block_device_mapping";
 
+        private final Gson gson;
+
+        private BlockStorageMappingDeserializer(Gson gson) {
+            this.gson = gson;
+        }
+
         @Override
         public NovaImage deserialize(JsonElement json, Type typeOfEnum, JsonDeserializationContext context) throws JsonParseException {
             JsonObject asJsonObject = json.getAsJsonObject();
 
-            Gson gson = new GsonBuilder()
-                    .registerTypeHierarchyAdapter(MappedEnum.class, new MappedEnumDeserializer())
-                    .registerTypeAdapter(Date.class, new UtcDateDeserializer())
-                    .create();
-
             NovaImage novaImage = gson.fromJson(json, typeOfEnum);
             setupStorageMappingIfNeeded(asJsonObject, gson, novaImage);
 
@@ -139,8 +157,7 @@ public class OSResponseDeserializer implements Deserializer {
             }
 
             String blockMappingListAsString = blockMappingList.getAsString();
-            Reader reader = new InputStreamReader(new ByteArrayInputStream(blockMappingListAsString.getBytes()));
-            JsonElement fromJson = gson.fromJson(reader, JsonElement.class);
+            JsonElement fromJson = gson.fromJson(blockMappingListAsString, JsonElement.class);
             JsonArray blockMappingListAsJsonArray = fromJson.getAsJsonArray();
             JsonElement blockMapping = blockMappingListAsJsonArray.get(0);
             NovaBlockStorageMapping blockStorageMapping = gson.fromJson(blockMapping, NovaBlockStorageMapping.class);
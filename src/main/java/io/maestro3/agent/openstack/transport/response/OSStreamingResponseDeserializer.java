@@ -0,0 +1,148 @@
+/*
+ * Copyright 2023 Maestro Cloud Control LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.maestro3.agent.openstack.transport.response;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import io.maestro3.agent.http.client.serialization.Deserializer;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+
+/**
+ * Deserializes OpenStack list responses like {@code {"servers": [...]}} straight from the response stream.
+ * Elements of the collection are read one by one and passed to the consumer, so neither the whole response body
+ * nor the whole list is ever kept in memory. The next page link is taken either from the {@code <collection>_links}
+ * array (Nova, Cinder, Neutron) or from the top-level {@code next} field (Glance). Other top-level fields are skipped.
+ *
+ * @param <E> type of collection element
+ */
+public class OSStreamingResponseDeserializer<E> implements Deserializer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OSStreamingResponseDeserializer.class);
+
+    private static final String LINKS_SUFFIX = "_links";
+    private static final String NEXT = "next";
+
+    private final String collectionName;
+    private final Type elementType;
+    private final Consumer<? super E> consumer;
+
+    public OSStreamingResponseDeserializer(String collectionName, Type elementType, Consumer<? super E> consumer) {
+        this.collectionName = collectionName;
+        this.elementType = elementType;
+        this.consumer = consumer;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T deserialize(Type responseType, HttpResponse response) throws Exception {
+        StreamedPage page = new StreamedPage();
+        HttpEntity entity = response == null ? null : response.getEntity();
+        if (entity == null) {
+            return (T) page;
+        }
+        Gson gson = OSResponseDeserializer.responseGson();
+        try (JsonReader reader = new JsonReader(new InputStreamReader(entity.getContent(), StandardCharsets.UTF_8))) {
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                return (T) page;
+            }
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (collectionName.equals(name) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        E element = gson.fromJson(reader, elementType);
+                        page.count++;
+                        consumer.accept(element);
+                    }
+                    reader.endArray();
+                } else if ((collectionName + LINKS_SUFFIX).equals(name) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                    page.nextLink = readNextLink(reader);
+                } else if (NEXT.equals(name) && reader.peek() == JsonToken.STRING) {
+                    page.nextLink = reader.nextString();
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+        }
+        LOG.debug("Streamed {} element(s) of '{}'", page.count, collectionName);
+        return (T) page;
+    }
+
+    private String readNextLink(JsonReader reader) throws IOException {
+        String nextLink = null;
+        reader.beginArray();
+        while (reader.hasNext()) {
+            String href = null;
+            String rel = null;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String field = reader.nextName();
+                if ("href".equals(field) && reader.peek() == JsonToken.STRING) {
+                    href = reader.nextString();
+                } else if ("rel".equals(field) && reader.peek() == JsonToken.STRING) {
+                    rel = reader.nextString();
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+            if (NEXT.equals(rel)) {
+                nextLink = href;
+            }
+        }
+        reader.endArray();
+        return nextLink;
+    }
+
+    /**
+     * Summary of a streamed list response.
+     */
+    public static class StreamedPage {
+
+        private int count;
+        private String nextLink;
+
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * @return link to the next page or null if this page is the last one
+         */
+        public String getNextLink() {
+            return nextLink;
+        }
+
+        public boolean hasNextPage() {
+            return nextLink != null;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2023 Maestro Cloud Control LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.maestro3.agent.service;
+
+
+/**
+ * Splits describable regions and tenants between live agent replicas.
+ */
+public interface IShardAssignmentService {
+
+    /**
+     * @return true if region-wide work of the region belongs to this node
+     */
+    boolean ownsRegion(String regionId);
+
+    /**
+     * @return true if work of the tenant in the region belongs to this node
+     */
+    boolean ownsTenant(String regionId, String tenantId);
+}
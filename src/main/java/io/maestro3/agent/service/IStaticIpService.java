@@ -32,6 +32,11 @@ public interface IStaticIpService {
 
     void update(StaticIpAddress staticIpAddress);
 
+    /**
+     * Replaces all the addresses with a single unordered bulk write.
+     */
+    void updateAll(Collection<? extends StaticIpAddress> staticIpAddresses);
+
     void delete(StaticIpAddress staticIpAddress);
 
     StaticIpAddress findById(String id);
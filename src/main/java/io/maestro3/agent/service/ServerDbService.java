@@ -20,6 +20,7 @@ package io.maestro3.agent.service;
 import io.maestro3.agent.model.enums.ServerStateEnum;
 import io.maestro3.agent.model.general.ServerConfig;
 import io.maestro3.agent.model.server.OpenStackServerConfig;
+import io.maestro3.agent.model.server.ServerConfigUpdate;
 
 import java.util.Collection;
 import java.util.List;
@@ -34,6 +35,8 @@ public interface ServerDbService {
 
     void updateServerConfig(String dbId, ServerStateEnum serverStateEnum, String ipAddress, Set<String> volumeIps, Boolean runSuccess);
 
+    void updateServerConfigs(Collection<ServerConfigUpdate> updates);
+
     void insertServers(Collection<ServerConfig> serverConfigs);
 
     OpenStackServerConfig findServer(String regionId, String tenantId, String nameAlias);
@@ -0,0 +1,265 @@
+/*
+ * Copyright 2023 Maestro Cloud Control LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.maestro3.agent.service.impl;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import io.maestro3.agent.dao.ConfigVersionDao;
+import io.maestro3.agent.dao.IOpenStackRegionRepository;
+import io.maestro3.agent.dao.IOpenStackTenantRepository;
+import io.maestro3.agent.model.region.OpenStackRegionConfig;
+import io.maestro3.agent.model.tenant.OpenStackTenant;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+
+/**
+ * In-memory copy of OpenStack region and tenant configurations, indexed by alias, id and native id.
+ * <p>
+ * Lookups are served from a snapshot, so hot paths do no Mongo reads and no password decryption. A miss falls
+ * through to the repository and its result, including "not found", is remembered in the snapshot until the next
+ * reload. The snapshot is reloaded when a Mongo
+ * change stream reports a config change; where change streams are unavailable (standalone Mongo) a shared version
+ * counter is polled instead, bumped by {@link #invalidate()} on every config write made by this agent. The snapshot is
+ * also reloaded once it is older than the maximum age, to pick up writes made by other components.
+ * <p>
+ * Returned configs are shared between callers and must be treated as read-only; code that modifies a config has to
+ * read it from the repository and call {@link #invalidate()} after saving it.
+ */
+@Component
+public class OpenStackConfigCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OpenStackConfigCache.class);
+
+    private static final String VERSION_KEY = "openStackConfig";
+
+    private final IOpenStackRegionRepository regionRepository;
+    private final IOpenStackTenantRepository tenantRepository;
+    private final ConfigVersionDao configVersionDao;
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final boolean changeStreamEnabled;
+    private final long maxAgeMillis;
+
+    private volatile Snapshot snapshot;
+    private volatile boolean changeStreamActive;
+    private volatile boolean running = true;
+    private Thread changeStreamWatcher;
+
+    @Autowired
+    public OpenStackConfigCache(IOpenStackRegionRepository regionRepository, IOpenStackTenantRepository tenantRepository,
+                                ConfigVersionDao configVersionDao, MongoTemplate mongoTemplate,
+                                @Value("${agent.config.cache.enabled:true}") boolean enabled,
+                                @Value("${agent.config.cache.change.stream.enabled:true}") boolean changeStreamEnabled,
+                                @Value("${agent.config.cache.max.age.seconds:300}") long maxAgeSeconds) {
+        this.regionRepository = regionRepository;
+        this.tenantRepository = tenantRepository;
+        this.configVersionDao = configVersionDao;
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.changeStreamEnabled = changeStreamEnabled;
+        this.maxAgeMillis = TimeUnit.SECONDS.toMillis(maxAgeSeconds);
+    }
+
+    @PostConstruct
+    public void startWatching() {
+        if (!enabled || !changeStreamEnabled) {
+            return;
+        }
+        ThreadFactory threadFactory = new ThreadFactoryBuilder()
+            .setNameFormat("os-config-cache-watcher")
+            .setDaemon(true)
+            .build();
+        changeStreamActive = true;
+        changeStreamWatcher = threadFactory.newThread(this::watchChanges);
+        changeStreamWatcher.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (changeStreamWatcher != null) {
+            changeStreamWatcher.interrupt();
+        }
+    }
+
+    public OpenStackRegionConfig findRegionByAlias(String regionAlias) {
+        if (!enabled || regionAlias == null) {
+            return regionRepository.findByAliasInCloud(regionAlias);
+        }
+        return lookup(snapshot().regionsByAlias, regionAlias, () -> regionRepository.findByAliasInCloud(regionAlias));
+    }
+
+    public OpenStackRegionConfig findRegionById(String regionId) {
+        if (!enabled || regionId == null) {
+            return regionRepository.findByIdInCloud(regionId);
+        }
+        return lookup(snapshot().regionsById, regionId, () -> regionRepository.findByIdInCloud(regionId));
+    }
+
+    public OpenStackTenant findTenantByAliasAndRegion(String tenantAlias, String regionId) {
+        if (!enabled || tenantAlias == null || regionId == null) {
+            return tenantRepository.findByTenantAliasAndRegionIdInCloud(tenantAlias, regionId);
+        }
+        return lookup(snapshot().tenantsByRegionAndAlias, tenantKey(regionId, tenantAlias),
+            () -> tenantRepository.findByTenantAliasAndRegionIdInCloud(tenantAlias, regionId));
+    }
+
+    public OpenStackTenant findTenantByNativeId(String nativeId) {
+        if (!enabled || nativeId == null) {
+            return tenantRepository.findByNativeId(nativeId);
+        }
+        return lookup(snapshot().tenantsByNativeId, nativeId, () -> tenantRepository.findByNativeId(nativeId));
+    }
+
+    /**
+     * Marks configs as changed for all agent nodes and reloads the local snapshot.
+     */
+    public void invalidate() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            configVersionDao.incrementVersion(VERSION_KEY);
+        } catch (Exception e) {
+            LOG.warn("Failed to bump config version: {}", e.getMessage());
+        }
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${agent.config.cache.poll.millis:5000}")
+    public void poll() {
+        Snapshot current = snapshot;
+        if (!enabled || current == null) {
+            return;
+        }
+        try {
+            if (System.currentTimeMillis() - current.loadedAt > maxAgeMillis) {
+                reload();
+            } else if (!changeStreamActive && configVersionDao.getVersion(VERSION_KEY) != current.version) {
+                reload();
+            }
+        } catch (Exception e) {
+            LOG.warn("Failed to refresh OpenStack config cache: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Loads a missing entry outside of the map, so a slow repository read does not block other lookups; when two
+     * threads miss the same key at once the first result wins.
+     */
+    private static <T> T lookup(Map<String, Optional<T>> index, String key, Supplier<T> loader) {
+        Optional<T> cached = index.get(key);
+        if (cached == null) {
+            Optional<T> loaded = Optional.ofNullable(loader.get());
+            cached = index.putIfAbsent(key, loaded);
+            if (cached == null) {
+                cached = loaded;
+            }
+        }
+        return cached.orElse(null);
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        return current != null ? current : reload();
+    }
+
+    private synchronized Snapshot reload() {
+        long started = System.currentTimeMillis();
+        long version = configVersionDao.getVersion(VERSION_KEY);
+        Snapshot loaded = new Snapshot(version, started);
+        for (OpenStackRegionConfig region : regionRepository.findAllRegionsForCloud()) {
+            if (region.getRegionAlias() != null && region.getId() != null) {
+                loaded.regionsByAlias.put(region.getRegionAlias(), Optional.of(region));
+                loaded.regionsById.put(region.getId(), Optional.of(region));
+            }
+        }
+        for (OpenStackTenant tenant : tenantRepository.findAllInCloud()) {
+            loaded.tenantsByRegionAndAlias.put(tenantKey(tenant.getRegionId(), tenant.getTenantAlias()),
+                Optional.of(tenant));
+            if (tenant.getNativeId() != null) {
+                loaded.tenantsByNativeId.put(tenant.getNativeId(), Optional.of(tenant));
+            }
+        }
+        snapshot = loaded;
+        LOG.debug("Loaded {} region(s) and {} tenant(s) of config version {} in {} ms", loaded.regionsById.size(),
+            loaded.tenantsByRegionAndAlias.size(), version, System.currentTimeMillis() - started);
+        return loaded;
+    }
+
+    private void watchChanges() {
+        List<String> collections = Arrays.asList(regionRepository.getCollectionName(), tenantRepository.getCollectionName());
+        try (MongoCursor<ChangeStreamDocument<Document>> cursor = mongoTemplate.getDb()
+            .watch(Collections.singletonList(Aggregates.match(Filters.in("ns.coll", collections))))
+            .iterator()) {
+            LOG.info("Watching {} for OpenStack config changes", collections);
+            while (running) {
+                cursor.next();
+                reload();
+            }
+        } catch (Exception e) {
+            if (running) {
+                LOG.warn("Config change stream is unavailable, falling back to version polling: {}", e.getMessage());
+            }
+        } finally {
+            changeStreamActive = false;
+        }
+    }
+
+    private static String tenantKey(String regionId, String tenantAlias) {
+        return regionId + '/' + tenantAlias;
+    }
+
+    private static final class Snapshot {
+
+        private final long version;
+        private final long loadedAt;
+        // empty values remember configs that were looked up but not found
+        private final Map<String, Optional<OpenStackRegionConfig>> regionsByAlias = new ConcurrentHashMap<>();
+        private final Map<String, Optional<OpenStackRegionConfig>> regionsById = new ConcurrentHashMap<>();
+        private final Map<String, Optional<OpenStackTenant>> tenantsByRegionAndAlias = new ConcurrentHashMap<>();
+        private final Map<String, Optional<OpenStackTenant>> tenantsByNativeId = new ConcurrentHashMap<>();
+
+        private Snapshot(long version, long loadedAt) {
+            this.version = version;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -17,7 +17,6 @@
 
 package io.maestro3.agent.service.impl;
 
-import io.maestro3.agent.dao.IOpenStackTenantRepository;
 import io.maestro3.agent.exception.ReadableAgentException;
 import io.maestro3.agent.model.enums.ServerStateEnum;
 import io.maestro3.agent.model.network.SecurityModeConfiguration;
@@ -30,6 +29,7 @@ import io.maestro3.agent.openstack.exception.OSClientException;
 import io.maestro3.agent.openstack.provider.OpenStackApiProvider;
 import io.maestro3.agent.service.IOpenStackSecurityGroupService;
 import io.maestro3.agent.service.ServerDbService;
+import io.maestro3.agent.service.TenantDbService;
 import io.maestro3.sdk.internal.util.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
@@ -52,7 +52,7 @@ public class OpenStackSecurityGroupService implements IOpenStackSecurityGroupSer
     @Autowired
     private OpenStackApiProvider osClientProvider;
     @Autowired
-    private IOpenStackTenantRepository tenantRepository;
+    private TenantDbService tenantDbService;
     @Autowired
     private ServerDbService instanceService;
 
@@ -87,7 +87,7 @@ public class OpenStackSecurityGroupService implements IOpenStackSecurityGroupSer
             }
         }
         project.setSecurityMode(newModeConfig.getName());
-        tenantRepository.save(project);
+        tenantDbService.save(project);
     }
 
     private boolean updateInstanceSecurityMode(OpenStackServerConfig instance,
@@ -17,7 +17,6 @@
 
 package io.maestro3.agent.service.impl;
 
-import io.maestro3.agent.model.network.impl.ip.OpenStackStaticIpAddress;
 import io.maestro3.agent.model.region.OpenStackRegionConfig;
 import io.maestro3.agent.model.tenant.OpenStackTenant;
 import io.maestro3.agent.openstack.api.networking.bean.FloatingIp;
@@ -28,7 +27,6 @@ import io.maestro3.agent.service.IOpenStackStaticIpService;
 import io.maestro3.agent.service.ServerDbService;
 import io.maestro3.agent.util.OpenStackConversionUtils;
 
-import java.util.Collection;
 import java.util.List;
 
 
@@ -40,11 +38,10 @@ class OpenStackUpdateFloatingIpsService extends OpenStackUpdateStaticIpsService
     }
 
     @Override
-    @SuppressWarnings("unchecked")
-    protected Collection<? extends OpenStackStaticIpAddress> getIncomingIps(OpenStackTenant project) throws OSClientException {
+    protected IncomingIps getIncomingIps(OpenStackTenant project) throws OSClientException {
         String tenantId = project.getNativeId();
         IOpenStackClient client = clientProvider.getClient(zone, project);
         List<FloatingIp> floatingIps = client.listFloatingIps(tenantId);
-        return OpenStackConversionUtils.toOpenStackFloatingIps(floatingIps, project, zone);
+        return new IncomingIps(OpenStackConversionUtils.toOpenStackFloatingIps(floatingIps, project, zone), null);
     }
 }
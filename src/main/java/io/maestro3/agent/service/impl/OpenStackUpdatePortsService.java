@@ -17,7 +17,6 @@
 
 package io.maestro3.agent.service.impl;
 
-import io.maestro3.agent.model.network.impl.ip.OpenStackStaticIpAddress;
 import io.maestro3.agent.model.region.OpenStackRegionConfig;
 import io.maestro3.agent.model.tenant.OpenStackTenant;
 import io.maestro3.agent.openstack.api.networking.bean.Port;
@@ -31,7 +30,6 @@ import io.maestro3.sdk.internal.util.CollectionUtils;
 import io.maestro3.sdk.internal.util.StringUtils;
 
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
 
 
@@ -43,12 +41,12 @@ class OpenStackUpdatePortsService extends OpenStackUpdateStaticIpsService {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
-    protected Collection<? extends OpenStackStaticIpAddress> getIncomingIps(OpenStackTenant project) throws OSClientException {
+    protected IncomingIps getIncomingIps(OpenStackTenant project) throws OSClientException {
         String tenantId = project.getNativeId();
         IOpenStackClient client = clientProvider.getClient(zone, project);
         List<Port> ports = filterByName(client.getPorts(tenantId));
-        return OpenStackConversionUtils.toOpenStackPorts(ports, project, zone);
+        // the listed ports already carry their devices, so owners need no extra port requests
+        return new IncomingIps(OpenStackConversionUtils.toOpenStackPorts(ports, project, zone), toDeviceIdsByPortId(ports));
     }
 
     private List<Port> filterByName(List<Port> ports) {
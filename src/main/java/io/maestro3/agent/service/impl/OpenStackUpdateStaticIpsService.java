@@ -35,13 +35,18 @@ import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.springframework.util.Assert;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 
 abstract class OpenStackUpdateStaticIpsService implements IOpenStackUpdateStaticIpsService {
@@ -63,45 +68,50 @@ abstract class OpenStackUpdateStaticIpsService implements IOpenStackUpdateStatic
 
     @Override
     public void updateStaticIps(OpenStackTenant project) throws OSClientException {
-        Collection<? extends OpenStackStaticIpAddress> incomingIps = getIncomingIps(project);
+        IncomingIps incomingIps = getIncomingIps(project);
         List<OpenStackStaticIpAddress> existingIps = findStaticIps(project, null);
 
-        updateStaticIps(project, incomingIps, existingIps);
+        updateStaticIps(project, incomingIps.ips, existingIps, incomingIps.deviceIdsByPortId);
     }
 
     @Override
     public void updateStaticIp(OpenStackTenant project, OpenStackStaticIpAddress incoming, OpenStackStaticIpAddress existing) {
         Collection<OpenStackStaticIpAddress> incomingIps = CollectionUtils.singletonOrEmptyList(incoming);
         Collection<OpenStackStaticIpAddress> existingIps = CollectionUtils.singletonOrEmptyList(existing);
-        updateStaticIps(project, incomingIps, existingIps);
+        updateStaticIps(project, incomingIps, existingIps, null);
     }
 
-    protected abstract Collection<? extends OpenStackStaticIpAddress> getIncomingIps(OpenStackTenant project) throws OSClientException;
+    protected abstract IncomingIps getIncomingIps(OpenStackTenant project) throws OSClientException;
 
-    private void updateStaticIps(OpenStackTenant project, Collection<? extends OpenStackStaticIpAddress> incomingIps, Collection<OpenStackStaticIpAddress> existingIps) {
+    /**
+     * @param deviceIdsByPortId devices of the ports already listed from OpenStack or null to request them
+     */
+    private void updateStaticIps(OpenStackTenant project, Collection<? extends OpenStackStaticIpAddress> incomingIps,
+                                 Collection<OpenStackStaticIpAddress> existingIps, Map<String, String> deviceIdsByPortId) {
         Map<String, OpenStackStaticIpAddress> incomingIpsMap = mapOnUniqueId(incomingIps);
         if (CollectionUtils.isEmpty(existingIps) && MapUtils.isEmpty(incomingIpsMap)) {
             return; // as nothing to update
         }
+        injectOwners(project, incomingIpsMap.values(), deviceIdsByPortId);
 
+        List<OpenStackStaticIpAddress> changedIps = new ArrayList<>();
         if (CollectionUtils.isNotEmpty(existingIps)) {
             for (OpenStackStaticIpAddress existingIp : existingIps) {
                 if (!existingIp.isFixed()) {
                     OpenStackStaticIpAddress incomingIp = incomingIpsMap.remove(existingIp.getUniqueNotEmptyId());
-                    processSingleIpAddress(project, incomingIp, existingIp);
+                    if (incomingIp == null) {
+                        deleteStaticIp(existingIp);
+                    } else if (updateStaticIpAddress(existingIp, incomingIp)) {
+                        changedIps.add(existingIp);
+                    }
                 }
             }
         }
-        for (OpenStackStaticIpAddress incomingIp : incomingIpsMap.values()) {
-            addNewStaticIp(project, incomingIp);
+        if (!changedIps.isEmpty()) {
+            staticIpService.updateAll(changedIps);
         }
-    }
-
-    private void processSingleIpAddress(OpenStackTenant project, OpenStackStaticIpAddress incomingIp, OpenStackStaticIpAddress existingIp) {
-        if (incomingIp != null) {
-            updateStaticIpAddress(project, existingIp, incomingIp);
-        } else {
-            deleteStaticIp(existingIp);
+        for (OpenStackStaticIpAddress incomingIp : incomingIpsMap.values()) {
+            staticIpService.save(incomingIp);
         }
     }
 
@@ -109,10 +119,23 @@ abstract class OpenStackUpdateStaticIpsService implements IOpenStackUpdateStatic
         staticIpService.delete(ipAddress);
     }
 
-    private void updateStaticIpAddress(OpenStackTenant project, OpenStackStaticIpAddress existing, OpenStackStaticIpAddress incoming) {
-        String currentPortId = incoming.getPortId();
-        if (currentPortId != null) {
-            injectOwner(project, incoming);
+    /**
+     * @return true if the existing address has been changed
+     */
+    private boolean updateStaticIpAddress(OpenStackStaticIpAddress existing, OpenStackStaticIpAddress incoming) {
+        IPState incomingState = incoming.getIpState();
+        boolean changed = !Objects.equals(existing.getTenantId(), incoming.getTenantId())
+            || !Objects.equals(existing.getZoneId(), incoming.getZoneId())
+            || !Objects.equals(existing.getTenantName(), incoming.getTenantName())
+            || !Objects.equals(existing.getRegionName(), incoming.getRegionName())
+            || !Objects.equals(existing.getIpAddress(), incoming.getIpAddress())
+            || !Objects.equals(existing.getInstanceId(), incoming.getInstanceId())
+            || existing.isPublic() != incoming.isPublic()
+            || !Objects.equals(existing.getPortId(), incoming.getPortId())
+            || !Objects.equals(existing.getFixedIp(), incoming.getFixedIp())
+            || incomingState != null && incomingState != existing.getIpState();
+        if (!changed) {
+            return false;
         }
 
         existing.setTenantId(incoming.getTenantId());
@@ -124,16 +147,10 @@ abstract class OpenStackUpdateStaticIpsService implements IOpenStackUpdateStatic
         existing.setPublic(incoming.isPublic());
         existing.setPortId(incoming.getPortId());
         existing.setFixedIp(incoming.getFixedIp());
-
-        handleStaticIpState(existing, incoming);
-        staticIpService.update(existing);
-    }
-
-    private void handleStaticIpState(OpenStackStaticIpAddress existing, OpenStackStaticIpAddress incoming) {
-        IPState incomingState = incoming.getIpState();
         if (incomingState != null) {
             existing.setIpState(incomingState);
         }
+        return true;
     }
 
     private Map<String, OpenStackStaticIpAddress> mapOnUniqueId(Collection<? extends OpenStackStaticIpAddress> staticIpAddresses) {
@@ -147,13 +164,6 @@ abstract class OpenStackUpdateStaticIpsService implements IOpenStackUpdateStatic
         return result;
     }
 
-    private void addNewStaticIp(OpenStackTenant project, OpenStackStaticIpAddress staticIp) {
-        if (staticIp.getPortId() != null) {
-            injectOwner(project, staticIp);
-        }
-        staticIpService.save(staticIp);
-    }
-
     private List<OpenStackStaticIpAddress> findStaticIps(OpenStackTenant project, List<String> instanceIds) {
         Collection<OpenStackStaticIpAddress> fromDB = ConversionUtils.castCollection(
             staticIpService.findStaticIpAddresses(zone.getId(), project.getId(), null, null, instanceIds),
@@ -161,21 +171,82 @@ abstract class OpenStackUpdateStaticIpsService implements IOpenStackUpdateStatic
         return CollectionUtils.isEmpty(fromDB) ? null : new ArrayList<>(fromDB);
     }
 
-    private void injectOwner(OpenStackTenant project, OpenStackStaticIpAddress staticIpAddress) {
-        IOpenStackClient client = clientProvider.getClient(zone, project);
-        Assert.hasText(staticIpAddress.getPortId(), "staticIpAddress.port can not be blank");
-        try {
-            Port port = client.getPort(staticIpAddress.getPortId());
-            if (port == null || StringUtils.isBlank(port.getDeviceId())) {
+    /**
+     * Sets instance ids of the addresses attached to our servers, resolving all owners with one DB query.
+     */
+    private void injectOwners(OpenStackTenant project, Collection<OpenStackStaticIpAddress> staticIpAddresses,
+                              Map<String, String> deviceIdsByPortId) {
+        List<OpenStackStaticIpAddress> withPorts = staticIpAddresses.stream()
+            .filter(ip -> ip.getPortId() != null)
+            .collect(Collectors.toList());
+        if (withPorts.isEmpty()) {
+            return;
+        }
+        Map<String, String> deviceIds = deviceIdsByPortId;
+        if (deviceIds == null) {
+            try {
+                deviceIds = findDeviceIds(project, withPorts);
+            } catch (OSClientException e) {
+                LOG.error("Failed to detect static ip owners in project {} -> {}", project.getTenantAlias(), e.getMessage());
                 return;
             }
-            OpenStackServerConfig owner = instanceService.findServerByNativeId(zone.getId(), project.getId(), port.getDeviceId());
-            if (owner == null) {
-                return;
+        }
+        Set<String> ownerIds = new HashSet<>();
+        for (OpenStackStaticIpAddress ip : withPorts) {
+            String deviceId = deviceIds.get(ip.getPortId());
+            if (StringUtils.isNotBlank(deviceId)) {
+                ownerIds.add(deviceId);
             }
-            staticIpAddress.setInstanceId(owner.getNativeId());
-        } catch (OSClientException e) {
-            LOG.error("Failed to detect static ip owner. IP={} -> {}", staticIpAddress, e.getMessage());
+        }
+        if (ownerIds.isEmpty()) {
+            return;
+        }
+        Map<String, OpenStackServerConfig> owners = instanceService
+            .findServersByNativeIds(zone.getId(), project.getId(), new ArrayList<>(ownerIds)).stream()
+            .collect(Collectors.toMap(OpenStackServerConfig::getNativeId, Function.identity(), (first, second) -> first));
+        for (OpenStackStaticIpAddress ip : withPorts) {
+            OpenStackServerConfig owner = owners.get(deviceIds.get(ip.getPortId()));
+            if (owner != null) {
+                ip.setInstanceId(owner.getNativeId());
+            }
+        }
+    }
+
+    private Map<String, String> findDeviceIds(OpenStackTenant project, List<OpenStackStaticIpAddress> withPorts) throws OSClientException {
+        IOpenStackClient client = clientProvider.getClient(zone, project);
+        List<Port> ports;
+        if (withPorts.size() == 1) {
+            Port port = client.getPort(withPorts.get(0).getPortId());
+            ports = port == null ? Collections.emptyList() : Collections.singletonList(port);
+        } else {
+            ports = client.getPorts(project.getNativeId());
+        }
+        return toDeviceIdsByPortId(ports);
+    }
+
+    protected static Map<String, String> toDeviceIdsByPortId(Collection<Port> ports) {
+        Map<String, String> deviceIds = new HashMap<>();
+        if (ports != null) {
+            for (Port port : ports) {
+                if (port != null && StringUtils.isNotBlank(port.getDeviceId())) {
+                    deviceIds.put(port.getId(), port.getDeviceId());
+                }
+            }
+        }
+        return deviceIds;
+    }
+
+    /**
+     * Addresses listed from OpenStack together with the devices of their ports, if those were listed as well.
+     */
+    protected static final class IncomingIps {
+
+        private final Collection<? extends OpenStackStaticIpAddress> ips;
+        private final Map<String, String> deviceIdsByPortId;
+
+        IncomingIps(Collection<? extends OpenStackStaticIpAddress> ips, Map<String, String> deviceIdsByPortId) {
+            this.ips = ips;
+            this.deviceIdsByPortId = deviceIdsByPortId;
         }
     }
 }
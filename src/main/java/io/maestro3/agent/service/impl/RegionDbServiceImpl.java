@@ -0,0 +1,45 @@
+/*
+ * Copyright 2023 Maestro Cloud Control LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.maestro3.agent.service.impl;
+
+import io.maestro3.agent.model.region.OpenStackRegionConfig;
+import io.maestro3.agent.service.RegionDbService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+
+@Service
+public class RegionDbServiceImpl implements RegionDbService {
+
+    private OpenStackConfigCache configCache;
+
+    @Autowired
+    public RegionDbServiceImpl(OpenStackConfigCache configCache) {
+        this.configCache = configCache;
+    }
+
+    @Override
+    public OpenStackRegionConfig findByAliasInCloud(String regionAlias) {
+        return configCache.findRegionByAlias(regionAlias);
+    }
+
+    @Override
+    public OpenStackRegionConfig findByIdInCloud(String regionId) {
+        return configCache.findRegionById(regionId);
+    }
+}
@@ -21,6 +21,7 @@ import io.maestro3.agent.dao.ServerConfigDao;
 import io.maestro3.agent.model.enums.ServerStateEnum;
 import io.maestro3.agent.model.general.ServerConfig;
 import io.maestro3.agent.model.server.OpenStackServerConfig;
+import io.maestro3.agent.model.server.ServerConfigUpdate;
 import io.maestro3.agent.service.ServerDbService;
 import io.maestro3.agent.util.ConversionUtils;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -55,6 +56,11 @@ public class ServerDbServiceImpl implements ServerDbService {
         serverConfigDao.updateServerConfig(dbId, serverStateEnum, ipAddress, volumeIps, runSuccess);
     }
 
+    @Override
+    public void updateServerConfigs(Collection<ServerConfigUpdate> updates) {
+        serverConfigDao.updateServerConfigs(updates);
+    }
+
     @Override
     public void insertServers(Collection<ServerConfig> serverConfigs) {
         serverConfigDao.insertServers(serverConfigs);
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2023 Maestro Cloud Control LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.maestro3.agent.service.impl;
+
+import com.google.common.hash.Hashing;
+import io.maestro3.agent.dao.AgentNodeDao;
+import io.maestro3.agent.service.IShardAssignmentService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+
+
+/**
+ * Consistent hashing of regions and tenants over the agent nodes that have recently written a heartbeat.
+ * <p>
+ * Every node places {@code VIRTUAL_NODES} points on a hash ring, so when a node joins or leaves only the keys next to
+ * its points move. Membership is refreshed with every heartbeat; a node that stopped heartbeating is dropped after
+ * {@code agent.sharding.node.ttl.millis}. While membership is unknown, or has not been refreshed for longer than that
+ * TTL, the node owns nothing: the others may already have taken its shards over.
+ */
+@Service
+public class ShardAssignmentService implements IShardAssignmentService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ShardAssignmentService.class);
+    private static final int VIRTUAL_NODES = 64;
+
+    private final AgentNodeDao agentNodeDao;
+    private final boolean enabled;
+    private final long nodeTtlMillis;
+    private final String nodeId = UUID.randomUUID().toString();
+    private volatile NavigableMap<Long, String> ring = Collections.emptyNavigableMap();
+    private volatile long ringRefreshedAt;
+
+    @Autowired
+    public ShardAssignmentService(AgentNodeDao agentNodeDao,
+                                  @Value("${agent.sharding.enabled:false}") boolean enabled,
+                                  @Value("${agent.sharding.node.ttl.millis:30000}") long nodeTtlMillis) {
+        this.agentNodeDao = agentNodeDao;
+        this.enabled = enabled;
+        this.nodeTtlMillis = nodeTtlMillis;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (enabled) {
+            LOG.info("Tenant sharding is enabled, node id {}", nodeId);
+            heartbeat();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${agent.sharding.heartbeat.millis:10000}")
+    public void heartbeat() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            long refreshStartedAt = System.currentTimeMillis();
+            agentNodeDao.heartbeat(nodeId);
+            List<String> liveNodes = agentNodeDao.findNodeIdsAliveWithin(nodeTtlMillis);
+            if (!liveNodes.contains(nodeId)) {
+                liveNodes.add(nodeId);
+            }
+            NavigableMap<Long, String> previous = ring;
+            NavigableMap<Long, String> current = buildRing(liveNodes);
+            if (!previous.keySet().equals(current.keySet())) {
+                LOG.info("Agent nodes changed, rebalancing shards between {} node(s): {}", liveNodes.size(),
+                    new TreeSet<>(liveNodes));
+            }
+            ring = current;
+            ringRefreshedAt = refreshStartedAt;
+        } catch (Exception e) {
+            LOG.error("Failed to refresh agent node membership: " + e.getMessage(), e);
+            if (isStale() && !ring.isEmpty()) {
+                LOG.warn("Agent node membership is older than {} ms, releasing all shards", nodeTtlMillis);
+                ring = Collections.emptyNavigableMap();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void leave() {
+        if (enabled) {
+            try {
+                agentNodeDao.deleteNode(nodeId);
+            } catch (Exception e) {
+                LOG.warn("Failed to unregister agent node {}: {}", nodeId, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public boolean ownsRegion(String regionId) {
+        return owns(regionId);
+    }
+
+    @Override
+    public boolean ownsTenant(String regionId, String tenantId) {
+        return owns(regionId + "/" + tenantId);
+    }
+
+    private boolean owns(String key) {
+        if (!enabled) {
+            return true;
+        }
+        NavigableMap<Long, String> currentRing = ring;
+        if (currentRing.isEmpty() || isStale()) {
+            // other nodes drop this one after the same TTL and take over its shards
+            return false;
+        }
+        Map.Entry<Long, String> owner = currentRing.ceilingEntry(hash(key));
+        if (owner == null) {
+            owner = currentRing.firstEntry();
+        }
+        return nodeId.equals(owner.getValue());
+    }
+
+    private boolean isStale() {
+        return System.currentTimeMillis() - ringRefreshedAt > nodeTtlMillis;
+    }
+
+    private static NavigableMap<Long, String> buildRing(List<String> nodeIds) {
+        NavigableMap<Long, String> ring = new TreeMap<>();
+        for (String node : nodeIds) {
+            for (int i = 0; i < VIRTUAL_NODES; i++) {
+                ring.put(hash(node + "#" + i), node);
+            }
+        }
+        return ring;
+    }
+
+    private static long hash(String key) {
+        return Hashing.murmur3_128().hashString(key, StandardCharsets.UTF_8).asLong();
+    }
+}
@@ -49,6 +49,12 @@ public class StaticIpService implements IStaticIpService {
         this.staticIpDao.update(staticIpAddress);
     }
 
+    @Override
+    public void updateAll(Collection<? extends StaticIpAddress> staticIpAddresses) {
+        Assert.notNull(staticIpAddresses, "staticIpAddresses cannot be null.");
+        this.staticIpDao.updateAll(staticIpAddresses);
+    }
+
     @Override
     public void delete(StaticIpAddress staticIpAddress) {
         Assert.notNull(staticIpAddress, "staticIpAddress cannot be null.");
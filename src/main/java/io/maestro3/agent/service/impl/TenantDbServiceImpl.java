@@ -30,10 +30,12 @@ import java.util.Collection;
 public class TenantDbServiceImpl implements TenantDbService {
 
     private IOpenStackTenantRepository tenantDao;
+    private OpenStackConfigCache configCache;
 
     @Autowired
-    public TenantDbServiceImpl(IOpenStackTenantRepository tenantDao) {
+    public TenantDbServiceImpl(IOpenStackTenantRepository tenantDao, OpenStackConfigCache configCache) {
         this.tenantDao = tenantDao;
+        this.configCache = configCache;
     }
 
     @Override
@@ -44,6 +46,7 @@ public class TenantDbServiceImpl implements TenantDbService {
     @Override
     public void save(OpenStackTenant config) {
         tenantDao.save(config);
+        configCache.invalidate();
     }
 
     @Override
@@ -58,11 +61,11 @@ public class TenantDbServiceImpl implements TenantDbService {
 
     @Override
     public OpenStackTenant findOpenStackTenantByNativeId(String tenantId) {
-        return tenantDao.findByNativeId(tenantId);
+        return configCache.findTenantByNativeId(tenantId);
     }
 
     @Override
     public OpenStackTenant findOpenStackTenantByNameAndRegion(String tenantName, String regionId) {
-        return tenantDao.findByTenantAliasAndRegionIdInCloud(tenantName, regionId);
+        return configCache.findTenantByAliasAndRegion(tenantName, regionId);
     }
 }